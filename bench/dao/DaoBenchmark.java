@@ -0,0 +1,164 @@
+package dao;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import model.Alimento;
+import model.Comida;
+import model.Pedido;
+import model.Usuario;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Cada método dos DAOs JDBC contra o banco populado por {@link PopuladorBanco}.
+ * Cada operação empresta uma conexão do pool da aplicação, como os Controllers fazem.
+ * Rode com {@link ExecutorBenchmarkDao}, que repete a suíte com 1, 8 e 64 threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class DaoBenchmark {
+
+    private final Conexao conexao = new Conexao();
+    private final AtomicLong contadorEmail = new AtomicLong();
+
+    // Maiores IDs existentes; IDs sorteados em [1, max] sempre existem (sequências sem buracos)
+    private int maxUsuario;
+    private int maxAlimento;
+    private int maxPedido;
+
+    @Setup(Level.Trial)
+    public void preparar() throws SQLException {
+        Armazenamento.usar(new MotorJdbc());
+        try (Connection conn = conexao.getConnection(); Statement st = conn.createStatement()) {
+            maxUsuario = maximo(st, "SELECT max(id_usuario) FROM Usuario");
+            maxAlimento = maximo(st, "SELECT max(id_alimento) FROM Alimento");
+            maxPedido = maximo(st, "SELECT max(id_pedido) FROM Pedido");
+        }
+        if (maxUsuario == 0 || maxAlimento == 0 || maxPedido == 0) {
+            throw new IllegalStateException("Banco de benchmark vazio: rode o PopuladorBanco antes.");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        Armazenamento.encerrar();
+    }
+
+    private static int maximo(Statement st, String sql) throws SQLException {
+        try (ResultSet resultado = st.executeQuery(sql)) {
+            return resultado.next() ? resultado.getInt(1) : 0;
+        }
+    }
+
+    private static int sortear(int maximo) {
+        return 1 + ThreadLocalRandom.current().nextInt(maximo);
+    }
+
+    // --- AlimentoDAO ---
+
+    @Benchmark
+    public void alimentoListarTodosResumido(Blackhole bh) throws SQLException {
+        try (Connection conn = conexao.getConnection()) {
+            new AlimentoDAOJdbc(conn).percorrerTodosResumido(linha -> {
+                bh.consume(linha.getInt("id_alimento"));
+                return linha.getString("nome");
+            }, bh::consume);
+        }
+    }
+
+    @Benchmark
+    public Alimento alimentoBuscarPorId() throws SQLException {
+        try (Connection conn = conexao.getConnection()) {
+            return new AlimentoDAOJdbc(conn).buscarAlimentoPorId(sortear(maxAlimento));
+        }
+    }
+
+    // --- PedidoDAO ---
+
+    @Benchmark
+    public int pedidoCriar() throws SQLException {
+        Pedido pedido = new Pedido(new Usuario(sortear(maxUsuario), "", "", ""));
+        int itens = 1 + ThreadLocalRandom.current().nextInt(5);
+        for (int i = 0; i < itens; i++) {
+            // Só o ID importa para a gravação
+            pedido.adicionarItem(new Comida(sortear(maxAlimento), "", "", 0, null), 1 + i % 3);
+        }
+        try (Connection conn = conexao.getConnection()) {
+            return new PedidoDAOJdbc(conn).criarPedido(pedido);
+        }
+    }
+
+    @Benchmark
+    public void pedidoListarPorUsuario(Blackhole bh) throws SQLException {
+        try (Connection conn = conexao.getConnection()) {
+            new PedidoDAOJdbc(conn).percorrerPedidosPorUsuario(sortear(maxUsuario), linha -> {
+                bh.consume(linha.getInt("id_pedido"));
+                bh.consume(linha.getTimestamp("data_hora"));
+                return linha.getInt("avaliacao");
+            }, bh::consume);
+        }
+    }
+
+    @Benchmark
+    public Object pedidoListarItensComId() throws SQLException {
+        try (Connection conn = conexao.getConnection()) {
+            return new PedidoDAOJdbc(conn).listarItensPorPedidoComId(sortear(maxPedido));
+        }
+    }
+
+    @Benchmark
+    public Object pedidoListarHistorico() throws SQLException {
+        try (Connection conn = conexao.getConnection()) {
+            return new PedidoDAOJdbc(conn).listarHistoricoPorUsuario(sortear(maxUsuario));
+        }
+    }
+
+    @Benchmark
+    public void pedidoAdicionarOuAtualizarItem() throws SQLException {
+        try (Connection conn = conexao.getConnection()) {
+            new PedidoDAOJdbc(conn).adicionarOuAtualizarItemPedido(
+                    sortear(maxPedido), sortear(maxAlimento), 1 + ThreadLocalRandom.current().nextInt(5));
+        }
+    }
+
+    // --- UsuarioDAO ---
+
+    @Benchmark
+    public void usuarioConsultar(Blackhole bh) throws SQLException {
+        int id = sortear(maxUsuario);
+        Usuario usuario = new Usuario("", "usuario" + id + "@bench.feifood", "senha" + id);
+        try (Connection conn = conexao.getConnection()) {
+            Integer encontrado = new UsuarioDAOJdbc(conn).consultar(usuario, linha -> linha.getInt("id_usuario"));
+            bh.consume(encontrado != null && encontrado == id);
+        }
+    }
+
+    @Benchmark
+    public void usuarioInserir() throws SQLException {
+        long n = contadorEmail.incrementAndGet();
+        Usuario usuario = new Usuario("Novo " + n, "novo" + n + "-" + System.nanoTime() + "@bench.feifood", "senha");
+        try (Connection conn = conexao.getConnection()) {
+            new UsuarioDAOJdbc(conn).inserir(usuario);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package dao;
+
+import java.io.File;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Linha de base da camada de dados: popula um PostgreSQL local e roda o {@link DaoBenchmark}
+ * com 1, 8 e 64 threads, medindo vazão (ops/s) e latência (p50/p99).
+ *
+ * Configuração (-D...):
+ *   feifood.db.url / usuario / senha   banco local (padrão: localhost:5432/postgres, usuário postgres)
+ *   feifood.bench.threads              contagens de threads (padrão: 1,8,64)
+ *   feifood.bench.popular=false        reaproveita a carga anterior
+ *   feifood.bench.usuarios, ...        tamanho da carga (ver PopuladorBanco.Carga)
+ * Os resultados JSON do JMH ficam em build/bench/dao-*.json.
+ */
+public final class ExecutorBenchmarkDao {
+
+    private ExecutorBenchmarkDao() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        definirPadrao("feifood.db.url", "jdbc:postgresql://localhost:5432/postgres?currentSchema=" + PopuladorBanco.SCHEMA);
+        definirPadrao("feifood.db.usuario", "postgres");
+        definirPadrao("feifood.db.senha", "postgres");
+        definirPadrao("feifood.db.sslmode", "disable");
+        definirPadrao("feifood.db.channelBinding", "disable");
+
+        if (Boolean.parseBoolean(System.getProperty("feifood.bench.popular", "true"))) {
+            PopuladorBanco.Carga carga = new PopuladorBanco.Carga();
+            System.out.println("Populando " + System.getProperty("feifood.db.url") + ": " + carga);
+            Armazenamento.usar(new MotorJdbc());
+            long inicio = System.nanoTime();
+            try (Connection conn = new Conexao().getConnection()) {
+                PopuladorBanco.popular(conn, carga);
+            } finally {
+                Armazenamento.encerrar(); // Cada fork do JMH abre o próprio pool
+            }
+            System.out.printf("Carga concluída em %d s%n", TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - inicio));
+        }
+
+        String pastaResultados = System.getProperty("feifood.bench.resultados", "build/bench");
+        new File(pastaResultados).mkdirs();
+
+        List<String> linhas = new ArrayList<>();
+        for (String texto : System.getProperty("feifood.bench.threads", "1,8,64").split(",")) {
+            int threads = Integer.parseInt(texto.trim());
+            Collection<RunResult> vazao = new Runner(opcoes(threads, Mode.Throughput, TimeUnit.SECONDS,
+                    pastaResultados + "/dao-" + threads + "threads-vazao.json")).run();
+            Collection<RunResult> latencia = new Runner(opcoes(threads, Mode.SampleTime, TimeUnit.MILLISECONDS,
+                    pastaResultados + "/dao-" + threads + "threads-latencia.json")).run();
+            linhas.addAll(resumir(threads, vazao, latencia));
+        }
+
+        System.out.println();
+        System.out.printf("%-32s %7s %12s %10s %10s%n", "Benchmark", "Threads", "ops/s", "p50 (ms)", "p99 (ms)");
+        linhas.forEach(System.out::println);
+    }
+
+    private static Options opcoes(int threads, Mode modo, TimeUnit unidade, String arquivoResultado) {
+        List<String> argumentos = new ArrayList<>();
+        for (String nome : System.getProperties().stringPropertyNames()) {
+            if (nome.startsWith("feifood.") && !nome.equals("feifood.pool.max")) {
+                argumentos.add("-D" + nome + "=" + System.getProperty(nome));
+            }
+        }
+        argumentos.add("-Dfeifood.pool.max=" + threads); // Uma conexão por thread: mede o banco, não a fila do pool
+
+        return new OptionsBuilder()
+                .include(DaoBenchmark.class.getName())
+                .threads(threads)
+                .mode(modo)
+                .timeUnit(unidade)
+                .jvmArgsAppend(argumentos.toArray(new String[0]))
+                .resultFormat(ResultFormatType.JSON)
+                .result(arquivoResultado)
+                .build();
+    }
+
+    private static List<String> resumir(int threads, Collection<RunResult> vazao, Collection<RunResult> latencia) {
+        Map<String, String> porBenchmark = new LinkedHashMap<>();
+        for (RunResult resultado : vazao) {
+            porBenchmark.put(nomeCurto(resultado), String.format("%12.1f", resultado.getPrimaryResult().getScore()));
+        }
+        List<String> linhas = new ArrayList<>();
+        for (RunResult resultado : latencia) {
+            String nome = nomeCurto(resultado);
+            linhas.add(String.format("%-32s %7d %s %10.3f %10.3f", nome, threads,
+                    porBenchmark.getOrDefault(nome, String.format("%12s", "-")),
+                    resultado.getPrimaryResult().getStatistics().getPercentile(50),
+                    resultado.getPrimaryResult().getStatistics().getPercentile(99)));
+        }
+        return linhas;
+    }
+
+    private static String nomeCurto(RunResult resultado) {
+        String nome = resultado.getParams().getBenchmark();
+        return nome.substring(nome.lastIndexOf('.') + 1);
+    }
+
+    private static void definirPadrao(String propriedade, String valor) {
+        if (System.getProperty(propriedade) == null) {
+            System.setProperty(propriedade, valor);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Cria e popula o banco usado pelos benchmarks dos DAOs.
+ * Tudo fica no schema feifood_bench (use currentSchema=feifood_bench na URL), que é apagado
+ * e recriado a cada carga: as tabelas do schema public nunca são tocadas.
+ * O esquema é uma aproximação do banco de produção, deduzida das consultas dos DAOs.
+ */
+public final class PopuladorBanco {
+
+    public static final String SCHEMA = "feifood_bench";
+
+    private static final String ESQUEMA =
+            "DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE; " +
+            "CREATE SCHEMA " + SCHEMA + "; " +
+            "SET search_path TO " + SCHEMA + "; " +
+            "CREATE TABLE Usuario (" +
+            "    id_usuario SERIAL PRIMARY KEY, nome VARCHAR(100) NOT NULL," +
+            "    email VARCHAR(100) NOT NULL UNIQUE, senha VARCHAR(100) NOT NULL); " +
+            "CREATE TABLE Estabelecimento (" +
+            "    id_estabelecimento SERIAL PRIMARY KEY, nome VARCHAR(100) NOT NULL, endereco VARCHAR(200)); " +
+            "CREATE TABLE Alimento (" +
+            "    id_alimento SERIAL PRIMARY KEY, nome VARCHAR(100) NOT NULL, descricao TEXT," +
+            "    preco NUMERIC(10,2) NOT NULL, tipo_alimento VARCHAR(10) NOT NULL, percentual_imposto NUMERIC(5,2)," +
+            "    id_estabelecimento INT NOT NULL REFERENCES Estabelecimento); " +
+            "CREATE TABLE Pedido (" +
+            "    id_pedido SERIAL PRIMARY KEY, data_hora TIMESTAMP NOT NULL," +
+            "    avaliacao INT CHECK (avaliacao BETWEEN 0 AND 5)," +
+            "    id_usuario INT NOT NULL REFERENCES Usuario ON DELETE CASCADE); " +
+            "CREATE INDEX pedido_usuario_data ON Pedido (id_usuario, COALESCE(data_hora, '-infinity'::timestamp) DESC, id_pedido DESC); " +
+            "CREATE TABLE Pedido_Alimento (" +
+            "    id_pedido INT NOT NULL REFERENCES Pedido ON DELETE CASCADE," +
+            "    id_alimento INT NOT NULL REFERENCES Alimento, quantidade INT NOT NULL," +
+            "    PRIMARY KEY (id_pedido, id_alimento))";
+
+    private PopuladorBanco() {
+    }
+
+    /**
+     * Tamanho da carga, lido de -Dfeifood.bench.* (com padrões de um restaurante universitário).
+     */
+    public static final class Carga {
+        final int estabelecimentos = Integer.getInteger("feifood.bench.estabelecimentos", 20);
+        final int alimentos = Integer.getInteger("feifood.bench.alimentos", 500);
+        final int usuarios = Integer.getInteger("feifood.bench.usuarios", 10_000);
+        final int pedidosPorUsuario = Integer.getInteger("feifood.bench.pedidosPorUsuario", 20);
+        final int itensPorPedido = Integer.getInteger("feifood.bench.itensPorPedido", 3);
+
+        @Override
+        public String toString() {
+            return estabelecimentos + " estabelecimentos, " + alimentos + " alimentos, " + usuarios + " usuários, "
+                    + pedidosPorUsuario + " pedidos por usuário, até " + itensPorPedido + " itens por pedido";
+        }
+    }
+
+    /**
+     * Recria o schema e insere a carga. Os dados são gerados no próprio servidor
+     * (generate_series), com semente fixa, então cargas iguais geram bancos iguais.
+     * @param conn Conexão com o banco de benchmark.
+     * @param carga Tamanho da carga.
+     * @throws SQLException Se ocorrer um erro no banco.
+     */
+    public static void popular(Connection conn, Carga carga) throws SQLException {
+        try (Statement st = conn.createStatement()) {
+            st.execute(ESQUEMA);
+            st.execute("SELECT setseed(0.42)");
+        }
+
+        executar(conn, "INSERT INTO " + SCHEMA + ".Estabelecimento (nome, endereco) " +
+                       "SELECT 'Estabelecimento ' || g, 'Rua ' || g || ', ' || g * 10 FROM generate_series(1, ?) g",
+                 carga.estabelecimentos);
+        // Um terço bebidas, metade delas alcoólicas (com percentual_imposto)
+        executar(conn, "INSERT INTO " + SCHEMA + ".Alimento (nome, descricao, preco, tipo_alimento, percentual_imposto, id_estabelecimento) " +
+                       "SELECT 'Alimento ' || g, 'Descrição do alimento ' || g, round((1 + random() * 79)::numeric, 2), " +
+                       "       CASE WHEN g % 3 = 0 THEN 'BEBIDA' ELSE 'COMIDA' END, " +
+                       "       CASE WHEN g % 6 = 0 THEN 8.00 END, 1 + g % ? " +
+                       "FROM generate_series(1, ?) g",
+                 carga.estabelecimentos, carga.alimentos);
+        executar(conn, "INSERT INTO " + SCHEMA + ".Usuario (nome, email, senha) " +
+                       "SELECT 'Usuário ' || g, 'usuario' || g || '@bench.feifood', 'senha' || g FROM generate_series(1, ?) g",
+                 carga.usuarios);
+        executar(conn, "INSERT INTO " + SCHEMA + ".Pedido (data_hora, avaliacao, id_usuario) " +
+                       "SELECT now() - g * interval '1 minute', CASE WHEN g % 4 = 0 THEN NULL ELSE g % 6 END, 1 + g % ? " +
+                       "FROM generate_series(1, ?) g",
+                 carga.usuarios, carga.usuarios * carga.pedidosPorUsuario);
+        executar(conn, "INSERT INTO " + SCHEMA + ".Pedido_Alimento (id_pedido, id_alimento, quantidade) " +
+                       "SELECT p.id_pedido, 1 + (p.id_pedido * 7 + k * 13) % ?, 1 + k % 3 " +
+                       "FROM " + SCHEMA + ".Pedido p, generate_series(1, ?) k " +
+                       "ON CONFLICT DO NOTHING",
+                 carga.alimentos, carga.itensPorPedido);
+
+        try (Statement st = conn.createStatement()) {
+            st.execute("ANALYZE");
+        }
+    }
+
+    private static void executar(Connection conn, String sql, int... parametros) throws SQLException {
+        try (PreparedStatement statement = conn.prepareStatement(sql)) {
+            for (int i = 0; i < parametros.length; i++) {
+                statement.setInt(i + 1, parametros[i]);
+            }
+            statement.executeUpdate();
+        }
+    }
+}
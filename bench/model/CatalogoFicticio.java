@@ -0,0 +1,33 @@
+package model;
+
+import java.util.Random;
+
+/**
+ * Alimentos gerados para os benchmarks: um terço bebidas (metade alcoólicas),
+ * preços entre R$ 1,00 e R$ 80,00, gerados sempre com a mesma semente.
+ */
+public final class CatalogoFicticio {
+
+    private CatalogoFicticio() {
+    }
+
+    public static Alimento[] criarAlimentos(int quantidade) {
+        Random aleatorio = new Random(42);
+        Estabelecimento estabelecimento = new Estabelecimento(1, "Restaurante Benchmark", "Rua Teste, 1");
+        Alimento[] alimentos = new Alimento[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            int id = i + 1;
+            long precoCentavos = 100 + aleatorio.nextInt(7_901);
+            Alimento alimento;
+            if (i % 3 == 0) {
+                double percentualAlcool = (i % 2 == 0) ? 5.0 : 0.0;
+                alimento = new Bebida(id, "Bebida " + id, "Bebida de teste", 0, estabelecimento, percentualAlcool);
+            } else {
+                alimento = new Comida(id, "Comida " + id, "Comida de teste", 0, estabelecimento);
+            }
+            alimento.setPrecoCentavos(precoCentavos);
+            alimentos[i] = alimento;
+        }
+        return alimentos;
+    }
+}
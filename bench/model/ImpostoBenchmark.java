@@ -0,0 +1,51 @@
+package model;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Bebida.calcularImposto em double e em centavos, para bebidas alcoólicas e não alcoólicas.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImpostoBenchmark {
+
+    @Param({"true", "false"})
+    public boolean alcoolica;
+
+    private Bebida bebida;
+    private double preco;
+    private long precoCentavos;
+
+    @Setup
+    public void criarBebida() {
+        bebida = new Bebida(1, "Cerveja", "Lata 350ml", 0, null, alcoolica ? 5.0 : 0.0);
+        bebida.setPrecoCentavos(1_299);
+        preco = bebida.getPreco();
+        precoCentavos = bebida.getPrecoCentavos();
+    }
+
+    @Benchmark
+    public double calcularImposto() {
+        return bebida.calcularImposto(preco);
+    }
+
+    @Benchmark
+    public long calcularImpostoCentavos() {
+        return bebida.calcularImpostoCentavos(precoCentavos);
+    }
+}
@@ -0,0 +1,98 @@
+package model;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Operações do carrinho (Pedido) com carrinhos de 1 a 10.000 linhas.
+ * Cada benchmark deixa o pedido do mesmo tamanho ao final, para que o estado
+ * medido não mude ao longo da iteração.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PedidoBenchmark {
+
+    @Param({"1", "10", "100", "1000", "10000"})
+    public int linhas;
+
+    private Alimento[] alimentos;
+    private Pedido pedido;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void criarCatalogo() {
+        alimentos = CatalogoFicticio.criarAlimentos(linhas);
+    }
+
+    @Setup(Level.Iteration)
+    public void criarPedido() {
+        pedido = new Pedido();
+        for (Alimento alimento : alimentos) {
+            pedido.adicionarItem(alimento, 1);
+        }
+        cursor = 0;
+    }
+
+    private Alimento proximo() {
+        Alimento alimento = alimentos[cursor];
+        cursor = (cursor + 1) % alimentos.length;
+        return alimento;
+    }
+
+    @Benchmark
+    public long adicionarEDiminuirItem() {
+        Alimento alimento = proximo();
+        pedido.adicionarItem(alimento, 2);
+        pedido.diminuirQuantidadeItem(alimento, 2);
+        return pedido.getTotalCentavos();
+    }
+
+    @Benchmark
+    public long removerEAdicionarItem() {
+        Alimento alimento = proximo();
+        pedido.removerItem(alimento);
+        pedido.adicionarItem(alimento, 1);
+        return pedido.getTotalCentavos();
+    }
+
+    @Benchmark
+    public long diminuirQuantidadeAteRemover() {
+        Alimento alimento = proximo();
+        pedido.diminuirQuantidadeItem(alimento.getId(), 1); // Zera e remove a linha
+        pedido.adicionarItem(alimento, 1);
+        return pedido.getTotalCentavos();
+    }
+
+    @Benchmark
+    public double calcularTotal() {
+        return pedido.calcularTotal();
+    }
+
+    /**
+     * Monta um carrinho inteiro a partir do zero (inclui o crescimento da estrutura de itens).
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Pedido montarPedido() {
+        Pedido novo = new Pedido();
+        for (Alimento alimento : alimentos) {
+            novo.adicionarItem(alimento, 1);
+        }
+        return novo;
+    }
+}
@@ -0,0 +1,331 @@
+package service;
+
+import dao.Armazenamento;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import metrics.HistogramaLatencia;
+import model.Alimento;
+import model.Pedido;
+import model.Usuario;
+
+/**
+ * Teste de carga sem interface: milhares de usuários simulados, cada um em uma virtual thread,
+ * executam os mesmos fluxos das telas (login, navegar no catálogo, carrinho, fazer pedido,
+ * histórico, avaliar, editar e excluir) pelos services que os controllers usam.
+ * Entre uma ação e outra cada usuário "pensa" por um tempo aleatório (distribuição exponencial).
+ * No fim mostra, por fluxo, a vazão e os percentis de latência.
+ *
+ * Configuração (-D...):
+ *   feifood.carga.usuarios     usuários simultâneos (padrão: 1000)
+ *   feifood.carga.duracao      duração em segundos (padrão: 60)
+ *   feifood.carga.pensarMs     tempo médio de "pensar" entre ações, em ms (padrão: 500; 0 = sem pausa)
+ *   feifood.carga.mix          peso de cada fluxo (padrão: navegar=30,carrinho=30,pedido=10,historico=15,avaliar=5,editar=5,excluir=5)
+ *   feifood.armazenamento      motor usado (padrão aqui: memoria; jdbc usa feifood.db.* e o pool)
+ */
+public final class SimuladorUsuarios {
+
+    private static final String MIX_PADRAO = "navegar=30,carrinho=30,pedido=10,historico=15,avaliar=5,editar=5,excluir=5";
+
+    /**
+     * Fluxos sorteados a cada ação; o login é medido uma vez por usuário, no início.
+     */
+    enum Fluxo {
+        LOGIN("login"),
+        NAVEGAR("navegar"),
+        CARRINHO("carrinho"),
+        PEDIDO("pedido"),
+        HISTORICO("historico"),
+        AVALIAR("avaliar"),
+        EDITAR("editar"),
+        EXCLUIR("excluir");
+
+        final String nome;
+
+        Fluxo(String nome) {
+            this.nome = nome;
+        }
+
+        static Fluxo porNome(String nome) {
+            for (Fluxo fluxo : values()) {
+                if (fluxo.nome.equals(nome)) {
+                    return fluxo;
+                }
+            }
+            throw new IllegalArgumentException("Fluxo desconhecido no mix: " + nome);
+        }
+    }
+
+    /**
+     * Medições de um fluxo, compartilhadas por todos os usuários simulados.
+     */
+    static final class Medicao {
+        final HistogramaLatencia latencias = new HistogramaLatencia();
+        final LongAdder erros = new LongAdder();
+        final AtomicReference<String> primeiroErro = new AtomicReference<>();
+    }
+
+    /**
+     * Estado de um usuário simulado; acessado apenas pela sua própria thread.
+     */
+    static final class Sessao {
+        final Usuario usuario;
+        Pedido carrinho;
+        final List<Integer> pedidos = new ArrayList<>();
+
+        Sessao(Usuario usuario) {
+            this.usuario = usuario;
+            this.carrinho = new Pedido(usuario);
+        }
+    }
+
+    private final int usuarios;
+    private final long duracaoNanos;
+    private final long pensarMs;
+    private final Fluxo[] fluxosSorteaveis;
+    private final int[] pesosAcumulados;
+    private final Map<Fluxo, Medicao> medicoes = new EnumMap<>(Fluxo.class);
+    private final UsuarioService usuarioService = new UsuarioService();
+    private final PedidoService pedidoService = new PedidoService();
+    private List<Alimento> catalogo;
+
+    SimuladorUsuarios(int usuarios, long duracaoSegundos, long pensarMs, String mix) {
+        this.usuarios = usuarios;
+        this.duracaoNanos = TimeUnit.SECONDS.toNanos(duracaoSegundos);
+        this.pensarMs = pensarMs;
+        for (Fluxo fluxo : Fluxo.values()) {
+            medicoes.put(fluxo, new Medicao());
+        }
+
+        List<Fluxo> fluxos = new ArrayList<>();
+        List<Integer> acumulados = new ArrayList<>();
+        int soma = 0;
+        for (String parte : mix.split(",")) {
+            String[] nomePeso = parte.trim().split("=");
+            Fluxo fluxo = Fluxo.porNome(nomePeso[0].trim());
+            int peso = Integer.parseInt(nomePeso[1].trim());
+            if (fluxo == Fluxo.LOGIN || peso <= 0) {
+                continue;
+            }
+            soma += peso;
+            fluxos.add(fluxo);
+            acumulados.add(soma);
+        }
+        if (fluxos.isEmpty()) {
+            throw new IllegalArgumentException("O mix precisa de ao menos um fluxo com peso positivo: " + mix);
+        }
+        this.fluxosSorteaveis = fluxos.toArray(new Fluxo[0]);
+        this.pesosAcumulados = acumulados.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (System.getProperty("feifood.armazenamento") == null) {
+            System.setProperty("feifood.armazenamento", "memoria");
+        }
+        SimuladorUsuarios simulador = new SimuladorUsuarios(
+                Integer.getInteger("feifood.carga.usuarios", 1000),
+                Long.getLong("feifood.carga.duracao", 60),
+                Long.getLong("feifood.carga.pensarMs", 500),
+                System.getProperty("feifood.carga.mix", MIX_PADRAO));
+        try {
+            simulador.executar();
+        } finally {
+            Armazenamento.encerrar();
+        }
+    }
+
+    void executar() throws Exception {
+        System.out.printf("Armazenamento: %s | usuários: %d | duração: %d s | pensar: %d ms%n",
+                Armazenamento.getMotor().getNome(), usuarios, TimeUnit.NANOSECONDS.toSeconds(duracaoNanos), pensarMs);
+        catalogo = CatalogoService.getInstancia().listarAlimentos();
+        if (catalogo.isEmpty()) {
+            throw new IllegalStateException("Catálogo vazio: não há o que pedir.");
+        }
+        cadastrarUsuarios();
+
+        long inicio = System.nanoTime();
+        long prazo = inicio + duracaoNanos;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < usuarios; i++) {
+                int numero = i;
+                executor.submit(() -> simularUsuario(numero, prazo));
+            }
+        } // close() espera todos os usuários terminarem
+        imprimirRelatorio(System.nanoTime() - inicio);
+    }
+
+    private void cadastrarUsuarios() throws SQLException {
+        for (int i = 0; i < usuarios; i++) {
+            try {
+                usuarioService.cadastrar("Carga " + i, email(i), "carga");
+            } catch (SQLException ex) {
+                if (!"23505".equals(ex.getSQLState())) { // Email já cadastrado numa execução anterior
+                    throw ex;
+                }
+            }
+        }
+    }
+
+    private static String email(int numero) {
+        return "carga" + numero + "@feifood";
+    }
+
+    private Void simularUsuario(int numero, long prazo) throws InterruptedException {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        pensar(aleatorio); // Espalha as chegadas em vez de todos logarem no mesmo instante
+
+        Usuario usuario = medir(Fluxo.LOGIN, () -> {
+            Usuario autenticado = usuarioService.autenticar(email(numero), "carga");
+            if (autenticado == null) {
+                throw new IllegalStateException("Login recusado para " + email(numero));
+            }
+            return autenticado;
+        });
+        if (usuario == null) {
+            return null;
+        }
+
+        Sessao sessao = new Sessao(usuario);
+        while (System.nanoTime() < prazo && !Thread.currentThread().isInterrupted()) {
+            executarFluxo(sortear(aleatorio), sessao, aleatorio);
+            pensar(aleatorio);
+        }
+        return null;
+    }
+
+    private void executarFluxo(Fluxo fluxo, Sessao sessao, ThreadLocalRandom aleatorio) {
+        Pedido carrinho = sessao.carrinho;
+        List<Integer> meusPedidos = sessao.pedidos;
+        if (meusPedidos.isEmpty() && (fluxo == Fluxo.AVALIAR || fluxo == Fluxo.EDITAR || fluxo == Fluxo.EXCLUIR)) {
+            fluxo = Fluxo.PEDIDO; // Sem pedidos gravados ainda: faz um primeiro
+        }
+        switch (fluxo) {
+            case NAVEGAR:
+                medir(fluxo, () -> {
+                    List<Alimento> alimentos = CatalogoService.getInstancia().listarAlimentos();
+                    return CatalogoService.getInstancia().buscarAlimentoPorId(
+                            alimentos.get(aleatorio.nextInt(alimentos.size())).getId());
+                });
+                break;
+            case CARRINHO:
+                medir(fluxo, () -> pedidoService.adicionarAoCarrinho(carrinho, idAlimentoAleatorio(aleatorio), 1 + aleatorio.nextInt(3)));
+                break;
+            case PEDIDO:
+                if (carrinho.isVazio()) {
+                    carrinho.adicionarItem(catalogo.get(aleatorio.nextInt(catalogo.size())), 1 + aleatorio.nextInt(3));
+                }
+                Integer idPedido = medir(fluxo, () -> pedidoService.fazerPedido(carrinho));
+                if (idPedido != null) {
+                    meusPedidos.add(idPedido);
+                    sessao.carrinho = new Pedido(sessao.usuario); // Como na tela: começa um carrinho novo
+                }
+                break;
+            case HISTORICO:
+                medir(fluxo, () -> pedidoService.listarHistorico(sessao.usuario.getId()));
+                break;
+            case AVALIAR:
+                medir(fluxo, () -> {
+                    pedidoService.avaliarPedido(pedidoAleatorio(meusPedidos, aleatorio), aleatorio.nextInt(6));
+                    return null;
+                });
+                break;
+            case EDITAR:
+                medir(fluxo, () -> pedidoService.editarItemPedido(
+                        pedidoAleatorio(meusPedidos, aleatorio), idAlimentoAleatorio(aleatorio), 1 + aleatorio.nextInt(5)));
+                break;
+            case EXCLUIR:
+                int indice = aleatorio.nextInt(meusPedidos.size());
+                Boolean excluido = medir(fluxo, () -> pedidoService.excluirPedido(meusPedidos.get(indice)));
+                if (excluido != null) { // Excluído agora ou já inexistente: sai da lista de qualquer forma
+                    meusPedidos.remove(indice);
+                }
+                break;
+            default:
+                throw new IllegalStateException("Fluxo não sorteável: " + fluxo);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Acao<T> {
+        T executar() throws Exception;
+    }
+
+    /**
+     * Executa a ação e registra sua latência; em caso de erro conta a falha e devolve null.
+     */
+    private <T> T medir(Fluxo fluxo, Acao<T> acao) {
+        Medicao medicao = medicoes.get(fluxo);
+        long inicio = System.nanoTime();
+        try {
+            T resultado = acao.executar();
+            medicao.latencias.registrar(System.nanoTime() - inicio);
+            return resultado;
+        } catch (Exception ex) {
+            medicao.erros.increment();
+            medicao.primeiroErro.compareAndSet(null, ex.toString());
+            return null;
+        }
+    }
+
+    private Fluxo sortear(ThreadLocalRandom aleatorio) {
+        int sorteio = aleatorio.nextInt(pesosAcumulados[pesosAcumulados.length - 1]);
+        for (int i = 0; i < pesosAcumulados.length; i++) {
+            if (sorteio < pesosAcumulados[i]) {
+                return fluxosSorteaveis[i];
+            }
+        }
+        return fluxosSorteaveis[fluxosSorteaveis.length - 1];
+    }
+
+    private int idAlimentoAleatorio(ThreadLocalRandom aleatorio) {
+        return catalogo.get(aleatorio.nextInt(catalogo.size())).getId();
+    }
+
+    private static int pedidoAleatorio(List<Integer> pedidos, ThreadLocalRandom aleatorio) {
+        return pedidos.get(aleatorio.nextInt(pedidos.size()));
+    }
+
+    private void pensar(ThreadLocalRandom aleatorio) throws InterruptedException {
+        if (pensarMs > 0) {
+            // Exponencial com média pensarMs: chegadas de Poisson, como usuários independentes
+            long pausa = (long) (-Math.log(1 - aleatorio.nextDouble()) * pensarMs);
+            Thread.sleep(pausa);
+        }
+    }
+
+    private void imprimirRelatorio(long decorridoNanos) {
+        double segundos = decorridoNanos / 1e9;
+        System.out.println();
+        System.out.printf("%-10s %10s %10s %10s %10s %10s %10s %10s %8s%n",
+                "Fluxo", "Total", "ops/s", "média(ms)", "p50(ms)", "p90(ms)", "p99(ms)", "máx(ms)", "Erros");
+        for (Map.Entry<Fluxo, Medicao> entrada : medicoes.entrySet()) {
+            HistogramaLatencia h = entrada.getValue().latencias;
+            long erros = entrada.getValue().erros.sum();
+            if (h.getContagem() == 0 && erros == 0) {
+                continue;
+            }
+            System.out.printf("%-10s %10d %10.1f %10.3f %10.3f %10.3f %10.3f %10.3f %8d%n",
+                    entrada.getKey().nome, h.getContagem(), h.getContagem() / segundos,
+                    h.getMediaNanos() / 1e6,
+                    HistogramaLatencia.emMilissegundos(h.percentil(50)),
+                    HistogramaLatencia.emMilissegundos(h.percentil(90)),
+                    HistogramaLatencia.emMilissegundos(h.percentil(99)),
+                    HistogramaLatencia.emMilissegundos(h.getMaximoNanos()),
+                    erros);
+        }
+        for (Map.Entry<Fluxo, Medicao> entrada : medicoes.entrySet()) {
+            String erro = entrada.getValue().primeiroErro.get();
+            if (erro != null) {
+                System.out.println("Primeiro erro em " + entrada.getKey().nome + ": " + erro);
+            }
+        }
+    }
+}
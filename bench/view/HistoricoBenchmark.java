@@ -0,0 +1,88 @@
+package view;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import model.ItemHistorico;
+import model.PedidoHistorico;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Histórico na tabela (ModeloHistorico) com 1 a 10.000 linhas de itens, em pedidos de até 3 itens,
+ * como chegam de PedidoDAO.percorrerHistoricoPaginaPorUsuario: preencher o modelo e montar as células
+ * de uma tela, e recarregar um histórico que não mudou (sem avisos à tabela).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HistoricoBenchmark {
+
+    private static final int ITENS_POR_PEDIDO = 3;
+    private static final int LINHAS_POR_TELA = 30;
+
+    @Param({"1", "10", "100", "1000", "10000"})
+    public int linhas;
+
+    private List<PedidoHistorico> pedidos;
+    private List<PedidoHistorico> pedidosRecarregados; // Mesmo conteúdo, outras instâncias
+    private ModeloHistorico modeloCheio;
+
+    @Setup
+    public void criarHistorico() {
+        pedidos = criarPedidos();
+        pedidosRecarregados = criarPedidos();
+        modeloCheio = new ModeloHistorico();
+        modeloCheio.colocar(0, pedidos);
+    }
+
+    private List<PedidoHistorico> criarPedidos() {
+        List<PedidoHistorico> pedidos = new ArrayList<>();
+        LocalDateTime dataHora = LocalDateTime.of(2025, 1, 1, 12, 0);
+        List<ItemHistorico> itens = new ArrayList<>();
+        for (int inicio = 0; inicio < linhas; inicio += ITENS_POR_PEDIDO) {
+            itens.clear();
+            for (int i = inicio; i < Math.min(linhas, inicio + ITENS_POR_PEDIDO); i++) {
+                int idAlimento = (i % 50) + 1;
+                itens.add(new ItemHistorico(idAlimento, "Alimento " + idAlimento, 1 + i % 4));
+            }
+            int idPedido = linhas - inicio;
+            pedidos.add(new PedidoHistorico(idPedido, dataHora.minusHours(inicio),
+                    (idPedido % 2 == 0) ? idPedido % 6 : PedidoHistorico.SEM_AVALIACAO, itens));
+        }
+        return pedidos;
+    }
+
+    @Benchmark
+    public void preencherEExibirPrimeiraTela(Blackhole bh) {
+        ModeloHistorico modelo = new ModeloHistorico();
+        modelo.colocar(0, pedidos);
+        // A JTable só pede as células das linhas visíveis
+        int visiveis = Math.min(LINHAS_POR_TELA, modelo.getRowCount());
+        for (int linha = 0; linha < visiveis; linha++) {
+            for (int coluna = 0; coluna < modelo.getColumnCount(); coluna++) {
+                bh.consume(modelo.getValueAt(linha, coluna));
+            }
+        }
+    }
+
+    @Benchmark
+    public int recarregarSemMudancas() {
+        modeloCheio.substituir(pedidosRecarregados);
+        return modeloCheio.getRowCount();
+    }
+}
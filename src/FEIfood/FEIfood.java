@@ -1,12 +1,43 @@
-
 package FEIfood;
 
+import api.ServidorApi;
+import dao.Armazenamento;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import metrics.MonitorEdt;
 import view.Login;
 
 public class FEIfood {
 
-    public static void main(String[] args) {
+    /**
+     * Abre a tela de login ou, com o argumento --servidor, sobe a API HTTP sem interface.
+     * No modo servidor: -Dfeifood.servidor.porta (padrão 8080), -Dfeifood.servidor.host
+     * (padrão: todas as interfaces) e -Dfeifood.servidor.sessaoMin (padrão 30).
+     * Na interface gráfica, travamentos da EDT são registrados pelo {@link MonitorEdt}.
+     */
+    public static void main(String[] args) throws IOException {
+        if (Arrays.asList(args).contains("--servidor")) {
+            iniciarServidor();
+            return;
+        }
+        MonitorEdt.instalar();
         Login l = new Login();
         l.setVisible(true);
     }
+
+    private static void iniciarServidor() throws IOException {
+        String host = System.getProperty("feifood.servidor.host");
+        int porta = Integer.getInteger("feifood.servidor.porta", 8080);
+        InetSocketAddress endereco = host == null ? new InetSocketAddress(porta) : new InetSocketAddress(host, porta);
+
+        ServidorApi servidor = new ServidorApi(endereco, Long.getLong("feifood.servidor.sessaoMin", 30));
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            servidor.parar(5);
+            Armazenamento.encerrar(); // Fecha o pool depois das últimas requisições
+        }, "encerrar-servidor"));
+        servidor.iniciar();
+        System.out.println("FEIfood API (" + Armazenamento.getMotor().getNome() + ") em http://"
+                + (host == null ? "0.0.0.0" : host) + ":" + servidor.getPorta() + "/api/");
+    }
 }
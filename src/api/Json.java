@@ -0,0 +1,267 @@
+package api;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JSON mínimo para a API, sem bibliotecas externas.
+ * A leitura devolve Map (objeto), List (array), String, Long, Double, Boolean ou null;
+ * a escrita é feita direto em um StringBuilder com {@link #texto(StringBuilder, String)}.
+ */
+final class Json {
+
+    // Objetos e arrays aninhados além disso são recusados: a leitura é recursiva e um corpo
+    // com milhares de '[' estouraria a pilha (StackOverflowError não vira resposta 400)
+    static final int PROFUNDIDADE_MAXIMA = 64;
+
+    private final String fonte;
+    private int posicao;
+    private int profundidade;
+
+    private Json(String fonte) {
+        this.fonte = fonte;
+    }
+
+    /**
+     * @param texto O documento JSON.
+     * @return O valor lido.
+     * @throws IllegalArgumentException Se o texto não for JSON válido ou tiver mais de
+     *         {@link #PROFUNDIDADE_MAXIMA} níveis de aninhamento.
+     */
+    static Object ler(String texto) {
+        Json leitor = new Json(texto);
+        leitor.pularEspacos();
+        Object valor = leitor.lerValor();
+        leitor.pularEspacos();
+        if (leitor.posicao != texto.length()) {
+            throw leitor.erro("conteúdo após o fim do documento");
+        }
+        return valor;
+    }
+
+    /**
+     * Escreve uma string JSON (com aspas e escapes), ou null.
+     * @param destino Buffer que recebe o texto.
+     * @param valor O texto a escrever.
+     * @return O próprio buffer.
+     */
+    static StringBuilder texto(StringBuilder destino, String valor) {
+        if (valor == null) {
+            return destino.append("null");
+        }
+        destino.append('"');
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            switch (c) {
+                case '"':
+                    destino.append("\\\"");
+                    break;
+                case '\\':
+                    destino.append("\\\\");
+                    break;
+                case '\n':
+                    destino.append("\\n");
+                    break;
+                case '\r':
+                    destino.append("\\r");
+                    break;
+                case '\t':
+                    destino.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        destino.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        destino.append(c);
+                    }
+            }
+        }
+        return destino.append('"');
+    }
+
+    private Object lerValor() {
+        if (posicao >= fonte.length()) {
+            throw erro("fim inesperado");
+        }
+        char c = fonte.charAt(posicao);
+        switch (c) {
+            case '{':
+                return lerObjeto();
+            case '[':
+                return lerArray();
+            case '"':
+                return lerTexto();
+            case 't':
+                esperar("true");
+                return Boolean.TRUE;
+            case 'f':
+                esperar("false");
+                return Boolean.FALSE;
+            case 'n':
+                esperar("null");
+                return null;
+            default:
+                return lerNumero();
+        }
+    }
+
+    private Map<String, Object> lerObjeto() {
+        Map<String, Object> objeto = new LinkedHashMap<>();
+        entrarNivel();
+        posicao++; // {
+        pularEspacos();
+        if (consumir('}')) {
+            profundidade--;
+            return objeto;
+        }
+        do {
+            pularEspacos();
+            if (posicao >= fonte.length() || fonte.charAt(posicao) != '"') {
+                throw erro("esperado nome de campo");
+            }
+            String nome = lerTexto();
+            pularEspacos();
+            if (!consumir(':')) {
+                throw erro("esperado ':'");
+            }
+            pularEspacos();
+            objeto.put(nome, lerValor());
+            pularEspacos();
+        } while (consumir(','));
+        if (!consumir('}')) {
+            throw erro("esperado '}'");
+        }
+        profundidade--;
+        return objeto;
+    }
+
+    private List<Object> lerArray() {
+        List<Object> lista = new ArrayList<>();
+        entrarNivel();
+        posicao++; // [
+        pularEspacos();
+        if (consumir(']')) {
+            profundidade--;
+            return lista;
+        }
+        do {
+            pularEspacos();
+            lista.add(lerValor());
+            pularEspacos();
+        } while (consumir(','));
+        if (!consumir(']')) {
+            throw erro("esperado ']'");
+        }
+        profundidade--;
+        return lista;
+    }
+
+    private void entrarNivel() {
+        if (++profundidade > PROFUNDIDADE_MAXIMA) {
+            throw erro("aninhamento excessivo");
+        }
+    }
+
+    private String lerTexto() {
+        StringBuilder texto = new StringBuilder();
+        posicao++; // "
+        while (posicao < fonte.length()) {
+            char c = fonte.charAt(posicao++);
+            if (c == '"') {
+                return texto.toString();
+            }
+            if (c != '\\') {
+                texto.append(c);
+                continue;
+            }
+            if (posicao >= fonte.length()) {
+                break;
+            }
+            char escape = fonte.charAt(posicao++);
+            switch (escape) {
+                case '"':
+                case '\\':
+                case '/':
+                    texto.append(escape);
+                    break;
+                case 'b':
+                    texto.append('\b');
+                    break;
+                case 'f':
+                    texto.append('\f');
+                    break;
+                case 'n':
+                    texto.append('\n');
+                    break;
+                case 'r':
+                    texto.append('\r');
+                    break;
+                case 't':
+                    texto.append('\t');
+                    break;
+                case 'u':
+                    if (posicao + 4 > fonte.length()) {
+                        throw erro("escape \\u incompleto");
+                    }
+                    try {
+                        texto.append((char) Integer.parseInt(fonte.substring(posicao, posicao + 4), 16));
+                    } catch (NumberFormatException ex) {
+                        throw erro("escape \\u inválido");
+                    }
+                    posicao += 4;
+                    break;
+                default:
+                    throw erro("escape inválido");
+            }
+        }
+        throw erro("texto sem aspas de fechamento");
+    }
+
+    private Object lerNumero() {
+        int inicio = posicao;
+        boolean decimal = false;
+        while (posicao < fonte.length()) {
+            char c = fonte.charAt(posicao);
+            if (c == '.' || c == 'e' || c == 'E') {
+                decimal = true;
+            } else if (!(c == '-' || c == '+' || (c >= '0' && c <= '9'))) {
+                break;
+            }
+            posicao++;
+        }
+        String numero = fonte.substring(inicio, posicao);
+        try {
+            return decimal ? (Object) Double.valueOf(numero) : (Object) Long.valueOf(numero);
+        } catch (NumberFormatException ex) {
+            posicao = inicio;
+            throw erro("valor inválido");
+        }
+    }
+
+    private void esperar(String literal) {
+        if (!fonte.startsWith(literal, posicao)) {
+            throw erro("valor inválido");
+        }
+        posicao += literal.length();
+    }
+
+    private boolean consumir(char c) {
+        if (posicao < fonte.length() && fonte.charAt(posicao) == c) {
+            posicao++;
+            return true;
+        }
+        return false;
+    }
+
+    private void pularEspacos() {
+        while (posicao < fonte.length() && Character.isWhitespace(fonte.charAt(posicao))) {
+            posicao++;
+        }
+    }
+
+    private IllegalArgumentException erro(String motivo) {
+        return new IllegalArgumentException("JSON inválido na posição " + posicao + ": " + motivo);
+    }
+}
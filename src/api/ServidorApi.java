@@ -0,0 +1,472 @@
+package api;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.sql.SQLException;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import log.Log;
+import model.Alimento;
+import model.Bebida;
+import model.ItemHistorico;
+import model.Pedido;
+import model.PedidoHistorico;
+import model.Usuario;
+import service.CatalogoService;
+import service.CatalogoSnapshot;
+import service.PedidoService;
+import service.UsuarioService;
+
+/**
+ * API HTTP (JSON) com os mesmos fluxos da aplicação desktop, para clientes leves.
+ * Usa o servidor HTTP do JDK com uma virtual thread por requisição; todas as requisições
+ * compartilham o pool de conexões e o catálogo em memória do processo, então muitos
+ * clientes dividem poucas conexões com o banco.
+ *
+ * Rotas (corpo e respostas em JSON; as de pedidos exigem "Authorization: Bearer &lt;token&gt;"):
+ *   POST   /api/login                          {"email","senha"} -> {"token","id","nome"}
+ *   POST   /api/usuarios                       {"nome","email","senha"} -> 201
+ *   GET    /api/alimentos                      catálogo resumido
+ *   GET    /api/alimentos/{id}                 detalhes de um alimento
+ *   POST   /api/pedidos                        {"itens":[{"idAlimento","quantidade"}]} -> 201 {"id","totalCentavos"}
+ *   GET    /api/pedidos                        histórico do usuário, com itens
+ *   PUT    /api/pedidos/{id}/avaliacao         {"nota"}
+ *   PUT    /api/pedidos/{id}/itens/{idAlimento} {"quantidade"} (0 remove o item)
+ *   DELETE /api/pedidos/{id}
+ *
+ * Não há TLS: exponha o servidor por trás de um proxy HTTPS fora da rede local.
+ */
+public final class ServidorApi {
+
+    private static final Log LOG = Log.para(ServidorApi.class);
+
+    private static final int TAMANHO_MAXIMO_CORPO = 64 * 1024;
+    private static final String TIPO_JSON = "application/json; charset=utf-8";
+    private static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+    private static final int LOGINS_ENTRE_LIMPEZAS = 1024;
+
+    private final HttpServer servidor;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final UsuarioService usuarioService = new UsuarioService();
+    private final PedidoService pedidoService = new PedidoService();
+    private final Map<String, Sessao> sessoes = new ConcurrentHashMap<>();
+    private final SecureRandom geradorTokens = new SecureRandom();
+    private final AtomicInteger loginsDesdeLimpeza = new AtomicInteger();
+    private final long validadeSessaoNanos;
+    private volatile CatalogoJson catalogoJson; // Resposta de GET /api/alimentos da fotografia vigente
+
+    /**
+     * Usuário autenticado por um token; expira após um período sem uso.
+     */
+    private static final class Sessao {
+        final Usuario usuario;
+        volatile long ultimoAcessoNanos;
+
+        Sessao(Usuario usuario) {
+            this.usuario = usuario;
+            this.ultimoAcessoNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * JSON do catálogo já serializado, válido enquanto a fotografia não mudar.
+     */
+    private static final class CatalogoJson {
+        final CatalogoSnapshot snapshot;
+        final byte[] corpo;
+
+        CatalogoJson(CatalogoSnapshot snapshot, byte[] corpo) {
+            this.snapshot = snapshot;
+            this.corpo = corpo;
+        }
+    }
+
+    /**
+     * Erro com status HTTP definido, convertido em {"erro": mensagem}.
+     */
+    private static final class ErroHttp extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+        final int status;
+
+        ErroHttp(int status, String mensagem) {
+            super(mensagem);
+            this.status = status;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Rota {
+        void tratar(HttpExchange troca, String[] partes) throws Exception;
+    }
+
+    /**
+     * Cria o servidor (ainda parado).
+     * @param endereco Endereço e porta de escuta (porta 0 escolhe uma livre).
+     * @param validadeSessaoMinutos Minutos sem uso até um token de login expirar.
+     * @throws IOException Se a porta não puder ser aberta.
+     */
+    public ServidorApi(InetSocketAddress endereco, long validadeSessaoMinutos) throws IOException {
+        this.validadeSessaoNanos = TimeUnit.MINUTES.toNanos(validadeSessaoMinutos);
+        this.servidor = HttpServer.create(endereco, 0);
+        servidor.setExecutor(executor);
+        servidor.createContext("/api/login", troca -> atender(troca, this::login));
+        servidor.createContext("/api/usuarios", troca -> atender(troca, this::usuarios));
+        servidor.createContext("/api/alimentos", troca -> atender(troca, this::alimentos));
+        servidor.createContext("/api/pedidos", troca -> atender(troca, this::pedidos));
+    }
+
+    public void iniciar() {
+        servidor.start();
+    }
+
+    /**
+     * Para de aceitar conexões, espera as requisições em andamento e encerra as threads.
+     * @param esperaSegundos Tempo máximo de espera pelas requisições em andamento.
+     */
+    public void parar(int esperaSegundos) {
+        servidor.stop(esperaSegundos);
+        executor.shutdown();
+    }
+
+    /**
+     * @return A porta em que o servidor escuta.
+     */
+    public int getPorta() {
+        return servidor.getAddress().getPort();
+    }
+
+    // --- Rotas ---
+
+    private void login(HttpExchange troca, String[] partes) throws Exception {
+        exigirCaminho(partes, 2);
+        exigirMetodo(troca, "POST");
+        Map<String, Object> corpo = lerObjeto(troca);
+        Usuario usuario = usuarioService.autenticar(texto(corpo, "email"), texto(corpo, "senha"));
+        if (usuario == null) {
+            throw new ErroHttp(401, "Usuário ou Senha inválidos!");
+        }
+
+        byte[] bytes = new byte[32];
+        geradorTokens.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        sessoes.put(token, new Sessao(usuario));
+        if (loginsDesdeLimpeza.incrementAndGet() >= LOGINS_ENTRE_LIMPEZAS) {
+            loginsDesdeLimpeza.set(0);
+            long agora = System.nanoTime();
+            sessoes.values().removeIf(sessao -> agora - sessao.ultimoAcessoNanos > validadeSessaoNanos);
+        }
+
+        StringBuilder json = new StringBuilder(96).append("{\"token\":");
+        Json.texto(json, token).append(",\"id\":").append(usuario.getId()).append(",\"nome\":");
+        Json.texto(json, usuario.getNome()).append('}');
+        responder(troca, 200, json);
+    }
+
+    private void usuarios(HttpExchange troca, String[] partes) throws Exception {
+        exigirCaminho(partes, 2);
+        exigirMetodo(troca, "POST");
+        Map<String, Object> corpo = lerObjeto(troca);
+        usuarioService.cadastrar(texto(corpo, "nome"), texto(corpo, "email"), texto(corpo, "senha"));
+        responder(troca, 201, new StringBuilder("{}"));
+    }
+
+    private void alimentos(HttpExchange troca, String[] partes) throws Exception {
+        exigirMetodo(troca, "GET");
+        if (partes.length == 2) {
+            responder(troca, 200, catalogoSerializado());
+            return;
+        }
+        exigirCaminho(partes, 3);
+        int id = inteiro(partes[2]);
+        Alimento alimento = CatalogoService.getInstancia().buscarAlimentoPorId(id);
+        if (alimento == null) {
+            throw new ErroHttp(404, "Alimento com ID " + id + " não encontrado.");
+        }
+        StringBuilder json = new StringBuilder(256);
+        escreverAlimento(json, alimento);
+        json.setLength(json.length() - 1); // Reabre o objeto para acrescentar os detalhes
+        json.append(",\"descricao\":");
+        Json.texto(json, alimento.getDescricao());
+        if (alimento instanceof Bebida bebida) {
+            json.append(",\"percentualAlcool\":").append(bebida.getPercentualAlcool());
+            if (bebida.getPercentualImposto() != null) {
+                json.append(",\"percentualImposto\":").append(bebida.getPercentualImposto());
+            }
+        }
+        if (alimento.getEstabelecimento() != null) {
+            json.append(",\"estabelecimento\":{\"id\":").append(alimento.getEstabelecimento().getId()).append(",\"nome\":");
+            Json.texto(json, alimento.getEstabelecimento().getNome()).append(",\"endereco\":");
+            Json.texto(json, alimento.getEstabelecimento().getEndereco()).append('}');
+        }
+        responder(troca, 200, json.append('}'));
+    }
+
+    private void pedidos(HttpExchange troca, String[] partes) throws Exception {
+        Usuario usuario = autenticado(troca);
+        String metodo = troca.getRequestMethod();
+
+        if (partes.length == 2) {
+            if ("GET".equals(metodo)) {
+                responder(troca, 200, historico(pedidoService.listarHistorico(usuario.getId())));
+            } else if ("POST".equals(metodo)) {
+                fazerPedido(troca, usuario);
+            } else {
+                throw metodoNaoPermitido(troca, "GET, POST");
+            }
+            return;
+        }
+
+        int idPedido = inteiro(partes[2]);
+        if (!pedidoService.pertenceAoUsuario(idPedido, usuario.getId())) {
+            // Pedidos de outros usuários são tratados como inexistentes
+            throw new ErroHttp(404, "Pedido ID " + idPedido + " não encontrado.");
+        }
+
+        if (partes.length == 3) {
+            exigirMetodo(troca, "DELETE");
+            if (!pedidoService.excluirPedido(idPedido)) {
+                throw new ErroHttp(404, "Pedido ID " + idPedido + " não encontrado.");
+            }
+            responderSemCorpo(troca, 204);
+        } else if (partes.length == 4 && "avaliacao".equals(partes[3])) {
+            exigirMetodo(troca, "PUT");
+            pedidoService.avaliarPedido(idPedido, inteiro(lerObjeto(troca), "nota"));
+            responderSemCorpo(troca, 204);
+        } else if (partes.length == 5 && "itens".equals(partes[3])) {
+            exigirMetodo(troca, "PUT");
+            int idAlimento = inteiro(partes[4]);
+            int quantidade = inteiro(lerObjeto(troca), "quantidade");
+            if (!pedidoService.editarItemPedido(idPedido, idAlimento, quantidade)) {
+                throw new ErroHttp(404, "O item com ID " + idAlimento + " não está no pedido ID " + idPedido + ".");
+            }
+            responderSemCorpo(troca, 204);
+        } else {
+            throw new ErroHttp(404, "Rota não encontrada.");
+        }
+    }
+
+    private void fazerPedido(HttpExchange troca, Usuario usuario) throws Exception {
+        Object itens = lerObjeto(troca).get("itens");
+        if (!(itens instanceof List<?> lista)) {
+            throw new IllegalArgumentException("Campo \"itens\" deve ser uma lista.");
+        }
+        Pedido pedido = new Pedido(usuario);
+        for (Object item : lista) {
+            if (!(item instanceof Map<?, ?> campos)) {
+                throw new IllegalArgumentException("Cada item deve ser um objeto com idAlimento e quantidade.");
+            }
+            int idAlimento = inteiro(campos, "idAlimento");
+            if (pedidoService.adicionarAoCarrinho(pedido, idAlimento, inteiro(campos, "quantidade")) == null) {
+                throw new IllegalArgumentException("Alimento com ID " + idAlimento + " não encontrado.");
+            }
+        }
+        int idPedido = pedidoService.fazerPedido(pedido);
+        troca.getResponseHeaders().set("Location", "/api/pedidos/" + idPedido);
+        responder(troca, 201, new StringBuilder(64)
+                .append("{\"id\":").append(idPedido)
+                .append(",\"totalCentavos\":").append(pedido.getTotalCentavos()).append('}'));
+    }
+
+    // --- Serialização ---
+
+    private byte[] catalogoSerializado() throws SQLException {
+        CatalogoSnapshot snapshot = CatalogoService.getInstancia().getSnapshot();
+        CatalogoJson atual = catalogoJson;
+        if (atual != null && atual.snapshot == snapshot) {
+            return atual.corpo;
+        }
+        // A fotografia é imutável: serializa uma vez por versão e reutiliza os bytes
+        List<Alimento> alimentos = snapshot.getAlimentos();
+        StringBuilder json = new StringBuilder(64 + alimentos.size() * 96).append('[');
+        for (int i = 0; i < alimentos.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            escreverAlimento(json, alimentos.get(i));
+        }
+        byte[] corpo = json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+        catalogoJson = new CatalogoJson(snapshot, corpo);
+        return corpo;
+    }
+
+    private static void escreverAlimento(StringBuilder json, Alimento alimento) {
+        json.append("{\"id\":").append(alimento.getId()).append(",\"nome\":");
+        Json.texto(json, alimento.getNome())
+                .append(",\"tipo\":\"").append(alimento instanceof Bebida ? "BEBIDA" : "COMIDA")
+                .append("\",\"precoCentavos\":").append(alimento.getPrecoCentavos()).append('}');
+    }
+
+    private static StringBuilder historico(List<PedidoHistorico> pedidos) {
+        StringBuilder json = new StringBuilder(64 + pedidos.size() * 128).append('[');
+        for (int i = 0; i < pedidos.size(); i++) {
+            PedidoHistorico pedido = pedidos.get(i);
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(pedido.getId()).append(",\"dataHora\":");
+            Json.texto(json, pedido.getDataHora() != null ? FORMATO_DATA.format(pedido.getDataHora()) : null)
+                    .append(",\"avaliacao\":");
+            if (pedido.isAvaliado()) {
+                json.append(pedido.getAvaliacao());
+            } else {
+                json.append("null");
+            }
+            json.append(",\"itens\":[");
+            List<ItemHistorico> itens = pedido.getItens();
+            for (int j = 0; j < itens.size(); j++) {
+                ItemHistorico item = itens.get(j);
+                if (j > 0) {
+                    json.append(',');
+                }
+                json.append("{\"idAlimento\":").append(item.getIdAlimento()).append(",\"nome\":");
+                Json.texto(json, item.getNome()).append(",\"quantidade\":").append(item.getQuantidade()).append('}');
+            }
+            json.append("]}");
+        }
+        return json.append(']');
+    }
+
+    // --- Infraestrutura ---
+
+    /**
+     * Executa a rota e converte exceções em respostas:
+     * entrada inválida -> 400, email já cadastrado -> 409, erro de banco -> 500.
+     */
+    private void atender(HttpExchange troca, Rota rota) {
+        try (troca) {
+            try {
+                String caminho = troca.getRequestURI().getPath();
+                String[] partes = (caminho.startsWith("/") ? caminho.substring(1) : caminho).split("/");
+                if (partes.length < 2 || !troca.getHttpContext().getPath().equals("/api/" + partes[1])) {
+                    throw new ErroHttp(404, "Rota não encontrada."); // Contextos casam por prefixo (ex.: /api/loginX)
+                }
+                rota.tratar(troca, partes);
+            } catch (ErroHttp ex) {
+                responderErro(troca, ex.status, ex.getMessage());
+            } catch (IllegalArgumentException ex) {
+                responderErro(troca, 400, ex.getMessage());
+            } catch (SQLException ex) {
+                if ("23505".equals(ex.getSQLState())) {
+                    responderErro(troca, 409, "Registro já existente.");
+                } else if ("23503".equals(ex.getSQLState())) {
+                    responderErro(troca, 400, "Referência inválida (alimento ou pedido inexistente).");
+                } else {
+                    LOG.erro("Erro de banco na requisição", ex, "metodo", troca.getRequestMethod(), "uri", troca.getRequestURI().toString());
+                    responderErro(troca, 500, "Erro de banco de dados.");
+                }
+            }
+        } catch (Exception ex) {
+            LOG.erro("Erro ao atender requisição", ex, "metodo", troca.getRequestMethod(), "uri", troca.getRequestURI().toString());
+        }
+    }
+
+    private Usuario autenticado(HttpExchange troca) {
+        String autorizacao = troca.getRequestHeaders().getFirst("Authorization");
+        if (autorizacao == null || !autorizacao.startsWith("Bearer ")) {
+            throw new ErroHttp(401, "Faça login para acessar os pedidos.");
+        }
+        String token = autorizacao.substring("Bearer ".length()).trim();
+        Sessao sessao = sessoes.get(token);
+        long agora = System.nanoTime();
+        if (sessao == null || agora - sessao.ultimoAcessoNanos > validadeSessaoNanos) {
+            if (sessao != null) {
+                sessoes.remove(token, sessao);
+            }
+            throw new ErroHttp(401, "Sessão inválida ou expirada. Faça login novamente.");
+        }
+        sessao.ultimoAcessoNanos = agora;
+        return sessao.usuario;
+    }
+
+    private static Map<String, Object> lerObjeto(HttpExchange troca) throws IOException {
+        byte[] bytes;
+        try (InputStream entrada = troca.getRequestBody()) {
+            bytes = entrada.readNBytes(TAMANHO_MAXIMO_CORPO + 1);
+        }
+        if (bytes.length > TAMANHO_MAXIMO_CORPO) {
+            throw new ErroHttp(413, "Corpo da requisição muito grande.");
+        }
+        Object valor = Json.ler(new String(bytes, StandardCharsets.UTF_8));
+        if (!(valor instanceof Map<?, ?>)) {
+            throw new IllegalArgumentException("O corpo deve ser um objeto JSON.");
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, Object> objeto = (Map<String, Object>) valor;
+        return objeto;
+    }
+
+    private static String texto(Map<String, Object> corpo, String campo) {
+        Object valor = corpo.get(campo);
+        if (valor != null && !(valor instanceof String)) {
+            throw new IllegalArgumentException("Campo \"" + campo + "\" deve ser texto.");
+        }
+        return (String) valor;
+    }
+
+    private static int inteiro(Map<?, ?> corpo, String campo) {
+        Object valor = corpo.get(campo);
+        if (!(valor instanceof Long numero) || numero < Integer.MIN_VALUE || numero > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Campo \"" + campo + "\" deve ser um número inteiro.");
+        }
+        return numero.intValue();
+    }
+
+    private static int inteiro(String segmento) {
+        try {
+            return Integer.parseInt(segmento);
+        } catch (NumberFormatException ex) {
+            throw new ErroHttp(404, "Rota não encontrada.");
+        }
+    }
+
+    private static void exigirCaminho(String[] partes, int tamanho) {
+        if (partes.length != tamanho) {
+            throw new ErroHttp(404, "Rota não encontrada.");
+        }
+    }
+
+    private static void exigirMetodo(HttpExchange troca, String metodo) {
+        if (!metodo.equals(troca.getRequestMethod())) {
+            throw metodoNaoPermitido(troca, metodo);
+        }
+    }
+
+    private static ErroHttp metodoNaoPermitido(HttpExchange troca, String permitidos) {
+        troca.getResponseHeaders().set("Allow", permitidos);
+        return new ErroHttp(405, "Método não permitido.");
+    }
+
+    private static void responderErro(HttpExchange troca, int status, String mensagem) throws IOException {
+        StringBuilder json = new StringBuilder(64).append("{\"erro\":");
+        responder(troca, status, Json.texto(json, mensagem).append('}'));
+    }
+
+    private static void responderSemCorpo(HttpExchange troca, int status) throws IOException {
+        troca.sendResponseHeaders(status, -1);
+    }
+
+    private static void responder(HttpExchange troca, int status, StringBuilder json) throws IOException {
+        responder(troca, status, json.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void responder(HttpExchange troca, int status, byte[] corpo) throws IOException {
+        troca.getResponseHeaders().set("Content-Type", TIPO_JSON);
+        troca.sendResponseHeaders(status, corpo.length);
+        try (OutputStream saida = troca.getResponseBody()) {
+            saida.write(corpo);
+        }
+    }
+}
@@ -0,0 +1,374 @@
+package controller;
+
+import dao.Conexao;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import javax.swing.AbstractButton;
+import javax.swing.JComponent;
+import javax.swing.SwingUtilities;
+import log.Log;
+import metrics.EventoAcaoController;
+
+/**
+ * Executa o trabalho de banco dos Controllers fora da Event Dispatch Thread.
+ * Cada tarefa roda em uma virtual thread; o resultado (ou o erro) é entregue
+ * de volta na EDT. Tarefas têm um tipo: quando uma nova tarefa de um tipo já
+ * em andamento é enviada, a anterior é cancelada (inclusive com Statement.cancel
+ * nas consultas em execução) e só o resultado da mais recente chega à tela.
+ * Cada tarefa gera um {@link EventoAcaoController} (JFR) do agendamento até a entrega.
+ */
+public class AgendadorTarefas {
+
+    private static final Log LOG = Log.para(AgendadorTarefas.class);
+
+    private static final int PARTES_PENDENTES_MAX = 4;
+
+    // Client property com a Marcacao de um componente compartilhado por tarefas em andamento
+    private static final String MARCACAO = "feifood.tarefas";
+
+    /**
+     * Trabalho executado fora da EDT. Não deve tocar em componentes Swing.
+     * @param <T> Tipo do resultado entregue na EDT.
+     */
+    @FunctionalInterface
+    public interface Trabalho<T> {
+        T executar(ContextoTarefa contexto) throws Exception;
+    }
+
+    private final String controller;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    // Tarefa mais recente de cada tipo; acessado apenas na EDT
+    private final Map<String, ContextoTarefa> emAndamento = new HashMap<>();
+
+    /**
+     * @param controller Nome do controller dono das tarefas, usado nos eventos JFR.
+     */
+    public AgendadorTarefas(String controller) {
+        this.controller = controller;
+    }
+
+    /**
+     * Agenda uma consulta em segundo plano. Deve ser chamado na EDT.
+     * Os componentes continuam habilitados: clicar de novo substitui a consulta anterior.
+     *
+     * @param tipo Tipo da tarefa; uma nova tarefa do mesmo tipo cancela a anterior.
+     * @param trabalho O trabalho (consultas ao banco).
+     * @param aoConcluir Recebe o resultado na EDT.
+     * @param aoFalhar Recebe a exceção na EDT.
+     * @param componentes Botões que exibem o estado "em andamento" enquanto a tarefa roda.
+     */
+    public <T> void executar(String tipo, Trabalho<T> trabalho, Consumer<T> aoConcluir,
+                             Consumer<Exception> aoFalhar, JComponent... componentes) {
+        agendar(tipo, false, trabalho, aoConcluir, aoFalhar, componentes);
+    }
+
+    /**
+     * Agenda uma alteração em segundo plano. Deve ser chamado na EDT.
+     * Os componentes ficam desabilitados até o fim, evitando envios duplicados.
+     *
+     * @param tipo Tipo da tarefa.
+     * @param trabalho O trabalho (alterações no banco).
+     * @param aoConcluir Recebe o resultado na EDT.
+     * @param aoFalhar Recebe a exceção na EDT.
+     * @param componentes Botões/campos bloqueados enquanto a tarefa roda.
+     */
+    public <T> void executarExclusiva(String tipo, Trabalho<T> trabalho, Consumer<T> aoConcluir,
+                                      Consumer<Exception> aoFalhar, JComponent... componentes) {
+        agendar(tipo, true, trabalho, aoConcluir, aoFalhar, componentes);
+    }
+
+    private <T> void agendar(String tipo, boolean exclusiva, Trabalho<T> trabalho, Consumer<T> aoConcluir,
+                             Consumer<Exception> aoFalhar, JComponent[] componentes) {
+        ContextoTarefa anterior = emAndamento.get(tipo);
+        if (anterior != null) {
+            cancelar(anterior);
+            anterior.restaurarComponentes();
+        }
+
+        ContextoTarefa contexto = new ContextoTarefa(tipo, exclusiva, componentes);
+        contexto.evento.begin();
+        emAndamento.put(tipo, contexto);
+        contexto.marcarComponentes();
+
+        contexto.futuro = executor.submit(() -> {
+            contexto.evento.threadTrabalho = Thread.currentThread();
+            T resultado = null;
+            Exception erro = null;
+            try {
+                resultado = trabalho.executar(contexto);
+            } catch (Exception e) {
+                erro = e;
+            } finally {
+                contexto.fecharConexoes();
+            }
+            T resultadoFinal = resultado;
+            Exception erroFinal = erro;
+            SwingUtilities.invokeLater(() -> entregar(contexto, resultadoFinal, erroFinal, aoConcluir, aoFalhar));
+        });
+    }
+
+    /**
+     * @param tipo Tipo da tarefa.
+     * @return true se uma tarefa do tipo foi agendada e ainda não foi entregue. Deve ser chamado na EDT.
+     */
+    public boolean isEmAndamento(String tipo) {
+        return emAndamento.containsKey(tipo);
+    }
+
+    /**
+     * Cancela todas as tarefas em andamento e encerra as threads. Deve ser chamado na EDT.
+     */
+    public void encerrar() {
+        for (ContextoTarefa contexto : emAndamento.values()) {
+            cancelar(contexto);
+        }
+        emAndamento.clear();
+        executor.shutdownNow();
+    }
+
+    private void cancelar(ContextoTarefa contexto) {
+        contexto.cancelar();
+        // A tarefa pode nem chegar a rodar: o evento é concluído aqui, e não na entrega
+        contexto.evento.concluir(controller, contexto.tipo, "cancelada");
+    }
+
+    private <T> void entregar(ContextoTarefa contexto, T resultado, Exception erro,
+                              Consumer<T> aoConcluir, Consumer<Exception> aoFalhar) {
+        if (contexto.isCancelada() || emAndamento.get(contexto.tipo) != contexto) {
+            return; // Substituída por uma tarefa mais nova: descarta o resultado
+        }
+        emAndamento.remove(contexto.tipo);
+        contexto.restaurarComponentes();
+        // Conclui antes das respostas: pop-ups modais esperam o usuário e distorceriam a duração
+        contexto.evento.concluir(controller, contexto.tipo, erro != null ? "erro" : "ok");
+        if (erro != null) {
+            if (!(erro instanceof IllegalArgumentException)) { // Dados inválidos são só avisados na tela
+                LOG.erro("Tarefa falhou", erro, "controller", controller, "tarefa", contexto.tipo);
+            }
+            aoFalhar.accept(erro);
+        } else {
+            aoConcluir.accept(resultado);
+        }
+    }
+
+    /**
+     * Contexto de uma tarefa: dá acesso a conexões cujas consultas podem ser canceladas
+     * e informa se a tarefa já foi substituída.
+     */
+    public static final class ContextoTarefa {
+        private final String tipo;
+        private final boolean exclusiva;
+        private final JComponent[] componentes;
+        private boolean marcada; // Componentes marcados e ainda não restaurados (só na EDT)
+        private final List<Connection> conexoes = new ArrayList<>();
+        private final List<Statement> statements = new ArrayList<>();
+        // Do agendamento (EDT) até a entrega (EDT); a thread do trabalho é anotada no meio
+        private final EventoAcaoController evento = new EventoAcaoController();
+        // Partes publicadas e ainda não aplicadas na EDT: limita o que fica acumulado na fila de eventos
+        private final Semaphore partesPendentes = new Semaphore(PARTES_PENDENTES_MAX);
+        private volatile boolean cancelada;
+        private Future<?> futuro;
+
+        private ContextoTarefa(String tipo, boolean exclusiva, JComponent[] componentes) {
+            this.tipo = tipo;
+            this.exclusiva = exclusiva;
+            this.componentes = componentes;
+        }
+
+        /**
+         * Obtém uma conexão do pool. As consultas criadas por ela são canceladas se a tarefa for
+         * substituída; a conexão é devolvida ao fim da tarefa caso o trabalho não a feche.
+         * @return Conexão pronta para uso.
+         * @throws SQLException Se a tarefa já foi cancelada ou não houver conexão disponível.
+         */
+        public Connection getConexao() throws SQLException {
+            if (cancelada) {
+                throw new SQLException("Tarefa cancelada.");
+            }
+            Connection conn = new Conexao().getConnection();
+            Connection rastreada = (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    new ConexaoRastreada(conn));
+            synchronized (this) {
+                conexoes.add(rastreada);
+            }
+            return rastreada;
+        }
+
+        public boolean isCancelada() {
+            return cancelada;
+        }
+
+        /**
+         * Entrega uma parte do resultado na EDT antes do fim da tarefa, como o SwingWorker.publish.
+         * As partes são aplicadas na ordem em que foram publicadas e antes do aoConcluir; as de uma
+         * tarefa substituída são descartadas. Se a EDT estiver atrasada, espera até que as partes
+         * anteriores sejam aplicadas, para que não se acumulem na memória.
+         * @param parte A parte (não deve ser alterada depois de publicada).
+         * @param aoReceber Aplica a parte na tela (roda na EDT).
+         * @throws CancellationException Se a tarefa for cancelada enquanto espera.
+         */
+        public <P> void publicar(P parte, Consumer<P> aoReceber) {
+            try {
+                partesPendentes.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Tarefa cancelada.");
+            }
+            SwingUtilities.invokeLater(() -> {
+                partesPendentes.release();
+                if (!cancelada) {
+                    aoReceber.accept(parte);
+                }
+            });
+        }
+
+        private void cancelar() {
+            cancelada = true;
+            if (futuro != null) {
+                futuro.cancel(true);
+            }
+            List<Statement> ativos;
+            synchronized (this) {
+                ativos = new ArrayList<>(statements);
+            }
+            if (ativos.isEmpty()) {
+                return;
+            }
+            // Statement.cancel abre uma conexão de cancelamento com o servidor: não faz isso na EDT
+            Thread.startVirtualThread(() -> {
+                for (Statement st : ativos) {
+                    try {
+                        if (!st.isClosed()) {
+                            st.cancel(); // Pede ao servidor para interromper a consulta
+                        }
+                    } catch (SQLException e) {
+                        LOG.aviso("Erro ao cancelar consulta", "tarefa", tipo, "erro", e.getMessage());
+                    }
+                }
+            });
+        }
+
+        private void fecharConexoes() {
+            List<Connection> abertas;
+            synchronized (this) {
+                abertas = new ArrayList<>(conexoes);
+                conexoes.clear();
+                statements.clear();
+            }
+            for (Connection conn : abertas) {
+                try {
+                    conn.close(); // Sem efeito se o trabalho já fechou
+                } catch (SQLException e) {
+                    LOG.aviso("Erro ao devolver conexão da tarefa", "tarefa", tipo, "erro", e.getMessage());
+                }
+            }
+        }
+
+        /**
+         * Um componente pode estar em várias tarefas ao mesmo tempo (ex.: o botão de adicionar
+         * item, bloqueado também pelo envio do pedido): o texto original é guardado só pela
+         * primeira e o componente volta ao normal quando a última termina.
+         */
+        private void marcarComponentes() {
+            marcada = true;
+            for (JComponent c : componentes) {
+                Marcacao marcacao = (Marcacao) c.getClientProperty(MARCACAO);
+                if (marcacao == null) {
+                    marcacao = new Marcacao(c instanceof AbstractButton botao ? botao.getText() : null);
+                    c.putClientProperty(MARCACAO, marcacao);
+                    if (c instanceof AbstractButton botao) {
+                        botao.setText(botao.getText() + "...");
+                    }
+                }
+                marcacao.tarefas++;
+                if (exclusiva) {
+                    marcacao.exclusivas++;
+                    c.setEnabled(false);
+                }
+            }
+        }
+
+        private void restaurarComponentes() {
+            if (!marcada) {
+                return; // Já restaurados (ex.: cancelada e depois entregue)
+            }
+            marcada = false;
+            for (JComponent c : componentes) {
+                Marcacao marcacao = (Marcacao) c.getClientProperty(MARCACAO);
+                if (marcacao == null) {
+                    continue;
+                }
+                if (exclusiva && --marcacao.exclusivas == 0) {
+                    c.setEnabled(true);
+                }
+                if (--marcacao.tarefas == 0) {
+                    c.putClientProperty(MARCACAO, null);
+                    if (c instanceof AbstractButton botao) {
+                        botao.setText(marcacao.textoOriginal);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Registra cada Statement criado pela conexão para que possa ser cancelado.
+         */
+        private final class ConexaoRastreada implements InvocationHandler {
+            private final Connection conn;
+
+            ConexaoRastreada(Connection conn) {
+                this.conn = conn;
+            }
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                Object resultado;
+                try {
+                    resultado = method.invoke(conn, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                if (resultado instanceof Statement st) {
+                    synchronized (ContextoTarefa.this) {
+                        statements.add(st);
+                    }
+                    if (cancelada) {
+                        st.cancel();
+                    }
+                }
+                return resultado;
+            }
+        }
+    }
+
+    /**
+     * Estado "em andamento" de um componente: quantas tarefas o marcaram (e quantas o
+     * bloqueiam) e o texto que ele tinha antes da primeira. Acessado apenas na EDT.
+     */
+    private static final class Marcacao {
+        private final String textoOriginal;
+        private int tarefas;
+        private int exclusivas;
+
+        Marcacao(String textoOriginal) {
+            this.textoOriginal = textoOriginal;
+        }
+    }
+}
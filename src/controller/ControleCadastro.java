@@ -1,15 +1,16 @@
 package controller;
 
-import dao.UsuarioDAO;
-import dao.Conexao;
 import view.Cadastro; // Importa a tela de Cadastro
-import model.Usuario; // Importa o modelo Usuario
+import service.UsuarioService;
+import log.Log;
+import metrics.EventoAcaoController;
 
-import java.sql.Connection;
 import java.sql.SQLException;
 import javax.swing.JOptionPane;
 
 public class ControleCadastro {
+    private static final Log LOG = Log.para(ControleCadastro.class);
+
     private Cadastro telaCadastro; // Referência para a tela de Cadastro
 
     /**
@@ -21,48 +22,36 @@ public class ControleCadastro {
     }
 
     /**
-     * Pega os dados da tela, cria um objeto Usuario e tenta inseri-lo no banco.
+     * Pega os dados da tela e tenta cadastrar o usuário pelo UsuarioService.
      */
     public void salvarUsuario() {
         String nome = telaCadastro.getTxtNome().getText();
         String email = telaCadastro.getTxtUsuario().getText();
         String senha = telaCadastro.getTxtSenha().getText(); 
 
-        
-        if (nome.isEmpty() || email.isEmpty() || senha.isEmpty()) {
-            JOptionPane.showMessageDialog(telaCadastro, "Todos os campos são obrigatórios!", "Erro", JOptionPane.ERROR_MESSAGE);
-            return;
-        }
-
-        Usuario novoUsuario = new Usuario(nome, email, senha);
-
-        Connection conn = null; 
+        // Evento JFR só do trabalho da ação: os pop-ups (que esperam o usuário) ficam de fora
+        EventoAcaoController evento = new EventoAcaoController();
+        evento.begin();
         try {
-            Conexao conexao = new Conexao();
-            conn = conexao.getConnection();
-
-            UsuarioDAO dao = new UsuarioDAO(conn);
-            dao.inserir(novoUsuario); 
-
-            JOptionPane.showMessageDialog(telaCadastro, "Usuário Cadastrado!", "Aviso", JOptionPane.INFORMATION_MESSAGE);
-
-            // Opcional: Limpar os campos da tela após o cadastro
-            telaCadastro.getTxtNome().setText("");
-            telaCadastro.getTxtUsuario().setText("");
-            telaCadastro.getTxtSenha().setText(""); // Ou setPassword("")
-
+            new UsuarioService().cadastrar(nome, email, senha);
+            evento.concluir("ControleCadastro", "salvarUsuario", "ok");
+        } catch (IllegalArgumentException ex) {
+            // Campos obrigatórios não preenchidos
+            evento.concluir("ControleCadastro", "salvarUsuario", "recusada");
+            JOptionPane.showMessageDialog(telaCadastro, ex.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
+            return;
         } catch (SQLException ex) {
+            evento.concluir("ControleCadastro", "salvarUsuario", "erro");
+            LOG.erro("Erro ao cadastrar usuário", ex);
             JOptionPane.showMessageDialog(telaCadastro, "Erro ao cadastrar usuário!\n" + ex.getMessage(), "Erro de Banco de Dados", JOptionPane.ERROR_MESSAGE);
-            // Logger.getLogger(ControleCadastro.class.getName()).log(Level.SEVERE, null, ex); // Logar o erro
-        } finally {
-            // Garante que a conexão seja fechada, mesmo se ocorrer erro
-            if (conn != null) {
-                try {
-                    conn.close();
-                } catch (SQLException e) {
-                    System.err.println("Erro ao fechar a conexão: " + e.getMessage());
-                }
-            }
+            return;
         }
+
+        JOptionPane.showMessageDialog(telaCadastro, "Usuário Cadastrado!", "Aviso", JOptionPane.INFORMATION_MESSAGE);
+
+        // Opcional: Limpar os campos da tela após o cadastro
+        telaCadastro.getTxtNome().setText("");
+        telaCadastro.getTxtUsuario().setText("");
+        telaCadastro.getTxtSenha().setText(""); // Ou setPassword("")
     }
 }
\ No newline at end of file
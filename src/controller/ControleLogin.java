@@ -1,17 +1,18 @@
 package controller;
 
-import dao.UsuarioDAO;
-import dao.Conexao;
 import model.Usuario; // Importa o modelo Usuario
 import view.Login;   // Importa a tela de Login
 import view.Menu;    // Importa a tela de Menu (próxima tela após login)
+import service.UsuarioService;
+import log.Log;
+import metrics.EventoAcaoController;
 
-import java.sql.Connection;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import javax.swing.JOptionPane;
 
 public class ControleLogin {
+    private static final Log LOG = Log.para(ControleLogin.class);
+
     private Login telaLogin; 
 
     /**
@@ -23,63 +24,43 @@ public class ControleLogin {
     }
 
     /**
-     * Pega os dados da tela, consulta o banco e tenta autenticar o usuário.
+     * Pega os dados da tela e tenta autenticar o usuário pelo UsuarioService.
      */
     public void autenticarUsuario() { // Renomeado para autenticarUsuario para clareza
         String email = telaLogin.getTxtUsuario().getText();
         String senha = telaLogin.getTxtSenha().getText(); 
 
-       
-        if (email.isEmpty() || senha.isEmpty()) {
-            JOptionPane.showMessageDialog(telaLogin, "Usuário e Senha são obrigatórios!", "Erro", JOptionPane.ERROR_MESSAGE);
+        // Evento JFR só do trabalho da ação: os pop-ups (que esperam o usuário) ficam de fora
+        EventoAcaoController evento = new EventoAcaoController();
+        evento.begin();
+        Usuario usuarioLogado;
+        try {
+            usuarioLogado = new UsuarioService().autenticar(email, senha);
+            evento.concluir("ControleLogin", "autenticarUsuario", usuarioLogado != null ? "ok" : "recusada");
+        } catch (IllegalArgumentException e) {
+            // Campos obrigatórios não preenchidos
+            evento.concluir("ControleLogin", "autenticarUsuario", "recusada");
+            JOptionPane.showMessageDialog(telaLogin, e.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
+            return;
+        } catch (SQLException e) {
+            evento.concluir("ControleLogin", "autenticarUsuario", "erro");
+            LOG.erro("Erro ao autenticar usuário", e);
+            JOptionPane.showMessageDialog(telaLogin, "Erro de conexão com o banco de dados:\n" + e.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
             return;
         }
 
-       
-        Usuario usuarioParaAutenticar = new Usuario("", email, senha);
-
-        Connection conn = null;
-        ResultSet res = null; 
-        try {
-            Conexao conexao = new Conexao();
-            conn = conexao.getConnection();
-            UsuarioDAO dao = new UsuarioDAO(conn);
+        if (usuarioLogado != null) {
+            // Login bem-sucedido
+            JOptionPane.showMessageDialog(telaLogin, "Login efetuado com sucesso!", "Aviso", JOptionPane.INFORMATION_MESSAGE);
 
+            // Abre a tela principal (Menu) e fecha a de login
+            Menu telaMenu = new Menu(usuarioLogado);
+            telaMenu.setVisible(true); //
+            telaLogin.dispose(); // Fecha a tela de login (melhor que setVisible(false))
 
-            res = dao.consultar(usuarioParaAutenticar);
-
-          
-            if (res.next()) {
-                // Login bem-sucedido
-                JOptionPane.showMessageDialog(telaLogin, "Login efetuado com sucesso!", "Aviso", JOptionPane.INFORMATION_MESSAGE);
-
-                
-                int idUsuario = res.getInt("id_usuario"); 
-                String nomeUsuario = res.getString("nome"); 
-              
-                Usuario usuarioLogado = new Usuario(idUsuario, nomeUsuario, email, senha); // Recria com ID e nome
-
-                // Abre a tela principal (Menu) e fecha a de login
-                Menu telaMenu = new Menu(usuarioLogado);
-                telaMenu.setVisible(true); //
-                telaLogin.dispose(); // Fecha a tela de login (melhor que setVisible(false))
-
-            } else {
-                // Login falhou (usuário ou senha incorretos)
-                JOptionPane.showMessageDialog(telaLogin, "Usuário ou Senha inválidos!", "Erro de Login", JOptionPane.ERROR_MESSAGE);
-            }
-        } catch (SQLException e) {
-            //
-            JOptionPane.showMessageDialog(telaLogin, "Erro de conexão com o banco de dados:\n" + e.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
-            // Logger.getLogger(ControleLogin.class.getName()).log(Level.SEVERE, null, e); // Logar o erro
-        } finally {
-            // Garante que ResultSet e Connection sejam fechados
-             try {
-                if (res != null) res.close();
-                if (conn != null) conn.close(); //
-            } catch (SQLException e) {
-                 System.err.println("Erro ao fechar recursos do banco: " + e.getMessage());
-            }
+        } else {
+            // Login falhou (usuário ou senha incorretos)
+            JOptionPane.showMessageDialog(telaLogin, "Usuário ou Senha inválidos!", "Erro de Login", JOptionPane.ERROR_MESSAGE);
         }
     }
 }
\ No newline at end of file
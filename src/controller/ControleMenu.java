@@ -2,26 +2,45 @@ package controller;
 
 import view.Menu;
 import model.*;
-import dao.*;
-
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
-import java.sql.Timestamp;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.Map; // Para usar o Map retornado pelo DAO
+import service.CatalogoService;
+import service.PedidoService;
+import log.Log;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import javax.swing.JOptionPane;
+import javax.swing.JScrollBar;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.SwingUtilities;
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
 // Imports de ActionListener removidos
 
+/**
+ * Controller da tela Menu.
+ * Todo acesso ao banco roda fora da EDT pelo AgendadorTarefas; as respostas
+ * (textos, pop-ups) são aplicadas na EDT quando a tarefa termina.
+ */
 public class ControleMenu {
+    private static final Log LOG = Log.para(ControleMenu.class);
+
     private Menu telaMenu;
     private Usuario usuarioLogado;
-    private Pedido pedidoAtual; // Guarda o pedido em construção
-    private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+    private Pedido pedidoAtual; // Guarda o pedido em construção (acessado apenas na EDT)
+    private final AgendadorTarefas agendador = new AgendadorTarefas("ControleMenu");
+
+    // Pedidos por página do histórico (-Dfeifood.historico.pagina)
+    private static final int TAMANHO_PAGINA_HISTORICO = Math.max(1, Integer.getInteger("feifood.historico.pagina", 50));
+    // Intervalo mínimo entre as partes do histórico publicadas na tela durante a carga
+    private static final long INTERVALO_PARTE_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    // Estado da paginação do histórico (acessado apenas na EDT)
+    private PedidoHistorico ultimoPedidoHistorico; // Último pedido exibido; null antes da primeira página
+    private boolean historicoCompleto;
+    private boolean carregandoHistorico;
+    private int posicaoHistorico; // Onde a próxima parte da carga é colocada no modelo
 
     public ControleMenu(Menu mn, Usuario usuarioLogado) {
         this.telaMenu = mn;
@@ -36,52 +55,34 @@ public class ControleMenu {
 
         // Adiciona listeners
         adicionarListenerSliderNota();
+        adicionarListenerRolagemHistorico();
         // Os listeners dos botões Adicionar/Remover/Avaliar/Buscar são chamados pela View (Menu.java)
     }
 
+    /**
+     * Cancela as tarefas em andamento. Chamado quando a janela é fechada.
+     */
+    public void encerrar() {
+        agendador.encerrar();
+    }
+
     // --- Métodos da Aba Alimentos ---
 
     /**
-     * Busca a lista resumida de alimentos (ID e Nome) no banco
-     * e preenche o JTextArea txtOutputAlimentos.
+     * Lista os alimentos (ID e Nome) do catálogo em memória na tabela da aba Alimentos.
+     * Ao recarregar, só as linhas que mudaram são redesenhadas.
      */
     public void carregarListaAlimentos() {
-        Connection conn = null;
-        ResultSet res = null;
-        PreparedStatement stmt = null;
-
-        try {
-            Conexao conexao = new Conexao();
-            conn = conexao.getConnection();
-            String sql = "SELECT id_alimento, nome FROM Alimento ORDER BY nome";
-            stmt = conn.prepareStatement(sql);
-            res = stmt.executeQuery();
-
-            telaMenu.getTxtOutputAlimentos().setText("");
-            StringBuilder listaTexto = new StringBuilder();
-            while (res.next()) {
-                int id = res.getInt("id_alimento");
-                String nome = res.getString("nome");
-                listaTexto.append(id).append(" - ").append(nome).append("\n");
-            }
-            telaMenu.getTxtOutputAlimentos().setText(listaTexto.toString());
-
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(telaMenu, "Erro ao carregar lista de alimentos:\n" + e.getMessage(), "Erro de Banco de Dados", JOptionPane.ERROR_MESSAGE);
-        } finally {
-            try {
-                if (res != null) res.close();
-                if (stmt != null) stmt.close();
-                if (conn != null) conn.close();
-            } catch (SQLException e) {
-                System.err.println("Erro ao fechar recursos do banco (Alimentos): " + e.getMessage());
-            }
-        }
+        agendador.executar("listaAlimentos",
+            contexto -> CatalogoService.getInstancia().listarAlimentos(),
+            alimentos -> telaMenu.getModeloAlimentos().substituir(alimentos),
+            e -> JOptionPane.showMessageDialog(telaMenu, "Erro ao carregar lista de alimentos:\n" + e.getMessage(), "Erro de Banco de Dados", JOptionPane.ERROR_MESSAGE));
     }
 
     /**
      * Busca os detalhes de um alimento pelo ID informado na tela
      * e exibe no JTextArea txtOutputInfoAlimento.
+     * Um novo clique em "Buscar" substitui a busca anterior ainda em andamento.
      */
     public void buscarDetalhesAlimento() {
         String idTexto = telaMenu.getTxtInputIDalimento().getText();
@@ -94,167 +95,166 @@ public class ControleMenu {
             return;
         }
 
-        Connection conn = null;
-        ResultSet res = null;
-        PreparedStatement stmt = null;
-        AlimentoDAO dao = null; // Usaremos o DAO aqui
-
-        try {
-            Conexao conexao = new Conexao();
-            conn = conexao.getConnection();
-            dao = new AlimentoDAO(conn); // Cria o DAO
-
-            // Chama o método que retorna ResultSet aberto
-            res = dao.buscarPorIdDetalhado(idAlimento);
-            // Pega o PreparedStatement associado para poder fechar
-            stmt = (PreparedStatement) res.getStatement();
-
-
-            if (res.next()) {
-                String nome = res.getString("nome");
-                String descricao = res.getString("descricao");
-                double preco = res.getDouble("preco");
-                String tipo = res.getString("tipo_alimento");
-                double imposto = res.getDouble("percentual_imposto");
-                boolean impostoEraNull = res.wasNull();
-                String estabelecimento = res.getString("nome_estabelecimento");
+        agendador.executar("detalhesAlimento",
+            contexto -> {
+                Alimento alimento = CatalogoService.getInstancia().buscarAlimentoPorId(idAlimento);
+                if (alimento == null) {
+                    return "Alimento com ID " + idAlimento + " não encontrado.";
+                }
 
                 StringBuilder infoTexto = new StringBuilder();
-                infoTexto.append("Nome: ").append(nome).append("\n");
-                infoTexto.append("Descrição: ").append(descricao != null ? descricao : "N/A").append("\n");
-                infoTexto.append("Preço: R$ ").append(String.format("%.2f", preco)).append("\n");
-                infoTexto.append("Tipo: ").append(tipo).append("\n");
-                if (tipo.equals("BEBIDA") && !impostoEraNull) {
-                    infoTexto.append("Imposto (aprox): ").append(String.format("%.1f", imposto)).append("%\n");
+                infoTexto.append("Nome: ").append(alimento.getNome()).append("\n");
+                infoTexto.append("Descrição: ").append(alimento.getDescricao() != null ? alimento.getDescricao() : "N/A").append("\n");
+                Dinheiro.formatar(alimento.getPrecoCentavos(), infoTexto.append("Preço: R$ ")).append("\n");
+                if (alimento instanceof Bebida bebida) {
+                    infoTexto.append("Tipo: BEBIDA\n");
+                    if (bebida.getPercentualImposto() != null) {
+                        infoTexto.append("Imposto (aprox): ").append(String.format("%.1f", bebida.getPercentualImposto())).append("%\n");
+                    }
+                } else {
+                    infoTexto.append("Tipo: COMIDA\n");
                 }
+                String estabelecimento = alimento.getEstabelecimento() != null ? alimento.getEstabelecimento().getNome() : "N/A";
                 infoTexto.append("Estabelecimento: ").append(estabelecimento).append("\n");
-                telaMenu.getTxtOutputInfoAlimento().setText(infoTexto.toString());
-            } else {
-                telaMenu.getTxtOutputInfoAlimento().setText("Alimento com ID " + idAlimento + " não encontrado.");
-            }
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(telaMenu, "Erro ao buscar detalhes do alimento:\n" + e.getMessage(), "Erro de Banco de Dados", JOptionPane.ERROR_MESSAGE);
-            telaMenu.getTxtOutputInfoAlimento().setText("Erro ao buscar dados.");
-        } finally {
-            try {
-                if (res != null) res.close(); // Fecha ResultSet
-                if (stmt != null) stmt.close(); // Fecha PreparedStatement associado
-                if (conn != null) conn.close(); // Fecha Connection
-            } catch (SQLException e) {
-                System.err.println("Erro ao fechar recursos do banco (Detalhes Alimento): " + e.getMessage());
-            }
-        }
+                return infoTexto.toString();
+            },
+            infoTexto -> telaMenu.getTxtOutputInfoAlimento().setText(infoTexto),
+            e -> {
+                JOptionPane.showMessageDialog(telaMenu, "Erro ao buscar detalhes do alimento:\n" + e.getMessage(), "Erro de Banco de Dados", JOptionPane.ERROR_MESSAGE);
+                telaMenu.getTxtOutputInfoAlimento().setText("Erro ao buscar dados.");
+            },
+            telaMenu.getBtBuscaInfo());
     }
 
 
     // --- Métodos para a Aba Avaliar Pedidos ---
 
     /**
-     * Busca os pedidos do usuário logado, incluindo seus itens,
-     * e preenche o JTextArea txtOutputTodosPedidos.
-     */
-    /**
-     * Busca os pedidos do usuário logado, incluindo seus itens (com ID),
-     * e preenche o JTextArea txtOutputTodosPedidos.
+     * Busca a primeira página (os pedidos mais recentes) do histórico do usuário logado, incluindo
+     * os itens (com ID), e preenche o modelo das tabelas de pedidos (abas de avaliação e de edição).
+     * As páginas mais antigas são buscadas quando o usuário rola até perto do fim
+     * (ver {@link #adicionarListenerRolagemHistorico()}), de modo que o tempo de resposta não
+     * depende do tamanho do histórico. Cada página aparece em partes, à medida que os pedidos chegam
+     * do banco (ver {@link MontagemHistorico}).
+     * Ao recarregar, as linhas são substituídas posição a posição: só os pedidos que mudaram são
+     * redesenhados (ex.: o recém-avaliado) e as linhas além da primeira página são removidas no fim.
+     * Se for chamado de novo antes de terminar, a carga anterior (de qualquer página) é cancelada.
      */
     public void carregarPedidosUsuario() {
-        Connection conn = null;
-        ResultSet resPedidos = null;
-        PreparedStatement stmtPedidos = null;
-        PedidoDAO dao = null;
-
+        ultimoPedidoHistorico = null;
+        carregandoHistorico = false;
+        posicaoHistorico = 0;
         if (usuarioLogado == null) {
-            telaMenu.getTxtOutputTodosPedidos().setText("Nenhum usuário logado.");
-            // *** Atualiza também o outro campo de texto ***
-            if (telaMenu.getTxtOutputTodosPedidos1() != null) {
-                telaMenu.getTxtOutputTodosPedidos1().setText("Nenhum usuário logado.");
-            }
+            historicoCompleto = true;
+            telaMenu.getModeloHistorico().truncar(0);
             return;
         }
+        historicoCompleto = false;
+        carregarPaginaHistorico(null);
+    }
 
-        // *** Pega o nome do usuário para o cabeçalho ***
-        String nomeUsuario = (usuarioLogado.getNome() != null && !usuarioLogado.getNome().isEmpty())
-                             ? usuarioLogado.getNome()
-                             : "Usuário"; // Fallback se o nome for nulo ou vazio
-        StringBuilder pedidosTexto = new StringBuilder("--- SEUS PEDIDOS, " + nomeUsuario + " ---\n");
-
+    /**
+     * Busca a página seguinte do histórico e acrescenta às tabelas, se ainda houver páginas
+     * e nenhuma estiver sendo carregada.
+     */
+    private void carregarProximaPaginaHistorico() {
+        if (carregandoHistorico || historicoCompleto || ultimoPedidoHistorico == null) {
+            return;
+        }
+        carregarPaginaHistorico(ultimoPedidoHistorico);
+    }
 
-        try {
-            Conexao conexao = new Conexao();
-            conn = conexao.getConnection();
-            dao = new PedidoDAO(conn);
-
-            resPedidos = dao.listarPedidosPorUsuario(usuarioLogado.getId());
-            if (resPedidos != null) {
-                 stmtPedidos = (PreparedStatement) resPedidos.getStatement(); // Cast explícito
-            } else {
-                 throw new SQLException("Falha ao obter ResultSet de listarPedidosPorUsuario.");
-            }
+    /**
+     * @param aposPedido Último pedido já exibido, ou null para a primeira página.
+     */
+    private void carregarPaginaHistorico(PedidoHistorico aposPedido) {
+        int idUsuario = usuarioLogado.getId();
+
+        carregandoHistorico = true;
+        // Mesmo tipo para todas as páginas: recarregar o histórico cancela uma página seguinte em andamento
+        agendador.executar("historico",
+            contexto -> {
+                MontagemHistorico montagem = new MontagemHistorico(contexto);
+                int lidos = new PedidoService(contexto::getConexao)
+                        .percorrerHistoricoPagina(idUsuario, aposPedido, TAMANHO_PAGINA_HISTORICO, montagem);
+                montagem.concluir();
+                PedidoHistorico ultimo = montagem.ultimo != null ? montagem.ultimo : aposPedido;
+                return new PaginaHistorico(ultimo, lidos < TAMANHO_PAGINA_HISTORICO);
+            },
+            pagina -> {
+                // As partes já foram colocadas no modelo (chegam antes da conclusão)
+                carregandoHistorico = false;
+                ultimoPedidoHistorico = pagina.ultimo();
+                historicoCompleto = pagina.completa();
+                if (aposPedido == null) {
+                    telaMenu.getModeloHistorico().truncar(posicaoHistorico); // Sobras de uma exibição anterior
+                }
+            },
+            e -> {
+                carregandoHistorico = false;
+                historicoCompleto = true; // Não tenta de novo a cada rolagem; recarregar recomeça do início
+                JOptionPane.showMessageDialog(telaMenu, "Erro ao carregar pedidos:\n" + e.getMessage(), "Erro de Banco de Dados", JOptionPane.ERROR_MESSAGE);
+            });
+    }
 
-            boolean encontrouPedidos = false;
-            while (resPedidos.next()) {
-                encontrouPedidos = true;
-                int idPedido = resPedidos.getInt("id_pedido");
-                Timestamp ts = resPedidos.getTimestamp("data_hora");
-                LocalDateTime dataHora = (ts != null) ? ts.toLocalDateTime() : null;
-                int avaliacaoInt = resPedidos.getInt("avaliacao");
-                boolean avaliacaoEraNull = resPedidos.wasNull();
-                String avaliacaoStr = avaliacaoEraNull ? "N/A" : String.valueOf(avaliacaoInt);
-
-                pedidosTexto.append("\n------------------------------------------\n");
-                pedidosTexto.append(String.format("Pedido ID: %d | Data: %s | Avaliação: %s\n",
-                        idPedido,
-                        (dataHora != null ? dataHora.format(formatter) : "N/A"),
-                        avaliacaoStr));
-                pedidosTexto.append("Itens:\n");
+    /**
+     * Coloca no modelo uma parte do histórico publicada pela tarefa de carga (EDT).
+     */
+    private void exibirParteHistorico(List<PedidoHistorico> parte) {
+        posicaoHistorico = telaMenu.getModeloHistorico().colocar(posicaoHistorico, parte);
+    }
 
-                try {
-                     // *** Chama o novo método DAO ***
-                     Map<Integer, Map<String, Object>> itens = dao.listarItensPorPedidoComId(idPedido);
-                     if (itens.isEmpty()) {
-                         pedidosTexto.append("  (Nenhum item encontrado)\n");
-                     } else {
-                         // *** Itera sobre o novo Map e formata a string com ID ***
-                         for (Map.Entry<Integer, Map<String, Object>> entry : itens.entrySet()) {
-                             int idAlimento = entry.getKey();
-                             Map<String, Object> detalhes = entry.getValue();
-                             String nomeAlimento = (String) detalhes.get("nome");
-                             int quantidade = (Integer) detalhes.get("quantidade");
-                             pedidosTexto.append(String.format("  - ID %d: %dx %s\n", idAlimento, quantidade, nomeAlimento));
-                         }
-                     }
-                } catch (SQLException eItens) {
-                     System.err.println("Erro ao buscar itens para o pedido ID " + idPedido + ": " + eItens.getMessage());
-                     pedidosTexto.append("  (Erro ao buscar itens)\n");
-                }
-            }
+    /**
+     * Recebe os pedidos de uma página à medida que chegam do banco (fora da EDT) e os publica em
+     * partes: a primeira logo após o primeiro pedido, as seguintes a cada INTERVALO_PARTE_NANOS.
+     * Só os pedidos ainda não publicados ficam acumulados aqui.
+     */
+    private final class MontagemHistorico implements Consumer<PedidoHistorico> {
+        private final AgendadorTarefas.ContextoTarefa contexto;
+        private List<PedidoHistorico> parte = new ArrayList<>();
+        private boolean publicou;
+        private long ultimaPublicacao;
+        private PedidoHistorico ultimo;
+
+        MontagemHistorico(AgendadorTarefas.ContextoTarefa contexto) {
+            this.contexto = contexto;
+        }
 
-            if (!encontrouPedidos) {
-                pedidosTexto.append("(Nenhum pedido encontrado para este usuário)\n");
+        @Override
+        public void accept(PedidoHistorico pedido) {
+            parte.add(pedido);
+            ultimo = pedido;
+            long agora = System.nanoTime();
+            if (!publicou || agora - ultimaPublicacao >= INTERVALO_PARTE_NANOS) {
+                publicar();
+                ultimaPublicacao = agora;
             }
+        }
 
-            // *** Define o texto em AMBOS os JTextAreas ***
-            telaMenu.getTxtOutputTodosPedidos().setText(pedidosTexto.toString());
-            if (telaMenu.getTxtOutputTodosPedidos1() != null) { // Verifica se o getter existe
-                telaMenu.getTxtOutputTodosPedidos1().setText(pedidosTexto.toString());
-            } else {
-                System.err.println("AVISO: JTextArea txtOutputTodosPedidos1 não encontrado ou sem getter na tela Menu.");
+        /**
+         * Publica o que restou da página.
+         */
+        void concluir() {
+            if (!parte.isEmpty()) {
+                publicar();
             }
+        }
 
-
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(telaMenu, "Erro ao carregar pedidos:\n" + e.getMessage(), "Erro de Banco de Dados", JOptionPane.ERROR_MESSAGE);
-        } finally {
-            try {
-                if (resPedidos != null) resPedidos.close();
-                if (stmtPedidos != null) stmtPedidos.close();
-                if (conn != null) conn.close();
-            } catch (SQLException e) {
-                System.err.println("Erro ao fechar recursos do banco (Pedidos): " + e.getMessage());
-            }
+        private void publicar() {
+            contexto.publicar(parte, ControleMenu.this::exibirParteHistorico);
+            parte = new ArrayList<>(); // A lista publicada passa a ser da EDT
+            publicou = true;
         }
     }
 
+    /**
+     * Resultado da carga de uma página do histórico (os pedidos já foram publicados em partes).
+     * @param ultimo Último pedido exibido até agora (início da próxima página).
+     * @param completa true se não há pedidos mais antigos a buscar.
+     */
+    private record PaginaHistorico(PedidoHistorico ultimo, boolean completa) {
+    }
+
      /**
      * Pega o ID do pedido e a nota do slider e chama o DAO para avaliar.
      * Mostra pop-up de erro se o ID for inválido.
@@ -272,51 +272,30 @@ public class ControleMenu {
             return;
         }
 
-        Connection conn = null;
-        try {
-            Conexao conexao = new Conexao();
-            conn = conexao.getConnection();
-            conn.setAutoCommit(false); // Inicia transação
-            PedidoDAO pedidoDAO = new PedidoDAO(conn);
-
-            pedidoDAO.avaliarPedido(idPedido, nota); // Tenta avaliar
-
-            conn.commit(); // Confirma a transação
-
-            JOptionPane.showMessageDialog(telaMenu, "Pedido ID " + idPedido + " avaliado com nota " + nota + "!", "Sucesso", JOptionPane.INFORMATION_MESSAGE);
-
-            telaMenu.getTxtInputIDpedido().setText("");
-            telaMenu.getTxtOutputNota().setText("Nota: " + telaMenu.getSliderInputNota().getValue());
-            carregarPedidosUsuario(); // Recarrega a lista
-
-        } catch (SQLException ex) {
-            // Trata o erro específico de ID não encontrado
-            if (ex.getMessage().contains("não encontrado para avaliação")) {
-                 JOptionPane.showMessageDialog(telaMenu, "ID de Pedido inválido ou não pertence a você.", "Erro de Avaliação", JOptionPane.ERROR_MESSAGE);
-            } else {
-                // Outros erros SQL
-                JOptionPane.showMessageDialog(telaMenu, "Erro ao avaliar pedido no banco:\n" + ex.getMessage(), "Erro de Banco de Dados", JOptionPane.ERROR_MESSAGE);
-            }
-            // Reverte a transação
-            if (conn != null) {
-                try { conn.rollback(); } catch (SQLException rbEx) { System.err.println("Erro ao reverter transação: " + rbEx.getMessage()); }
-            }
-        } catch (IllegalArgumentException ex) { // Erro de nota fora do intervalo (0-5)
-            JOptionPane.showMessageDialog(telaMenu, ex.getMessage(), "Erro de Avaliação", JOptionPane.ERROR_MESSAGE);
-             if (conn != null) { // Reverte
-                try { conn.rollback(); } catch (SQLException rbEx) { System.err.println("Erro ao reverter transação: " + rbEx.getMessage()); }
-            }
-        } finally {
-             // Fecha conexão e restaura autoCommit
-            if (conn != null) {
-                try {
-                    conn.setAutoCommit(true);
-                    conn.close();
-                } catch (SQLException e) {
-                    System.err.println("Erro ao fechar conexão (Avaliação): " + e.getMessage());
+        agendador.executarExclusiva("avaliarPedido",
+            contexto -> {
+                new PedidoService(contexto::getConexao).avaliarPedido(idPedido, nota);
+                return null;
+            },
+            nada -> {
+                JOptionPane.showMessageDialog(telaMenu, "Pedido ID " + idPedido + " avaliado com nota " + nota + "!", "Sucesso", JOptionPane.INFORMATION_MESSAGE);
+
+                telaMenu.getTxtInputIDpedido().setText("");
+                telaMenu.getTxtOutputNota().setText("Nota: " + telaMenu.getSliderInputNota().getValue());
+                carregarPedidosUsuario(); // Recarrega a lista
+            },
+            ex -> {
+                if (ex instanceof IllegalArgumentException) { // Erro de nota fora do intervalo (0-5)
+                    JOptionPane.showMessageDialog(telaMenu, ex.getMessage(), "Erro de Avaliação", JOptionPane.ERROR_MESSAGE);
+                } else if (ex.getMessage() != null && ex.getMessage().contains("não encontrado para avaliação")) {
+                    // Trata o erro específico de ID não encontrado
+                    JOptionPane.showMessageDialog(telaMenu, "ID de Pedido inválido ou não pertence a você.", "Erro de Avaliação", JOptionPane.ERROR_MESSAGE);
+                } else {
+                    // Outros erros SQL
+                    JOptionPane.showMessageDialog(telaMenu, "Erro ao avaliar pedido no banco:\n" + ex.getMessage(), "Erro de Banco de Dados", JOptionPane.ERROR_MESSAGE);
                 }
-            }
-        }
+            },
+            telaMenu.getBtAvaliaPedido());
     }
 
 
@@ -343,33 +322,32 @@ public class ControleMenu {
             JOptionPane.showMessageDialog(telaMenu, "ID do Alimento e Quantidade devem ser números válidos.", "Erro de Entrada", JOptionPane.ERROR_MESSAGE);
             return;
         }
-
-        Connection conn = null;
-        try {
-            Conexao conexao = new Conexao();
-            conn = conexao.getConnection();
-            AlimentoDAO alimentoDAO = new AlimentoDAO(conn);
-
-            Alimento alimentoParaAdicionar = alimentoDAO.buscarAlimentoPorId(idAlimento);
-
-            if (alimentoParaAdicionar != null) {
-                pedidoAtual.adicionarItem(alimentoParaAdicionar, quantidade);
-                atualizarOutputPedidoAtual();
-                telaMenu.getTxtInputIDalimentoPedido().setText("");
-                telaMenu.getTxtInputQuantidadeAlimento().setText("");
-            } else {
-                JOptionPane.showMessageDialog(telaMenu, "Alimento com ID " + idAlimento + " não encontrado.", "Erro", JOptionPane.ERROR_MESSAGE);
-            }
-
-        } catch (SQLException ex) {
-            JOptionPane.showMessageDialog(telaMenu, "Erro ao buscar alimento no banco:\n" + ex.getMessage(), "Erro de Banco de Dados", JOptionPane.ERROR_MESSAGE);
-        } catch (IllegalArgumentException ex) {
-             JOptionPane.showMessageDialog(telaMenu, ex.getMessage(), "Erro ao Adicionar Item", JOptionPane.ERROR_MESSAGE);
-        } finally {
-            if (conn != null) {
-                try { conn.close(); } catch (SQLException e) { System.err.println("Erro ao fechar conexão (Adicionar Item): " + e.getMessage()); }
-            }
+        if (agendador.isEmAndamento("fazerPedido")) {
+            // O pedidoAtual é trocado por um vazio quando o envio termina: o item se perderia
+            JOptionPane.showMessageDialog(telaMenu, "Aguarde o envio do pedido atual terminar.", "Pedido em Envio", JOptionPane.INFORMATION_MESSAGE);
+            return;
         }
+
+        // Consulta em memória: o catálogo só vai ao banco na primeira carga
+        agendador.executarExclusiva("adicionarItem",
+            contexto -> CatalogoService.getInstancia().buscarAlimentoPorId(idAlimento),
+            alimentoParaAdicionar -> {
+                if (alimentoParaAdicionar == null) {
+                    JOptionPane.showMessageDialog(telaMenu, "Alimento com ID " + idAlimento + " não encontrado.", "Erro", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+                try {
+                    // O pedidoAtual só é alterado aqui, na EDT
+                    pedidoAtual.adicionarItem(alimentoParaAdicionar, quantidade);
+                    atualizarOutputPedidoAtual();
+                    telaMenu.getTxtInputIDalimentoPedido().setText("");
+                    telaMenu.getTxtInputQuantidadeAlimento().setText("");
+                } catch (IllegalArgumentException ex) {
+                    JOptionPane.showMessageDialog(telaMenu, ex.getMessage(), "Erro ao Adicionar Item", JOptionPane.ERROR_MESSAGE);
+                }
+            },
+            ex -> JOptionPane.showMessageDialog(telaMenu, "Erro ao buscar alimento no banco:\n" + ex.getMessage(), "Erro de Banco de Dados", JOptionPane.ERROR_MESSAGE),
+            telaMenu.getBtAdicionarAlimentoPedido());
     }
 
     /**
@@ -386,16 +364,7 @@ public class ControleMenu {
             return;
         }
 
-        Alimento alimentoParaRemover = null;
-        for (Alimento alim : pedidoAtual.getItens().keySet()) {
-            if (alim.getId() == idAlimento) {
-                alimentoParaRemover = alim;
-                break;
-            }
-        }
-
-        if (alimentoParaRemover != null) {
-            pedidoAtual.removerItem(alimentoParaRemover);
+        if (pedidoAtual.removerItem(idAlimento)) {
             atualizarOutputPedidoAtual();
             telaMenu.getTxtInputIDalimentoPedido().setText("");
             telaMenu.getTxtInputQuantidadeAlimento().setText("");
@@ -404,44 +373,24 @@ public class ControleMenu {
         }
     }
 
-     /**
-     * Atualiza o JTextArea txtOutputItensPedido com os itens do pedidoAtual.
-     * (Assume getter getTxtOutputItensPedido() na view Menu.java)
+    /**
+     * Atualiza a tabela do pedido atual (aba Fazer Pedido) com os itens e os valores do pedidoAtual.
+     * O modelo avisa a tabela só das linhas alteradas (o item mexido e o resumo).
      */
     private void atualizarOutputPedidoAtual() {
-        StringBuilder itensTexto = new StringBuilder("--- Pedido Atual ---\n");
-        Map<Alimento, Integer> itens = pedidoAtual.getItens();
-
-        if (itens.isEmpty()) {
-            itensTexto.append("(Vazio)\n");
-        } else {
-            for (Map.Entry<Alimento, Integer> entry : itens.entrySet()) {
-                Alimento alim = entry.getKey();
-                int qtd = entry.getValue();
-                itensTexto.append(String.format("%dx %s (R$ %.2f)\n", qtd, alim.getNome(), alim.getPreco()));
-            }
-        }
-
-        itensTexto.append("--------------------\n");
-        itensTexto.append(String.format("Total: R$ %.2f\n", pedidoAtual.calcularTotal()));
-
-        // Usa o getter correspondente ao JTextArea da aba "Fazer Pedido"
-        if (telaMenu.getTxtOutputItensPedido() != null) {
-            telaMenu.getTxtOutputItensPedido().setText(itensTexto.toString());
-        } else {
-             System.err.println("AVISO: JTextArea para itens do pedido atual (getTxtOutputItensPedido) não encontrado ou sem getter na tela Menu.");
-        }
+        telaMenu.getModeloItensPedido().sincronizar(pedidoAtual);
     }
-    
+
     /**
      * Pega o pedidoAtual, verifica se tem itens, e o salva no banco de dados.
      * Após salvar, reinicia o pedidoAtual para um novo pedido vazio.
      * Atualiza a lista de pedidos do usuário.
      * Este método será chamado pelo ActionListener do botão "FAZER PEDIDO".
+     * Enquanto o pedido é gravado, os botões que alteram o pedido ficam bloqueados.
      */
     public void fazerPedido() {
         // Verifica se há itens no pedido atual
-        if (pedidoAtual == null || pedidoAtual.getItens().isEmpty()) {
+        if (pedidoAtual == null || pedidoAtual.isVazio()) {
             JOptionPane.showMessageDialog(telaMenu, "Adicione pelo menos um item ao pedido antes de finalizá-lo.", "Pedido Vazio", JOptionPane.WARNING_MESSAGE);
             return;
         }
@@ -451,53 +400,36 @@ public class ControleMenu {
              JOptionPane.showMessageDialog(telaMenu, "Erro: Usuário não está logado corretamente.", "Erro de Usuário", JOptionPane.ERROR_MESSAGE);
              return;
         }
+        if (agendador.isEmAndamento("adicionarItem")) {
+            // O item ainda em busca entraria no pedidoAtual depois do envio e seria descartado
+            JOptionPane.showMessageDialog(telaMenu, "Aguarde o item terminar de ser adicionado ao pedido.", "Item em Andamento", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
         // Garante que o pedidoAtual está associado ao usuário correto
         pedidoAtual.setUsuario(usuarioLogado);
-
-        Connection conn = null;
-        try {
-            Conexao conexao = new Conexao();
-            conn = conexao.getConnection();
-            // *** Iniciar Transação ***
-            conn.setAutoCommit(false);
-
-            PedidoDAO pedidoDAO = new PedidoDAO(conn);
-            int idNovoPedido = pedidoDAO.criarPedido(pedidoAtual); // Chama o método DAO para inserir
-
-            // *** Confirmar Transação ***
-            conn.commit();
-
-            JOptionPane.showMessageDialog(telaMenu, "Pedido nº " + idNovoPedido + " realizado com sucesso!", "Pedido Enviado", JOptionPane.INFORMATION_MESSAGE);
-
-            // Reinicia o pedidoAtual para um novo pedido vazio
-            pedidoAtual = new Pedido(usuarioLogado);
-            atualizarOutputPedidoAtual(); // Atualiza a exibição do pedido atual (agora vazio)
-            carregarPedidosUsuario(); // Recarrega a lista na aba de avaliação para incluir o novo pedido
-
-        } catch (SQLException ex) {
-            JOptionPane.showMessageDialog(telaMenu, "Erro ao salvar o pedido no banco:\n" + ex.getMessage(), "Erro de Banco de Dados", JOptionPane.ERROR_MESSAGE);
-            // Tenta reverter a transação em caso de erro
-            if (conn != null) {
-                try { conn.rollback(); } catch (SQLException rbEx) { System.err.println("Erro ao reverter transação: " + rbEx.getMessage()); }
-            }
-        } catch (IllegalArgumentException ex) { // Captura erro do DAO (ex: usuário inválido)
-             JOptionPane.showMessageDialog(telaMenu, ex.getMessage(), "Erro ao Criar Pedido", JOptionPane.ERROR_MESSAGE);
-              if (conn != null) { // Tenta reverter
-                try { conn.rollback(); } catch (SQLException rbEx) { System.err.println("Erro ao reverter transação: " + rbEx.getMessage()); }
-            }
-        } finally {
-             // Garante que a conexão seja fechada e autoCommit restaurado
-            if (conn != null) {
-                try {
-                    conn.setAutoCommit(true); // Restaura modo padrão
-                    conn.close();
-                } catch (SQLException e) {
-                    System.err.println("Erro ao fechar conexão (Fazer Pedido): " + e.getMessage());
+        // O trabalho recebe uma cópia: o pedidoAtual só é lido e alterado na EDT
+        Pedido pedidoEnviado = pedidoAtual.copiar();
+
+        agendador.executarExclusiva("fazerPedido",
+            contexto -> new PedidoService(contexto::getConexao).fazerPedido(pedidoEnviado),
+            idNovoPedido -> {
+                JOptionPane.showMessageDialog(telaMenu, "Pedido nº " + idNovoPedido + " realizado com sucesso!", "Pedido Enviado", JOptionPane.INFORMATION_MESSAGE);
+
+                // Reinicia o pedidoAtual para um novo pedido vazio
+                pedidoAtual = new Pedido(usuarioLogado);
+                atualizarOutputPedidoAtual(); // Atualiza a exibição do pedido atual (agora vazio)
+                carregarPedidosUsuario(); // Recarrega a lista na aba de avaliação para incluir o novo pedido
+            },
+            ex -> {
+                if (ex instanceof IllegalArgumentException) { // Captura erro do DAO (ex: usuário inválido)
+                    JOptionPane.showMessageDialog(telaMenu, ex.getMessage(), "Erro ao Criar Pedido", JOptionPane.ERROR_MESSAGE);
+                } else {
+                    JOptionPane.showMessageDialog(telaMenu, "Erro ao salvar o pedido no banco:\n" + ex.getMessage(), "Erro de Banco de Dados", JOptionPane.ERROR_MESSAGE);
                 }
-            }
-        }
+            },
+            telaMenu.getBtFazerPedido(), telaMenu.getBtAdicionarAlimentoPedido(), telaMenu.getBtRemoveAlimentoPedido());
     }
-    
+
     /**
      * Pega o ID do pedido informado na aba "Editar || Excluir Pedido",
      * pede confirmação ao usuário e chama o DAO para excluir o pedido.
@@ -510,7 +442,7 @@ public class ControleMenu {
         if (telaMenu.getTxtInputExcPedido() != null) {
              idPedidoTexto = telaMenu.getTxtInputExcPedido().getText();
         } else {
-             System.err.println("AVISO: Campo de texto para ID de exclusão (getTxtInputExcPedido) não encontrado ou sem getter na tela Menu.");
+             LOG.aviso("Componente não encontrado na tela Menu", "componente", "txtInputExcPedido");
              JOptionPane.showMessageDialog(telaMenu, "Erro interno: Campo de ID para exclusão não encontrado.", "Erro de Interface", JOptionPane.ERROR_MESSAGE);
              return;
         }
@@ -536,51 +468,25 @@ public class ControleMenu {
             return; // Usuário cancelou
         }
 
-        Connection conn = null;
-        boolean excluidoComSucesso = false; // Flag para controlar o resultado
-        try {
-            Conexao conexao = new Conexao();
-            conn = conexao.getConnection();
-            conn.setAutoCommit(false); // Inicia transação
-
-            PedidoDAO pedidoDAO = new PedidoDAO(conn);
-            // Chama o método excluirPedido e guarda o resultado
-            excluidoComSucesso = pedidoDAO.excluirPedido(idPedido);
-
-            // *** Verifica o resultado antes de commitar ***
-            if (excluidoComSucesso) {
-                conn.commit(); // Confirma a transação apenas se a exclusão ocorreu
-                JOptionPane.showMessageDialog(telaMenu, "Pedido ID " + idPedido + " excluído com sucesso!", "Exclusão Concluída", JOptionPane.INFORMATION_MESSAGE);
-
-                // Limpa o campo e atualiza as listas
-                telaMenu.getTxtInputExcPedido().setText("");
-                carregarPedidosUsuario();
-            } else {
-                // *** ID não encontrado - Reverte (embora DELETE não tenha feito nada) e mostra erro ***
-                 conn.rollback(); // Desfaz a transação (mesmo que vazia)
-                 JOptionPane.showMessageDialog(telaMenu, "Pedido com ID " + idPedido + " não encontrado ou não pertence a você.", "Erro de Exclusão", JOptionPane.ERROR_MESSAGE);
-            }
-
-        } catch (SQLException ex) {
-            JOptionPane.showMessageDialog(telaMenu, "Erro ao excluir pedido no banco:\n" + ex.getMessage(), "Erro de Banco de Dados", JOptionPane.ERROR_MESSAGE);
-            // Tenta reverter a transação
-            if (conn != null) {
-                try { conn.rollback(); } catch (SQLException rbEx) { System.err.println("Erro ao reverter transação: " + rbEx.getMessage()); }
-            }
-        } finally {
-            // Garante que a conexão seja fechada e autoCommit restaurado
-            if (conn != null) {
-                try {
-                    conn.setAutoCommit(true);
-                    conn.close();
-                } catch (SQLException e) {
-                    System.err.println("Erro ao fechar conexão (Excluir Pedido): " + e.getMessage());
+        agendador.executarExclusiva("excluirPedido",
+            contexto -> new PedidoService(contexto::getConexao).excluirPedido(idPedido),
+            excluidoComSucesso -> {
+                if (excluidoComSucesso) {
+                    JOptionPane.showMessageDialog(telaMenu, "Pedido ID " + idPedido + " excluído com sucesso!", "Exclusão Concluída", JOptionPane.INFORMATION_MESSAGE);
+
+                    // Limpa o campo e atualiza as listas
+                    telaMenu.getTxtInputExcPedido().setText("");
+                    carregarPedidosUsuario();
+                } else {
+                    // *** ID não encontrado ***
+                    JOptionPane.showMessageDialog(telaMenu, "Pedido com ID " + idPedido + " não encontrado ou não pertence a você.", "Erro de Exclusão", JOptionPane.ERROR_MESSAGE);
                 }
-            }
-        }
+            },
+            ex -> JOptionPane.showMessageDialog(telaMenu, "Erro ao excluir pedido no banco:\n" + ex.getMessage(), "Erro de Banco de Dados", JOptionPane.ERROR_MESSAGE),
+            telaMenu.getBtExcluiPedido());
     }
-    
-    
+
+
     /**
      * Pega o ID do pedido, o ID do alimento e a nova quantidade informados
      * na aba "Editar || Excluir Pedido" e chama o DAO para atualizar
@@ -620,53 +526,33 @@ public class ControleMenu {
             return;
         }
 
-        Connection conn = null;
-        try {
-            Conexao conexao = new Conexao();
-            conn = conexao.getConnection();
-            conn.setAutoCommit(false); // Inicia transação
-            PedidoDAO pedidoDAO = new PedidoDAO(conn);
-
-            // *** NOVA VERIFICAÇÃO: Se a intenção é remover (qtd <= 0) ***
-            if (novaQuantidade <= 0) {
-                boolean itemExiste = pedidoDAO.verificarItemExisteNoPedido(idPedido, idAlimento);
-                if (!itemExiste) {
-                    // Se o item não existe, mostra erro e NÃO prossegue
-                    conn.rollback(); // Desfaz a transação (vazia)
+        agendador.executarExclusiva("editarItem",
+            contexto -> new PedidoService(contexto::getConexao).editarItemPedido(idPedido, idAlimento, novaQuantidade),
+            alterado -> {
+                if (!alterado) {
                     JOptionPane.showMessageDialog(telaMenu,
                         "Item (ID Alimento: " + idAlimento + ") não encontrado no Pedido ID " + idPedido + " para remover.",
                         "Erro de Edição", JOptionPane.ERROR_MESSAGE);
-                    return; // Interrompe a execução do método
+                    return;
                 }
-                // Se o item existe, a execução continua para chamar adicionarOuAtualizarItemPedido
-            }
-
-            // Chama o método DAO para adicionar ou atualizar (ou remover se qtd <= 0 e passou na verificação)
-            pedidoDAO.adicionarOuAtualizarItemPedido(idPedido, idAlimento, novaQuantidade);
 
-            conn.commit(); // Confirma a transação
-
-            // Feedback ao usuário (igual a antes)
-            if (novaQuantidade > 0) {
-                JOptionPane.showMessageDialog(telaMenu, "Item (ID Alimento: " + idAlimento + ") no Pedido ID " + idPedido + " atualizado para quantidade " + novaQuantidade + ".", "Edição Concluída", JOptionPane.INFORMATION_MESSAGE);
-            } else {
-                JOptionPane.showMessageDialog(telaMenu, "Item (ID Alimento: " + idAlimento + ") removido do Pedido ID " + idPedido + ".", "Item Removido", JOptionPane.INFORMATION_MESSAGE);
-            }
+                // Feedback ao usuário (igual a antes)
+                if (novaQuantidade > 0) {
+                    JOptionPane.showMessageDialog(telaMenu, "Item (ID Alimento: " + idAlimento + ") no Pedido ID " + idPedido + " atualizado para quantidade " + novaQuantidade + ".", "Edição Concluída", JOptionPane.INFORMATION_MESSAGE);
+                } else {
+                    JOptionPane.showMessageDialog(telaMenu, "Item (ID Alimento: " + idAlimento + ") removido do Pedido ID " + idPedido + ".", "Item Removido", JOptionPane.INFORMATION_MESSAGE);
+                }
 
-            // Limpa os campos e atualiza as listas (igual a antes)
-            telaMenu.getTxtInputEditPedido().setText("");
-            telaMenu.getTxtInputIDEditAlimentoPedido().setText("");
-            telaMenu.getTxtInputQtdAlimento().setText("");
-            carregarPedidosUsuario();
-
-        } catch (SQLException ex) {
-            JOptionPane.showMessageDialog(telaMenu, "Erro ao editar item do pedido no banco:\n" + ex.getMessage(), "Erro de Banco de Dados", JOptionPane.ERROR_MESSAGE);
-            if (conn != null) { try { conn.rollback(); } catch (SQLException rbEx) { /*...*/ } }
-        } finally {
-            if (conn != null) { try { conn.setAutoCommit(true); conn.close(); } catch (SQLException e) { /*...*/ } }
-        }
+                // Limpa os campos e atualiza as listas (igual a antes)
+                telaMenu.getTxtInputEditPedido().setText("");
+                telaMenu.getTxtInputIDEditAlimentoPedido().setText("");
+                telaMenu.getTxtInputQtdAlimento().setText("");
+                carregarPedidosUsuario();
+            },
+            ex -> JOptionPane.showMessageDialog(telaMenu, "Erro ao editar item do pedido no banco:\n" + ex.getMessage(), "Erro de Banco de Dados", JOptionPane.ERROR_MESSAGE),
+            telaMenu.getBtEditaPedido());
     }
-    
+
     // --- Métodos Auxiliares para Adicionar Listeners ---
 
     /**
@@ -688,7 +574,29 @@ public class ControleMenu {
                telaMenu.getTxtOutputNota().setText("Nota: " + telaMenu.getSliderInputNota().getValue());
             }
         } else {
-             System.err.println("AVISO: Slider de nota não encontrado na tela Menu.");
+             LOG.aviso("Componente não encontrado na tela Menu", "componente", "sliderInputNota");
+        }
+    }
+
+    /**
+     * Busca a próxima página do histórico quando a rolagem de qualquer das duas tabelas chega a
+     * menos de uma tela do fim. O listener também é chamado quando linhas são acrescentadas ou a aba
+     * passa a ser exibida, o que cobre uma primeira página que não chega a encher a área.
+     */
+    private void adicionarListenerRolagemHistorico() {
+        for (JTable tabela : new JTable[]{telaMenu.getTabelaTodosPedidos(), telaMenu.getTabelaTodosPedidos1()}) {
+            JScrollPane painel = (JScrollPane) SwingUtilities.getAncestorOfClass(JScrollPane.class, tabela);
+            if (painel == null) {
+                LOG.aviso("Tabela de pedidos fora de um JScrollPane", "tabela", tabela.getName());
+                continue;
+            }
+            JScrollBar barra = painel.getVerticalScrollBar();
+            barra.addAdjustmentListener(e -> {
+                // Aba oculta tem tamanho zero e pareceria estar sempre no fim
+                if (painel.isShowing() && barra.getValue() + 2 * barra.getVisibleAmount() >= barra.getMaximum()) {
+                    carregarProximaPaginaHistorico();
+                }
+            });
         }
     }
-}
\ No newline at end of file
+}
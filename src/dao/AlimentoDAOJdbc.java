@@ -0,0 +1,174 @@
+package dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import model.Alimento;
+import model.Bebida; 
+import model.Comida; 
+import model.Dinheiro;
+import model.Estabelecimento; 
+
+public class AlimentoDAOJdbc implements AlimentoDAO {
+
+    private Connection conn;
+
+    public AlimentoDAOJdbc(Connection conn) {
+        this.conn = conn;
+    }
+
+    /**
+     * Percorre o ID e o Nome de todos os alimentos cadastrados, ordenados por nome, entregando
+     * cada linha ao consumidor sem montar lista. Statement e ResultSet são fechados ao final.
+     * Colunas da linha: id_alimento, nome.
+     * @param tamanhoLote Linhas trazidas do banco por vez (0 = todas de uma vez).
+     * @param mapeador Converte cada linha.
+     * @param consumidor Recebe cada linha convertida, na ordem.
+     * @return Quantidade de alimentos percorridos.
+     * @throws SQLException Se ocorrer um erro no banco.
+     */
+    public <T> long percorrerTodosResumido(int tamanhoLote, MapeadorLinha<T> mapeador,
+                                           Consumer<? super T> consumidor) throws SQLException {
+        String sql = "SELECT id_alimento, nome FROM Alimento ORDER BY nome";
+        return ConsultaJdbc.percorrer(conn, sql, ConsultaJdbc.Parametros.NENHUM, tamanhoLote, mapeador, consumidor);
+    }
+
+    /**
+     * Como {@link #percorrerTodosResumido(int, MapeadorLinha, Consumer)}, com o tamanho de lote padrão
+     * (-Dfeifood.jdbc.tamanhoLote).
+     */
+    public <T> long percorrerTodosResumido(MapeadorLinha<T> mapeador, Consumer<? super T> consumidor) throws SQLException {
+        return percorrerTodosResumido(ConsultaJdbc.TAMANHO_LOTE_PADRAO, mapeador, consumidor);
+    }
+
+    /**
+     * Busca todos os detalhes de um alimento específico pelo ID para exibição.
+     * Inclui o nome do estabelecimento associado.
+     * Colunas da linha: id_alimento, nome, descricao, preco, tipo_alimento, percentual_imposto, nome_estabelecimento.
+     * @param id O ID do alimento a ser buscado.
+     * @param mapeador Converte a linha encontrada.
+     * @return A linha mapeada, ou null se o alimento não existir.
+     * @throws SQLException Se ocorrer um erro no banco.
+     */
+    public <T> T buscarPorIdDetalhado(int id, MapeadorLinha<T> mapeador) throws SQLException {
+        // SQL com JOIN para buscar o nome do estabelecimento
+        String sql = "SELECT a.id_alimento, a.nome, a.descricao, a.preco, a.tipo_alimento, a.percentual_imposto, e.nome AS nome_estabelecimento " +
+                     "FROM Alimento a " +
+                     "JOIN Estabelecimento e ON a.id_estabelecimento = e.id_estabelecimento " +
+                     "WHERE a.id_alimento = ?";
+        return ConsultaJdbc.buscarUm(conn, sql, st -> st.setInt(1, id), mapeador);
+    }
+
+    /**
+     * Busca um Alimento pelo seu ID e retorna o objeto correspondente (Comida ou Bebida).
+     * Inclui o Estabelecimento associado.
+     *
+     * @param id O ID do alimento a ser buscado.
+     * @return O objeto Alimento (Comida ou Bebida) se encontrado, ou null caso contrário.
+     * @throws SQLException Se ocorrer um erro no banco.
+     */
+    @Override
+    public Alimento buscarAlimentoPorId(int id) throws SQLException {
+        Alimento alimentoEncontrado = null;
+        String sql = "SELECT a.id_alimento, a.nome, a.descricao, a.preco, a.tipo_alimento, a.percentual_imposto, " +
+                     "       e.id_estabelecimento, e.nome AS nome_estabelecimento, e.endereco " +
+                     "FROM Alimento a " +
+                     "JOIN Estabelecimento e ON a.id_estabelecimento = e.id_estabelecimento " +
+                     "WHERE a.id_alimento = ?";
+
+        // try-with-resources garante o fechamento do PreparedStatement e ResultSet
+        try (PreparedStatement statement = conn.prepareStatement(sql)) {
+            statement.setInt(1, id);
+
+            try (ResultSet resultado = statement.executeQuery()) {
+                if (resultado.next()) {
+                    // Estabelecimento
+                    int idEstabelecimento = resultado.getInt("id_estabelecimento");
+                    String nomeEstabelecimento = resultado.getString("nome_estabelecimento");
+                    String enderecoEstabelecimento = resultado.getString("endereco");
+                    Estabelecimento estabelecimento = new Estabelecimento(idEstabelecimento, nomeEstabelecimento, enderecoEstabelecimento);
+
+                    alimentoEncontrado = mapearAlimento(resultado, estabelecimento);
+                }
+            }
+        }
+        return alimentoEncontrado;
+    }
+
+    /**
+     * Carrega todos os alimentos (Comida ou Bebida) com seus Estabelecimentos, ordenados por nome.
+     * Alimentos do mesmo estabelecimento compartilham a mesma instância de Estabelecimento,
+     * que também recebe o alimento em seu cardápio.
+     *
+     * @return Lista com todos os alimentos de tipo conhecido.
+     * @throws SQLException Se ocorrer um erro no banco.
+     */
+    @Override
+    public List<Alimento> listarTodosCompleto() throws SQLException {
+        List<Alimento> alimentos = new ArrayList<>();
+        Map<Integer, Estabelecimento> estabelecimentos = new HashMap<>();
+        String sql = "SELECT a.id_alimento, a.nome, a.descricao, a.preco, a.tipo_alimento, a.percentual_imposto, " +
+                     "       e.id_estabelecimento, e.nome AS nome_estabelecimento, e.endereco " +
+                     "FROM Alimento a " +
+                     "JOIN Estabelecimento e ON a.id_estabelecimento = e.id_estabelecimento " +
+                     "ORDER BY a.nome";
+
+        try (PreparedStatement statement = conn.prepareStatement(sql);
+             ResultSet resultado = statement.executeQuery()) {
+            while (resultado.next()) {
+                int idEstabelecimento = resultado.getInt("id_estabelecimento");
+                Estabelecimento estabelecimento = estabelecimentos.get(idEstabelecimento);
+                if (estabelecimento == null) {
+                    estabelecimento = new Estabelecimento(idEstabelecimento,
+                            resultado.getString("nome_estabelecimento"), resultado.getString("endereco"));
+                    estabelecimentos.put(idEstabelecimento, estabelecimento);
+                }
+
+                Alimento alimento = mapearAlimento(resultado, estabelecimento);
+                if (alimento != null) { // Ignora tipos desconhecidos, como buscarAlimentoPorId
+                    estabelecimento.adicionarAlimento(alimento);
+                    alimentos.add(alimento);
+                }
+            }
+        }
+        // Não feche a conexão conn aqui
+        return alimentos;
+    }
+
+    /**
+     * Cria Comida ou Bebida a partir da linha atual do ResultSet.
+     * @return O alimento, ou null se tipo_alimento não for COMIDA nem BEBIDA.
+     */
+    private Alimento mapearAlimento(ResultSet resultado, Estabelecimento estabelecimento) throws SQLException {
+        int idAlimento = resultado.getInt("id_alimento");
+        String nomeAlimento = NomesAlimento.compartilhar(idAlimento, resultado.getString("nome"));
+        String descricao = resultado.getString("descricao");
+        // NUMERIC lido como texto e convertido direto para centavos, sem passar por double
+        String precoTexto = resultado.getString("preco");
+        long precoCentavos = precoTexto != null ? Dinheiro.paraCentavos(precoTexto) : 0;
+        String tipoAlimento = resultado.getString("tipo_alimento");
+        double percentualImposto = resultado.getDouble("percentual_imposto"); // Pode ser 0 se NULL
+        boolean impostoEraNull = resultado.wasNull();
+
+        // Cria Comida ou Bebida
+        if ("COMIDA".equals(tipoAlimento)) {
+            Comida comida = new Comida(idAlimento, nomeAlimento, descricao, 0, estabelecimento);
+            comida.setPrecoCentavos(precoCentavos);
+            return comida;
+        } else if ("BEBIDA".equals(tipoAlimento)) {
+            // Assume um percentual de álcool se houver imposto (exemplo)
+            double percentualAlcool = (percentualImposto > 0) ? 5.0 : 0.0;
+            Bebida bebida = new Bebida(idAlimento, nomeAlimento, descricao, 0, estabelecimento, percentualAlcool);
+            bebida.setPrecoCentavos(precoCentavos);
+            bebida.setPercentualImposto(impostoEraNull ? null : percentualImposto);
+            return bebida;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,30 @@
+package dao;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import model.Alimento;
+
+/**
+ * AlimentoDAO sobre o {@link MotorMemoria}. Devolve as instâncias cadastradas no motor.
+ */
+public class AlimentoDAOMemoria implements AlimentoDAO {
+
+    private final MotorMemoria motor;
+
+    AlimentoDAOMemoria(MotorMemoria motor) {
+        this.motor = motor;
+    }
+
+    @Override
+    public Alimento buscarAlimentoPorId(int id) {
+        return motor.alimentosPorId.get(id);
+    }
+
+    @Override
+    public List<Alimento> listarTodosCompleto() {
+        List<Alimento> alimentos = new ArrayList<>(motor.alimentosPorId.values());
+        alimentos.sort(Comparator.comparing(Alimento::getNome));
+        return alimentos;
+    }
+}
@@ -0,0 +1,88 @@
+package dao;
+
+import java.sql.Connection;
+import metrics.RegistroMetricas;
+
+/**
+ * Escolha do motor de armazenamento da aplicação.
+ * Por padrão usa o banco (JDBC); com -Dfeifood.armazenamento=memoria a aplicação roda
+ * inteiramente em memória, com um catálogo de demonstração. Benchmarks e testes de carga
+ * podem instalar o próprio motor com {@link #usar(MotorArmazenamento)} antes do primeiro uso.
+ */
+public final class Armazenamento {
+
+    private static volatile MotorArmazenamento motor;
+
+    private Armazenamento() {
+    }
+
+    /**
+     * @return O motor em uso, criado na primeira chamada conforme -Dfeifood.armazenamento.
+     * @throws IllegalStateException Se a propriedade indicar um motor desconhecido.
+     */
+    public static MotorArmazenamento getMotor() {
+        MotorArmazenamento atual = motor;
+        if (atual != null) {
+            return atual;
+        }
+        synchronized (Armazenamento.class) {
+            if (motor == null) {
+                motor = criarMotor(System.getProperty("feifood.armazenamento", "jdbc"));
+            }
+            return motor;
+        }
+    }
+
+    /**
+     * Define o motor usado a partir de agora. O motor anterior, se houver, é encerrado.
+     * @param novo O motor a ser usado.
+     */
+    public static synchronized void usar(MotorArmazenamento novo) {
+        if (novo == null) {
+            throw new IllegalArgumentException("Motor de armazenamento não pode ser nulo.");
+        }
+        MotorArmazenamento anterior = motor;
+        motor = novo;
+        if (anterior != null && anterior != novo) {
+            anterior.encerrar();
+        }
+    }
+
+    /**
+     * Encerra o motor em uso, se já tiver sido criado, e grava as métricas
+     * (se -Dfeifood.metricas.arquivo estiver definido). Antes, relata os recursos JDBC
+     * ainda abertos (se o detector de vazamentos estiver ligado).
+     */
+    public static synchronized void encerrar() {
+        DetectorVazamentos.relatarAbertos();
+        if (motor != null) {
+            motor.encerrar();
+        }
+        RegistroMetricas.getInstancia().salvarConfigurado();
+    }
+
+    // Os DAOs saem medidos (ver DaoMedido): métricas por método no JMX, com -Dfeifood.metricas=false para desligar
+
+    public static AlimentoDAO alimentos(Connection conn) {
+        return DaoMedido.envolver(AlimentoDAO.class, getMotor().alimentos(conn));
+    }
+
+    public static PedidoDAO pedidos(Connection conn) {
+        return DaoMedido.envolver(PedidoDAO.class, getMotor().pedidos(conn));
+    }
+
+    public static UsuarioDAO usuarios(Connection conn) {
+        return DaoMedido.envolver(UsuarioDAO.class, getMotor().usuarios(conn));
+    }
+
+    private static MotorArmazenamento criarMotor(String nome) {
+        switch (nome) {
+            case "jdbc":
+                return new MotorJdbc();
+            case "memoria":
+                return MotorMemoria.comDadosDemonstracao();
+            default:
+                throw new IllegalStateException("Motor de armazenamento desconhecido: " + nome + " (use jdbc ou memoria).");
+        }
+    }
+}
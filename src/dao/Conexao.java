@@ -4,22 +4,98 @@ import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.util.Properties;
+import metrics.EventoConexao;
+import metrics.MetricasOperacao;
+import metrics.RegistroMetricas;
 
 public class Conexao {
 
+    // Banco padrão; outro banco (ex.: um PostgreSQL local para benchmarks) pode ser usado com -Dfeifood.db.*
+    private static final String URL = System.getProperty("feifood.db.url",
+            "jdbc:postgresql://ep-billowing-bonus-ahdeh7gy-pooler.c-3.us-east-1.aws.neon.tech:5432/neondb");
+
+    // Pool único da aplicação; criado na primeira conexão pedida
+    private static PoolConexoes pool;
+
+    // Tempo para conseguir uma conexão (inclui a espera por uma livre no pool) e para abrir uma nova
+    private static final MetricasOperacao METRICAS_OBTER = RegistroMetricas.getInstancia().operacao("Conexao.obter");
+    private static final MetricasOperacao METRICAS_ABRIR = RegistroMetricas.getInstancia().operacao("Conexao.abrirFisica");
+
+    /**
+     * Obtém uma conexão do motor de armazenamento em uso (ver {@link Armazenamento}).
+     * No motor JDBC, empresta uma conexão do pool compartilhado.
+     * O chamador continua fechando a conexão normalmente: close() a devolve ao pool
+     * em vez de encerrar a conexão física. Com -Dfeifood.vazamentos.prazoSeg, a conexão e os
+     * recursos criados por ela passam pelo {@link DetectorVazamentos}.
+     * @return Conexão pronta para uso.
+     * @throws SQLException Se não for possível obter uma conexão.
+     */
     public Connection getConnection() throws SQLException {
-        
-        String url = "jdbc:postgresql://ep-billowing-bonus-ahdeh7gy-pooler.c-3.us-east-1.aws.neon.tech:5432/neondb";
+        long inicio = System.nanoTime();
+        boolean falhou = true;
+        try {
+            Connection conn = DetectorVazamentos.monitorar(Armazenamento.getMotor().obterConexao());
+            falhou = false;
+            return conn;
+        } finally {
+            METRICAS_OBTER.registrar(inicio, falhou);
+        }
+    }
 
+    /**
+     * Empresta uma conexão do pool do PostgreSQL. Usado pelo {@link MotorJdbc}.
+     */
+    static Connection obterConexaoDoPool() throws SQLException {
+        return getPool().obterConexao();
+    }
+
+    /**
+     * Fecha todas as conexões físicas do pool. Chamado quando a aplicação é encerrada.
+     */
+    public static synchronized void encerrarPool() {
+        if (pool != null) {
+            pool.encerrar();
+            pool = null;
+        }
+    }
+
+    private static synchronized PoolConexoes getPool() {
+        if (pool == null) {
+            // Tamanhos e tempos podem ser ajustados com -Dfeifood.pool.*
+            pool = new PoolConexoes(
+                    Conexao::abrirConexaoFisica,
+                    Integer.getInteger("feifood.pool.min", 1),
+                    Integer.getInteger("feifood.pool.max", 4),
+                    Long.getLong("feifood.pool.ociosoMs", 60_000L),
+                    Long.getLong("feifood.pool.esperaMs", 10_000L),
+                    Integer.getInteger("feifood.pool.validacaoSeg", 2));
+        }
+        return pool;
+    }
+
+    /**
+     * Abre uma conexão física nova, fora do pool. Usado pelo pool e pelo EXPLAIN do
+     * log de consultas lentas, que não deve ocupar conexões da aplicação.
+     */
+    static Connection abrirConexaoFisica() throws SQLException {
         Properties props = new Properties();
-        
-        props.setProperty("user", "neondb_owner"); 
-        props.setProperty("password", "npg_Sp4mPlGLYrW1"); 
-        
-        props.setProperty("sslmode", "require");
-        props.setProperty("channelBinding", "require");
-
-        Connection conn = DriverManager.getConnection(url, props);
-        return conn;
+
+        props.setProperty("user", System.getProperty("feifood.db.usuario", "neondb_owner"));
+        props.setProperty("password", System.getProperty("feifood.db.senha", "npg_Sp4mPlGLYrW1"));
+
+        props.setProperty("sslmode", System.getProperty("feifood.db.sslmode", "require"));
+        props.setProperty("channelBinding", System.getProperty("feifood.db.channelBinding", "require"));
+
+        EventoConexao evento = new EventoConexao();
+        evento.begin();
+        long inicio = System.nanoTime();
+        Connection conn = null;
+        try {
+            conn = DriverManager.getConnection(URL, props);
+            return conn;
+        } finally {
+            METRICAS_ABRIR.registrar(inicio, conn == null);
+            evento.concluir(EventoConexao.ABRIR, conn, conn == null);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,126 @@
+package dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.function.Consumer;
+
+/**
+ * Consultas em fluxo para os DAOs JDBC: executa o SELECT, entrega cada linha mapeada a um
+ * consumidor à medida que é lida e fecha o PreparedStatement e o ResultSet ao final, mesmo em erro.
+ * Nenhuma lista é montada e nenhum cursor fica aberto com quem chamou.
+ *
+ * Com tamanho de lote (fetch size) maior que 0, o PostgreSQL só traz do servidor um lote de linhas
+ * por vez, mas apenas dentro de uma transação: em conexões com autoCommit a consulta roda em uma
+ * transação própria, encerrada ao final. Com 0 o driver traz todas as linhas de uma vez.
+ * O padrão vem de -Dfeifood.jdbc.tamanhoLote (padrão: 0).
+ */
+final class ConsultaJdbc {
+
+    static final int TAMANHO_LOTE_PADRAO = Integer.getInteger("feifood.jdbc.tamanhoLote", 0);
+
+    /**
+     * Preenche os parâmetros do PreparedStatement (ex.: {@code st -> st.setInt(1, id)}).
+     */
+    @FunctionalInterface
+    interface Parametros {
+        Parametros NENHUM = st -> { };
+
+        void preencher(PreparedStatement st) throws SQLException;
+    }
+
+    private ConsultaJdbc() {
+    }
+
+    /**
+     * Executa a consulta e entrega as linhas, na ordem, ao consumidor.
+     * @param conn Conexão usada (não é fechada).
+     * @param sql O SELECT.
+     * @param parametros Preenche os parâmetros do SELECT.
+     * @param tamanhoLote Linhas trazidas do servidor por vez (0 = todas de uma vez).
+     * @param mapeador Converte cada linha.
+     * @param consumidor Recebe cada linha convertida; exceções dele interrompem a consulta.
+     * @return Quantas linhas foram entregues.
+     * @throws SQLException Se ocorrer um erro no banco ou no mapeador.
+     */
+    static <T> long percorrer(Connection conn, String sql, Parametros parametros, int tamanhoLote,
+                              MapeadorLinha<T> mapeador, Consumer<? super T> consumidor) throws SQLException {
+        long[] linhas = {0};
+        ler(conn, sql, parametros, tamanhoLote, resultado -> {
+            while (resultado.next()) {
+                consumidor.accept(mapeador.mapear(resultado));
+                linhas[0]++;
+            }
+        });
+        return linhas[0];
+    }
+
+    /**
+     * Lê o resultado da consulta por conta própria (ex.: agrupando várias linhas em um objeto),
+     * com o mesmo tratamento de lote, transação e fechamento de {@link #percorrer}.
+     */
+    @FunctionalInterface
+    interface LeitorResultado {
+        void ler(ResultSet resultado) throws SQLException;
+    }
+
+    /**
+     * Executa a consulta e entrega o ResultSet ao leitor, que chama next() por conta própria.
+     * @param tamanhoLote Linhas trazidas do servidor por vez (0 = todas de uma vez).
+     * @throws SQLException Se ocorrer um erro no banco ou no leitor.
+     */
+    static void ler(Connection conn, String sql, Parametros parametros, int tamanhoLote,
+                    LeitorResultado leitor) throws SQLException {
+        boolean transacaoPropria = tamanhoLote > 0 && conn.getAutoCommit();
+        if (transacaoPropria) {
+            conn.setAutoCommit(false); // O cursor do PostgreSQL (fetch size) só existe dentro de transação
+        }
+        boolean concluida = false;
+        try {
+            try (PreparedStatement statement = conn.prepareStatement(sql)) {
+                statement.setFetchSize(tamanhoLote);
+                parametros.preencher(statement);
+                try (ResultSet resultado = statement.executeQuery()) {
+                    leitor.ler(resultado);
+                }
+            }
+            concluida = true;
+        } finally {
+            if (transacaoPropria) {
+                encerrarTransacao(conn, concluida);
+            }
+        }
+    }
+
+    /**
+     * Executa uma consulta que devolve no máximo uma linha.
+     * @return A linha mapeada, ou null se a consulta não trouxe linhas.
+     * @throws SQLException Se ocorrer um erro no banco ou no mapeador.
+     */
+    static <T> T buscarUm(Connection conn, String sql, Parametros parametros, MapeadorLinha<T> mapeador) throws SQLException {
+        try (PreparedStatement statement = conn.prepareStatement(sql)) {
+            parametros.preencher(statement);
+            try (ResultSet resultado = statement.executeQuery()) {
+                return resultado.next() ? mapeador.mapear(resultado) : null;
+            }
+        }
+    }
+
+    private static void encerrarTransacao(Connection conn, boolean concluida) throws SQLException {
+        if (concluida) {
+            try {
+                conn.commit();
+            } finally {
+                conn.setAutoCommit(true);
+            }
+            return;
+        }
+        try {
+            conn.rollback();
+            conn.setAutoCommit(true);
+        } catch (SQLException e) {
+            // A exceção da consulta é a que importa; o pool desfaz a transação ao receber a conexão
+        }
+    }
+}
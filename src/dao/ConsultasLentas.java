@@ -0,0 +1,605 @@
+package dao;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import log.ArquivoRotativo;
+import log.Log;
+
+/**
+ * Log de consultas lentas: envolve a conexão entregue aos DAOs e registra todo comando que
+ * demorar pelo menos o limite configurado, com o SQL, os valores dos parâmetros (exceto os de
+ * colunas sensíveis, como Usuario.senha), a quantidade de linhas e o tempo.
+ * Em consultas o tempo vai da execução até o fechamento do ResultSet (inclui a leitura das linhas).
+ *
+ * Configuração (-D...):
+ *   feifood.consultasLentas.limiteMs=N     liga o log para comandos com N ms ou mais (padrão: desligado)
+ *   feifood.consultasLentas.arquivo        arquivo do log (padrão: logs/consultas-lentas.log)
+ *   feifood.consultasLentas.tamanhoMaxKb   tamanho para rotacionar (padrão: 1024) e
+ *   feifood.consultasLentas.arquivos       quantos arquivos antigos manter (padrão: 5)
+ *   feifood.consultasLentas.redigir        colunas cujos valores nunca vão para o log (padrão: senha)
+ *   feifood.consultasLentas.explain=true   grava também o EXPLAIN (ANALYZE, BUFFERS) de cada comando lento
+ *
+ * O EXPLAIN ANALYZE executa o comando de novo, em uma conexão separada e dentro de uma transação
+ * desfeita em seguida; use apenas contra um banco local ou de testes. Comandos com parâmetros
+ * redigidos não são explicados (a senha não fica guardada para isso).
+ */
+final class ConsultasLentas {
+
+    private static final Log LOG = Log.para(ConsultasLentas.class);
+
+    private static final ConsultasLentas INSTANCIA = criar();
+
+    private static final Set<String> OPERADORES = Set.of("=", "<>", "!=", "<", ">", "<=", ">=", "like", "ilike");
+    private static final int TAMANHO_MAXIMO_VALOR = 200;
+    private static final Object REDIGIDO = new Object();
+
+    private final long limiteNanos;
+    private final Set<String> colunasRedigidas;
+    private final ArquivoRotativo arquivo;
+    private final AtomicLong sequencia = new AtomicLong();
+    private final BlockingQueue<Comando> filaExplain; // null sem EXPLAIN
+
+    /**
+     * Marca de parâmetro definido com setNull (guarda o tipo para repetir no EXPLAIN).
+     */
+    private static final class Nulo {
+        final int tipoSql;
+
+        Nulo(int tipoSql) {
+            this.tipoSql = tipoSql;
+        }
+    }
+
+    /**
+     * Um comando lento já medido, pronto para ir ao log (e, se configurado, ao EXPLAIN).
+     */
+    private static final class Comando {
+        final long numero;
+        final String sql;
+        final Map<Integer, Object> parametros;
+        final int lote;
+        final long linhas; // -1 se desconhecido
+        final long execucaoNanos;
+        final long totalNanos;
+
+        Comando(long numero, String sql, Map<Integer, Object> parametros, int lote, long linhas,
+                long execucaoNanos, long totalNanos) {
+            this.numero = numero;
+            this.sql = sql;
+            this.parametros = parametros;
+            this.lote = lote;
+            this.linhas = linhas;
+            this.execucaoNanos = execucaoNanos;
+            this.totalNanos = totalNanos;
+        }
+    }
+
+    private ConsultasLentas(long limiteMs, Set<String> colunasRedigidas, ArquivoRotativo arquivo, boolean explain) {
+        this.limiteNanos = TimeUnit.MILLISECONDS.toNanos(limiteMs);
+        this.colunasRedigidas = colunasRedigidas;
+        this.arquivo = arquivo;
+        if (explain) {
+            this.filaExplain = new ArrayBlockingQueue<>(32);
+            Thread explicador = new Thread(this::explicarComandos, "feifood-explain");
+            explicador.setDaemon(true);
+            explicador.start();
+        } else {
+            this.filaExplain = null;
+        }
+    }
+
+    private static ConsultasLentas criar() {
+        String limite = System.getProperty("feifood.consultasLentas.limiteMs");
+        if (limite == null) {
+            return null;
+        }
+        Set<String> colunas = new HashSet<>();
+        for (String coluna : System.getProperty("feifood.consultasLentas.redigir", "senha").split(",")) {
+            if (!coluna.isBlank()) {
+                colunas.add(coluna.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+        ArquivoRotativo arquivo = new ArquivoRotativo(
+                Paths.get(System.getProperty("feifood.consultasLentas.arquivo", "logs/consultas-lentas.log")),
+                Long.getLong("feifood.consultasLentas.tamanhoMaxKb", 1024L) * 1024,
+                Integer.getInteger("feifood.consultasLentas.arquivos", 5));
+        return new ConsultasLentas(Long.parseLong(limite.trim()), colunas, arquivo,
+                Boolean.getBoolean("feifood.consultasLentas.explain"));
+    }
+
+    /**
+     * Envolve a conexão para medir seus comandos, se o log estiver ligado.
+     * @param conn A conexão emprestada do pool.
+     * @return A conexão monitorada, ou a própria conexão se o log estiver desligado.
+     */
+    static Connection monitorar(Connection conn) {
+        ConsultasLentas log = INSTANCIA;
+        if (log == null) {
+            return conn;
+        }
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, log.new ConexaoMonitorada(conn));
+    }
+
+    // --- Proxies JDBC ---
+
+    private static Object chamar(Object proxy, Object alvo, Method metodo, Object[] args) throws Throwable {
+        // Identidade do proxy, como no pool: quem guarda Statements em listas compara o proxy
+        if (metodo.getName().equals("equals") && args != null && args.length == 1) {
+            return proxy == args[0];
+        }
+        if (metodo.getName().equals("hashCode") && args == null) {
+            return System.identityHashCode(proxy);
+        }
+        try {
+            return metodo.invoke(alvo, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Conexão que devolve Statements monitorados.
+     */
+    private final class ConexaoMonitorada implements InvocationHandler {
+        private final Connection alvo;
+
+        ConexaoMonitorada(Connection alvo) {
+            this.alvo = alvo;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            Object resultado = chamar(proxy, alvo, metodo, args);
+            String nome = metodo.getName();
+            if (resultado instanceof Statement
+                    && (nome.equals("prepareStatement") || nome.equals("prepareCall") || nome.equals("createStatement"))) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String texto ? texto : null;
+                return Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                        new Class<?>[]{metodo.getReturnType()}, new ComandoMonitorado((Statement) resultado, sql));
+            }
+            return resultado;
+        }
+    }
+
+    /**
+     * Statement/PreparedStatement que guarda os parâmetros e mede cada execução.
+     * Usado por uma thread de cada vez, como o próprio Statement.
+     */
+    private final class ComandoMonitorado implements InvocationHandler {
+        private final Statement alvo;
+        private final String sqlPreparado;
+        private final Map<Integer, Object> parametros = new TreeMap<>();
+        private int lote;
+        private String ultimoSqlLote;
+        private ResultadoMonitorado resultadoAberto;
+
+        ComandoMonitorado(Statement alvo, String sqlPreparado) {
+            this.alvo = alvo;
+            this.sqlPreparado = sqlPreparado;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            String nome = metodo.getName();
+            if (nome.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer indice) {
+                // Parâmetro posicional de PreparedStatement (setInt, setString, setNull...)
+                Object resultado = chamar(proxy, alvo, metodo, args);
+                parametros.put(indice, nome.equals("setNull") ? new Nulo((Integer) args[1]) : args[1]);
+                return resultado;
+            }
+            switch (nome) {
+                case "clearParameters":
+                    parametros.clear();
+                    return chamar(proxy, alvo, metodo, args);
+                case "addBatch":
+                    lote++;
+                    if (args != null && args.length == 1) {
+                        ultimoSqlLote = (String) args[0];
+                    }
+                    return chamar(proxy, alvo, metodo, args);
+                case "clearBatch":
+                    lote = 0;
+                    return chamar(proxy, alvo, metodo, args);
+                case "executeQuery":
+                    return executarConsulta(proxy, metodo, args);
+                case "execute":
+                case "executeUpdate":
+                case "executeLargeUpdate":
+                case "executeBatch":
+                case "executeLargeBatch":
+                    return executarAlteracao(proxy, metodo, args);
+                case "close":
+                    fecharResultadoAberto();
+                    return chamar(proxy, alvo, metodo, args);
+                default:
+                    return chamar(proxy, alvo, metodo, args);
+            }
+        }
+
+        private Object executarConsulta(Object proxy, Method metodo, Object[] args) throws Throwable {
+            fecharResultadoAberto(); // Nova execução fecha o ResultSet anterior
+            String sql = sqlDaChamada(args);
+            long inicio = System.nanoTime();
+            ResultSet resultado = (ResultSet) chamar(proxy, alvo, metodo, args);
+            resultadoAberto = new ResultadoMonitorado(this, resultado, sql, new TreeMap<>(parametros),
+                    inicio, System.nanoTime() - inicio);
+            return Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class}, resultadoAberto);
+        }
+
+        private Object executarAlteracao(Object proxy, Method metodo, Object[] args) throws Throwable {
+            String sql = sqlDaChamada(args);
+            boolean emLote = metodo.getName().contains("Batch");
+            long inicio = System.nanoTime();
+            Object resultado = chamar(proxy, alvo, metodo, args);
+            long decorrido = System.nanoTime() - inicio;
+            if (decorrido >= limiteNanos) {
+                long linhas = -1;
+                if (resultado instanceof Number numero) {
+                    linhas = numero.longValue();
+                } else if (resultado instanceof int[] contagens) {
+                    linhas = somar(contagens);
+                } else if (resultado instanceof long[] contagens) {
+                    linhas = somar(contagens);
+                } else if (Boolean.FALSE.equals(resultado)) {
+                    linhas = alvo.getUpdateCount();
+                }
+                registrar(emLote && ultimoSqlLote != null && sqlPreparado == null ? ultimoSqlLote : sql,
+                        new TreeMap<>(parametros), emLote ? lote : 0, linhas, decorrido, decorrido);
+            }
+            if (emLote) {
+                lote = 0;
+            }
+            return resultado;
+        }
+
+        private String sqlDaChamada(Object[] args) {
+            return args != null && args.length > 0 && args[0] instanceof String sql ? sql : sqlPreparado;
+        }
+
+        private void fecharResultadoAberto() {
+            if (resultadoAberto != null) {
+                resultadoAberto.finalizar();
+            }
+        }
+    }
+
+    /**
+     * ResultSet que conta as linhas lidas e registra a consulta ao ser fechado.
+     */
+    private final class ResultadoMonitorado implements InvocationHandler {
+        private final ComandoMonitorado comando;
+        private final ResultSet alvo;
+        private final String sql;
+        private final Map<Integer, Object> parametros;
+        private final long inicioNanos;
+        private final long execucaoNanos;
+        private long linhas;
+        private boolean finalizado;
+
+        ResultadoMonitorado(ComandoMonitorado comando, ResultSet alvo, String sql, Map<Integer, Object> parametros,
+                            long inicioNanos, long execucaoNanos) {
+            this.comando = comando;
+            this.alvo = alvo;
+            this.sql = sql;
+            this.parametros = parametros;
+            this.inicioNanos = inicioNanos;
+            this.execucaoNanos = execucaoNanos;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            Object resultado = chamar(proxy, alvo, metodo, args);
+            if (metodo.getName().equals("next") && Boolean.TRUE.equals(resultado)) {
+                linhas++;
+            } else if (metodo.getName().equals("close")) {
+                finalizar();
+            }
+            return resultado;
+        }
+
+        void finalizar() {
+            if (finalizado) {
+                return;
+            }
+            finalizado = true;
+            if (comando.resultadoAberto == this) {
+                comando.resultadoAberto = null;
+            }
+            long total = System.nanoTime() - inicioNanos;
+            if (total >= limiteNanos) {
+                registrar(sql, parametros, 0, linhas, execucaoNanos, total);
+            }
+        }
+    }
+
+    // --- Log ---
+
+    private void registrar(String sql, Map<Integer, Object> parametros, int lote, long linhas,
+                           long execucaoNanos, long totalNanos) {
+        Set<Integer> redigidos = parametrosRedigidos(sql, parametros.size(), colunasRedigidas);
+        for (Integer indice : redigidos) {
+            parametros.replace(indice, REDIGIDO); // O valor real não sai daqui
+        }
+        Comando comando = new Comando(sequencia.incrementAndGet(), sql, parametros, lote, linhas, execucaoNanos, totalNanos);
+
+        StringBuilder texto = new StringBuilder(256);
+        texto.append(LocalDateTime.now()).append(" #").append(comando.numero)
+             .append(" [").append(Thread.currentThread().getName()).append("] ")
+             .append(String.format(Locale.ROOT, "%.1f ms", totalNanos / 1e6));
+        if (totalNanos != execucaoNanos) {
+            texto.append(String.format(Locale.ROOT, " (execução %.1f ms + leitura)", execucaoNanos / 1e6));
+        }
+        texto.append(" linhas=").append(linhas < 0 ? "?" : Long.toString(linhas));
+        if (lote > 0) {
+            texto.append(" lote=").append(lote);
+        }
+        texto.append("\n  SQL: ").append(sql == null ? "?" : sql.replaceAll("\\s+", " ").trim());
+        if (!parametros.isEmpty()) {
+            texto.append("\n  Parâmetros:");
+            for (Map.Entry<Integer, Object> parametro : parametros.entrySet()) {
+                texto.append(" [").append(parametro.getKey()).append("]=");
+                formatarValor(texto, parametro.getValue());
+            }
+        }
+        gravar(texto.append('\n'));
+
+        if (filaExplain != null && sql != null && redigidos.isEmpty() && !filaExplain.offer(comando)) {
+            gravar(new StringBuilder("  (#").append(comando.numero).append(": EXPLAIN descartado, fila cheia)\n"));
+        }
+    }
+
+    private void gravar(CharSequence texto) {
+        try {
+            arquivo.escrever(texto);
+        } catch (IOException e) {
+            LOG.aviso("Erro ao gravar log de consultas lentas", "arquivo", arquivo.getArquivo().toString(), "erro", e.getMessage());
+        }
+    }
+
+    private static void formatarValor(StringBuilder texto, Object valor) {
+        if (valor == REDIGIDO) {
+            texto.append("<redigido>");
+        } else if (valor == null || valor instanceof Nulo) {
+            texto.append("NULL");
+        } else if (valor instanceof byte[] bytes) {
+            texto.append('<').append(bytes.length).append(" bytes>");
+        } else if (valor instanceof Number || valor instanceof Boolean) {
+            texto.append(valor);
+        } else {
+            String s = String.valueOf(valor);
+            if (s.length() > TAMANHO_MAXIMO_VALOR) {
+                s = s.substring(0, TAMANHO_MAXIMO_VALOR) + "...";
+            }
+            texto.append('\'').append(s.replace("'", "''")).append('\'');
+        }
+    }
+
+    private static long somar(int[] valores) {
+        long soma = 0;
+        for (int v : valores) {
+            soma += Math.max(v, 0); // SUCCESS_NO_INFO (-2) não soma
+        }
+        return soma;
+    }
+
+    private static long somar(long[] valores) {
+        long soma = 0;
+        for (long v : valores) {
+            soma += Math.max(v, 0);
+        }
+        return soma;
+    }
+
+    // --- Redação ---
+
+    /**
+     * Descobre quais parâmetros (?) recebem valores de colunas redigidas: comparações
+     * ("senha = ?", inclusive em SET) e posições em INSERT ... (colunas) VALUES (...).
+     * Se uma coluna redigida aparece no SQL mas não foi possível ligar a um parâmetro,
+     * todos os parâmetros são redigidos.
+     * @param colunasRedigidas Nomes das colunas, em minúsculas.
+     */
+    static Set<Integer> parametrosRedigidos(String sql, int quantidadeParametros, Set<String> colunasRedigidas) {
+        Set<Integer> redigidos = new HashSet<>();
+        if (sql == null || colunasRedigidas.isEmpty()) {
+            return redigidos;
+        }
+        List<String> tokens = tokenizar(sql);
+        boolean mencionaColuna = false;
+        int parametro = 0;
+        List<Integer> posicoesInsert = null; // posições redigidas na lista de colunas do INSERT
+        boolean emValues = false;
+        int profundidadeValues = 0;
+        int posicaoNaTupla = 0;
+
+        for (int i = 0; i < tokens.size(); i++) {
+            String token = tokens.get(i);
+            if (colunasRedigidas.contains(token)) {
+                mencionaColuna = true;
+            }
+            if (token.equals("insert")) {
+                posicoesInsert = colunasRedigidasDoInsert(tokens, i, colunasRedigidas);
+            } else if (token.equals("values") && posicoesInsert != null) {
+                emValues = true;
+                profundidadeValues = 0;
+            } else if (emValues && token.equals("(")) {
+                if (++profundidadeValues == 1) {
+                    posicaoNaTupla = 0;
+                }
+            } else if (emValues && token.equals(")")) {
+                if (--profundidadeValues < 0) {
+                    emValues = false;
+                }
+            } else if (emValues && profundidadeValues == 1 && token.equals(",")) {
+                posicaoNaTupla++;
+            } else if (emValues && profundidadeValues == 0 && !token.equals(",")) {
+                emValues = false; // Fim do VALUES (ex.: RETURNING, ON CONFLICT)
+            }
+
+            if (token.equals("?")) {
+                parametro++;
+                boolean comparacao = i >= 2 && OPERADORES.contains(tokens.get(i - 1)) && colunasRedigidas.contains(tokens.get(i - 2));
+                boolean valorInsert = emValues && profundidadeValues == 1 && posicoesInsert.contains(posicaoNaTupla);
+                if (comparacao || valorInsert) {
+                    redigidos.add(parametro);
+                }
+            }
+        }
+        if (mencionaColuna && redigidos.isEmpty()) {
+            for (int p = 1; p <= Math.max(parametro, quantidadeParametros); p++) {
+                redigidos.add(p);
+            }
+        }
+        return redigidos;
+    }
+
+    private static List<Integer> colunasRedigidasDoInsert(List<String> tokens, int inicio, Set<String> colunasRedigidas) {
+        List<Integer> posicoes = new ArrayList<>();
+        int i = inicio + 1;
+        while (i < tokens.size() && !tokens.get(i).equals("(") && !tokens.get(i).equals("values")) {
+            i++; // INTO tabela
+        }
+        if (i >= tokens.size() || !tokens.get(i).equals("(")) {
+            return posicoes;
+        }
+        int posicao = 0;
+        for (i++; i < tokens.size() && !tokens.get(i).equals(")"); i++) {
+            if (tokens.get(i).equals(",")) {
+                posicao++;
+            } else if (colunasRedigidas.contains(tokens.get(i))) {
+                posicoes.add(posicao);
+            }
+        }
+        return posicoes;
+    }
+
+    /**
+     * Quebra o SQL em identificadores (sem qualificador de tabela, em minúsculas), "?",
+     * operadores e pontuação; ignora literais de texto e comentários.
+     */
+    private static List<String> tokenizar(String sql) {
+        List<String> tokens = new ArrayList<>();
+        int i = 0;
+        int n = sql.length();
+        while (i < n) {
+            char c = sql.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '\'') {
+                for (i++; i < n; i++) {
+                    if (sql.charAt(i) == '\'') {
+                        if (i + 1 < n && sql.charAt(i + 1) == '\'') {
+                            i++; // '' dentro do literal
+                        } else {
+                            break;
+                        }
+                    }
+                }
+                i++;
+                tokens.add("'literal'");
+            } else if (c == '-' && i + 1 < n && sql.charAt(i + 1) == '-') {
+                while (i < n && sql.charAt(i) != '\n') {
+                    i++;
+                }
+            } else if (c == '/' && i + 1 < n && sql.charAt(i + 1) == '*') {
+                int fim = sql.indexOf("*/", i + 2);
+                i = fim < 0 ? n : fim + 2;
+            } else if (Character.isLetter(c) || c == '_' || c == '"') {
+                int inicio = i;
+                while (i < n && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '_'
+                        || sql.charAt(i) == '.' || sql.charAt(i) == '"')) {
+                    i++;
+                }
+                String identificador = sql.substring(inicio, i).replace("\"", "").toLowerCase(Locale.ROOT);
+                int ponto = identificador.lastIndexOf('.');
+                tokens.add(ponto >= 0 ? identificador.substring(ponto + 1) : identificador);
+            } else if ("<>!=".indexOf(c) >= 0) {
+                int inicio = i;
+                while (i < n && "<>!=".indexOf(sql.charAt(i)) >= 0) {
+                    i++;
+                }
+                tokens.add(sql.substring(inicio, i));
+            } else {
+                tokens.add(String.valueOf(c));
+                i++;
+            }
+        }
+        return tokens;
+    }
+
+    // --- EXPLAIN ---
+
+    private void explicarComandos() {
+        Connection conn = null;
+        while (true) {
+            Comando comando;
+            try {
+                comando = filaExplain.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                if (conn == null || !conn.isValid(2)) {
+                    conn = Conexao.abrirConexaoFisica(); // Fora do pool: não disputa conexões com a aplicação
+                }
+                gravar(explicar(conn, comando));
+            } catch (SQLException e) {
+                gravar(new StringBuilder("  (#").append(comando.numero).append(": EXPLAIN falhou: ")
+                        .append(e.getMessage()).append(")\n"));
+            }
+        }
+    }
+
+    private static StringBuilder explicar(Connection conn, Comando comando) throws SQLException {
+        StringBuilder texto = new StringBuilder(512)
+                .append("  Plano de #").append(comando.numero)
+                .append(" (EXPLAIN ANALYZE, executado de novo e desfeito):\n");
+        conn.setAutoCommit(false);
+        try {
+            try (Statement limites = conn.createStatement()) {
+                limites.execute("SET LOCAL statement_timeout = '30s'");
+                limites.execute("SET LOCAL lock_timeout = '1s'"); // Não espera por locks da transação original
+            }
+            try (PreparedStatement explain = conn.prepareStatement("EXPLAIN (ANALYZE, BUFFERS) " + comando.sql)) {
+                for (Map.Entry<Integer, Object> parametro : comando.parametros.entrySet()) {
+                    if (parametro.getValue() instanceof Nulo nulo) {
+                        explain.setNull(parametro.getKey(), nulo.tipoSql);
+                    } else {
+                        explain.setObject(parametro.getKey(), parametro.getValue());
+                    }
+                }
+                try (ResultSet linhas = explain.executeQuery()) {
+                    while (linhas.next()) {
+                        texto.append("    ").append(linhas.getString(1)).append('\n');
+                    }
+                }
+            }
+        } finally {
+            conn.rollback(); // ANALYZE executa de verdade: desfaz qualquer alteração
+            conn.setAutoCommit(true);
+        }
+        return texto;
+    }
+}
@@ -0,0 +1,126 @@
+package dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import metrics.EventoChamadaDao;
+import metrics.MetricasOperacao;
+import metrics.RegistroMetricas;
+
+/**
+ * Envolve um DAO para medir cada método que acessa o armazenamento (os que declaram
+ * SQLException): chamadas, erros e latência vão para {@link RegistroMetricas} com o nome
+ * "Interface.metodo" (ex.: "PedidoDAO.criarPedido"), igual para os motores JDBC e memória.
+ * Cada chamada também gera um {@link EventoChamadaDao} quando há gravação JFR ativa.
+ */
+final class DaoMedido implements InvocationHandler {
+
+    // Métricas de cada método, resolvidas uma vez por interface (sem busca por nome a cada chamada)
+    private static final ClassValue<Map<Method, MetricasOperacao>> METRICAS_POR_INTERFACE = new ClassValue<>() {
+        @Override
+        protected Map<Method, MetricasOperacao> computeValue(Class<?> tipo) {
+            Map<Method, MetricasOperacao> metricas = new HashMap<>();
+            for (Method metodo : tipo.getMethods()) {
+                if (Arrays.asList(metodo.getExceptionTypes()).contains(SQLException.class)) {
+                    metricas.put(metodo, RegistroMetricas.getInstancia().operacao(tipo.getSimpleName() + "." + metodo.getName()));
+                }
+            }
+            return metricas;
+        }
+    };
+
+    private final Object alvo;
+    private final Map<Method, MetricasOperacao> metricas;
+    private final String motor;
+
+    private DaoMedido(Object alvo, Map<Method, MetricasOperacao> metricas, String motor) {
+        this.alvo = alvo;
+        this.metricas = metricas;
+        this.motor = motor;
+    }
+
+    /**
+     * @param tipo A interface do DAO (AlimentoDAO, PedidoDAO ou UsuarioDAO).
+     * @param dao A implementação a medir.
+     * @return O DAO medido, ou o próprio dao se as métricas estiverem desligadas.
+     */
+    static <T> T envolver(Class<T> tipo, T dao) {
+        if (!RegistroMetricas.getInstancia().isAtivo()) {
+            return dao;
+        }
+        return tipo.cast(Proxy.newProxyInstance(tipo.getClassLoader(), new Class<?>[]{tipo},
+                new DaoMedido(dao, METRICAS_POR_INTERFACE.get(tipo), Armazenamento.getMotor().getNome())));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+        if (metodo.getName().equals("equals") && args != null && args.length == 1) {
+            return proxy == args[0];
+        }
+        if (metodo.getName().equals("hashCode") && args == null) {
+            return System.identityHashCode(proxy);
+        }
+        MetricasOperacao operacao = metricas.get(metodo);
+        if (operacao == null) {
+            return chamar(metodo, args); // Sem acesso ao armazenamento (ex.: isInsercaoUnica, toString)
+        }
+        EventoChamadaDao evento = new EventoChamadaDao();
+        evento.begin();
+        long inicio = System.nanoTime();
+        boolean falhou = true;
+        Object resultado = null;
+        try {
+            resultado = chamar(metodo, args);
+            falhou = false;
+            return resultado;
+        } finally {
+            operacao.registrar(inicio, falhou);
+            evento.end();
+            if (evento.shouldCommit()) {
+                evento.operacao = operacao.getNome();
+                evento.motor = motor;
+                evento.linhas = falhou ? -1 : linhas(metodo, resultado);
+                evento.falhou = falhou;
+                evento.commit();
+            }
+        }
+    }
+
+    /**
+     * Quantidade de linhas representada pelo retorno do DAO: tamanho de listas e mapas,
+     * a quantidade devolvida pelos métodos percorrer* (que entregam as linhas a um consumidor),
+     * 1/0 para buscas, inserções e verificações, -1 para métodos sem retorno.
+     */
+    private static long linhas(Method metodo, Object resultado) {
+        if (metodo.getReturnType() == void.class) {
+            return -1;
+        }
+        if (metodo.getName().startsWith("percorrer") && resultado instanceof Number quantidade) {
+            return quantidade.longValue();
+        }
+        if (resultado instanceof Collection<?> colecao) {
+            return colecao.size();
+        }
+        if (resultado instanceof Map<?, ?> mapa) {
+            return mapa.size();
+        }
+        if (resultado instanceof Boolean encontrado) {
+            return encontrado ? 1 : 0;
+        }
+        return resultado == null ? 0 : 1;
+    }
+
+    private Object chamar(Method metodo, Object[] args) throws Throwable {
+        try {
+            return metodo.invoke(alvo, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause(); // Propaga a exceção original do DAO (SQLException, IllegalArgumentException...)
+        }
+    }
+}
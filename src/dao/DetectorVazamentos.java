@@ -0,0 +1,254 @@
+package dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import log.Log;
+
+/**
+ * Detector de vazamentos de recursos JDBC: envolve cada Connection entregue pela {@link Conexao}
+ * e os Statements e ResultSets criados a partir dela, guardando onde cada um foi aberto.
+ * Recursos ainda abertos depois do prazo são relatados no log (uma vez cada) com a pilha da
+ * alocação; ao encerrar a aplicação, todos os que continuam abertos são relatados.
+ *
+ * Um ResultSet conta como fechado quando o seu Statement é fechado. Já um Statement não é fechado
+ * pela devolução da conexão ao pool (a conexão física continua aberta) e é relatado.
+ *
+ * Configuração (-D...):
+ *   feifood.vazamentos.prazoSeg=N   liga o detector: recursos abertos há mais de N s são relatados (padrão: desligado)
+ *   feifood.vazamentos.pilha=false  não captura a pilha da alocação (menor custo; o relato fica com a thread e o SQL)
+ */
+final class DetectorVazamentos {
+
+    private static final Log LOG = Log.para(DetectorVazamentos.class);
+
+    private static final DetectorVazamentos INSTANCIA = criar();
+
+    private final long prazoNanos;
+    private final boolean capturarPilha;
+    private final Set<Rastro> abertos = ConcurrentHashMap.newKeySet();
+    private final AtomicLong relatados = new AtomicLong();
+
+    private DetectorVazamentos(long prazoSeg, boolean capturarPilha) {
+        this.prazoNanos = TimeUnit.SECONDS.toNanos(prazoSeg);
+        this.capturarPilha = capturarPilha;
+        Thread verificador = new Thread(this::verificarContinuamente, "detector-vazamentos");
+        verificador.setDaemon(true);
+        verificador.start();
+    }
+
+    private static DetectorVazamentos criar() {
+        Long prazo = Long.getLong("feifood.vazamentos.prazoSeg");
+        if (prazo == null || prazo <= 0) {
+            return null;
+        }
+        return new DetectorVazamentos(prazo,
+                Boolean.parseBoolean(System.getProperty("feifood.vazamentos.pilha", "true")));
+    }
+
+    /**
+     * Envolve a conexão para rastrear o seu fechamento e o dos recursos criados por ela.
+     * @param conn A conexão obtida do motor de armazenamento.
+     * @return A conexão rastreada, ou a própria conexão se o detector estiver desligado.
+     */
+    static Connection monitorar(Connection conn) {
+        DetectorVazamentos detector = INSTANCIA;
+        if (detector == null) {
+            return conn;
+        }
+        return (Connection) detector.rastrear(Connection.class, conn, null, null);
+    }
+
+    /**
+     * Relata os recursos ainda abertos. Chamado ao encerrar a aplicação, antes de fechar o pool.
+     * @return Quantos recursos continuavam abertos (0 com o detector desligado).
+     */
+    static int relatarAbertos() {
+        DetectorVazamentos detector = INSTANCIA;
+        if (detector == null) {
+            return 0;
+        }
+        int abertos = 0;
+        for (Rastro rastro : detector.abertos) {
+            if (rastro.isFechado()) {
+                detector.abertos.remove(rastro);
+                continue;
+            }
+            abertos++;
+            if (!rastro.relatado) {
+                rastro.relatado = true;
+                detector.relatar("Recurso JDBC aberto ao encerrar", rastro, System.nanoTime());
+            }
+        }
+        if (abertos > 0 || detector.relatados.get() > 0) {
+            LOG.aviso("Resumo do detector de vazamentos", "abertosAoEncerrar", abertos,
+                    "relatadosNoTotal", detector.relatados.get());
+        }
+        return abertos;
+    }
+
+    private Object rastrear(Class<?> tipo, Object alvo, String sql, Rastro pai) {
+        Rastro rastro = new Rastro(tipo.getSimpleName(), alvo, sql, pai, Thread.currentThread().getName(),
+                System.nanoTime(), capturarPilha ? new Alocacao() : null);
+        rastro.proxy = Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{tipo},
+                new Recurso(rastro));
+        abertos.add(rastro);
+        return rastro.proxy;
+    }
+
+    // --- Verificação periódica ---
+
+    private void verificarContinuamente() {
+        long intervaloMs = Math.max(1000, TimeUnit.NANOSECONDS.toMillis(prazoNanos) / 2);
+        while (true) {
+            try {
+                Thread.sleep(intervaloMs);
+            } catch (InterruptedException e) {
+                return;
+            }
+            long agora = System.nanoTime();
+            for (Rastro rastro : abertos) {
+                if (rastro.isFechado()) {
+                    abertos.remove(rastro); // Fechado por fora do proxy (ex.: closeOnCompletion)
+                } else if (!rastro.relatado && agora - rastro.inicioNanos >= prazoNanos) {
+                    rastro.relatado = true; // Continua na lista: aparece de novo no relato ao encerrar
+                    relatar("Recurso JDBC não fechado no prazo", rastro, agora);
+                }
+            }
+        }
+    }
+
+    private void relatar(String mensagem, Rastro rastro, long agora) {
+        relatados.incrementAndGet();
+        String sql = rastro.sql;
+        if (sql == null && rastro.pai != null) {
+            sql = rastro.pai.sql; // ResultSet de um PreparedStatement: o SQL está no comando
+        }
+        LOG.erro(mensagem, rastro.alocacao,
+                "tipo", rastro.tipo,
+                "abertoHaMs", TimeUnit.NANOSECONDS.toMillis(agora - rastro.inicioNanos),
+                "thread", rastro.thread,
+                "sql", sql != null ? sql : "-");
+    }
+
+    // --- Proxies JDBC ---
+
+    /**
+     * Um recurso rastreado. O fechamento vem do proxy ou, se o recurso foi fechado por outro
+     * caminho (ResultSet pelo Statement, Statement por closeOnCompletion), do próprio recurso.
+     */
+    private static final class Rastro {
+        private final String tipo;
+        private final AutoCloseable alvo;
+        private final String sql;
+        private final Rastro pai;
+        private final String thread;
+        private final long inicioNanos;
+        private final Alocacao alocacao;
+        private Object proxy;
+        private volatile boolean fechado;
+        private volatile boolean relatado;
+
+        Rastro(String tipo, Object alvo, String sql, Rastro pai, String thread, long inicioNanos, Alocacao alocacao) {
+            this.tipo = tipo;
+            this.alvo = (AutoCloseable) alvo;
+            this.sql = sql;
+            this.pai = pai;
+            this.thread = thread;
+            this.inicioNanos = inicioNanos;
+            this.alocacao = alocacao;
+        }
+
+        boolean isFechado() {
+            if (fechado || (alvo instanceof ResultSet && pai != null && pai.fechado)) {
+                return true;
+            }
+            try {
+                if (alvo instanceof ResultSet resultado) {
+                    return resultado.isClosed();
+                }
+                if (alvo instanceof Statement comando) {
+                    return comando.isClosed();
+                }
+                // A conexão do motor em memória nunca se diz fechada: vale apenas o close() do proxy
+                return false;
+            } catch (SQLException e) {
+                return true; // Não dá para consultar: não acusa vazamento
+            }
+        }
+    }
+
+    /**
+     * Só carrega a pilha do ponto em que o recurso foi aberto, para o relato no log.
+     */
+    private static final class Alocacao extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        Alocacao() {
+            super("Recurso aberto aqui");
+            // Tira do topo os quadros do próprio detector e dos proxies: a pilha começa em quem abriu
+            StackTraceElement[] pilha = getStackTrace();
+            int inicio = 0;
+            while (inicio < pilha.length - 1 && (pilha[inicio].getClassName().startsWith(DetectorVazamentos.class.getName())
+                    || pilha[inicio].getClassName().startsWith("jdk.proxy"))) {
+                inicio++;
+            }
+            setStackTrace(Arrays.copyOfRange(pilha, inicio, pilha.length));
+        }
+    }
+
+    private final class Recurso implements InvocationHandler {
+        private final Rastro rastro;
+
+        Recurso(Rastro rastro) {
+            this.rastro = rastro;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            String nome = metodo.getName();
+            if (nome.equals("equals") && args != null && args.length == 1) {
+                return proxy == args[0];
+            }
+            if (nome.equals("hashCode") && args == null) {
+                return System.identityHashCode(proxy);
+            }
+            Object resultado;
+            try {
+                resultado = metodo.invoke(rastro.alvo, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (nome.equals("close")) {
+                rastro.fechado = true;
+                abertos.remove(rastro);
+                return resultado;
+            }
+            if (resultado instanceof Statement comando && rastro.alvo instanceof Connection
+                    && (nome.equals("prepareStatement") || nome.equals("prepareCall") || nome.equals("createStatement"))) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String texto ? texto : null;
+                return rastrear(metodo.getReturnType(), comando, sql, rastro);
+            }
+            if (resultado instanceof ResultSet conjunto && rastro.alvo instanceof Statement
+                    && (nome.equals("executeQuery") || nome.equals("getResultSet") || nome.equals("getGeneratedKeys"))) {
+                String sql = nome.equals("executeQuery") && args != null && args.length > 0 ? (String) args[0] : null;
+                return rastrear(ResultSet.class, conjunto, sql, rastro);
+            }
+            // getConnection()/getStatement() devolvem o proxy do pai, não o recurso sem rastreio
+            if (rastro.pai != null && resultado == rastro.pai.alvo) {
+                return rastro.pai.proxy;
+            }
+            return resultado;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package dao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Converte a linha atual de um ResultSet em um objeto. Usado pelas consultas em fluxo dos DAOs JDBC,
+ * que cuidam de abrir e fechar o Statement e o ResultSet: o mapeador só lê as colunas da linha
+ * (não deve chamar next() nem guardar o ResultSet).
+ *
+ * @param <T> Tipo de cada linha.
+ */
+@FunctionalInterface
+public interface MapeadorLinha<T> {
+    T mapear(ResultSet linha) throws SQLException;
+}
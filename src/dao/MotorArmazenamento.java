@@ -0,0 +1,37 @@
+package dao;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Motor de armazenamento: fornece conexões e as implementações dos DAOs.
+ * O motor é escolhido na inicialização (ver {@link Armazenamento}); Controllers e serviços
+ * usam sempre as interfaces dos DAOs, então o mesmo código roda com ou sem banco.
+ */
+public interface MotorArmazenamento {
+
+    /**
+     * @return Nome do motor, para mensagens e logs (ex.: "jdbc", "memoria").
+     */
+    String getNome();
+
+    /**
+     * Obtém uma conexão. O chamador a fecha normalmente quando terminar.
+     * Motores sem banco devolvem uma conexão simbólica que aceita apenas o controle
+     * de transação (sem efeito) e close().
+     * @return Conexão pronta para uso.
+     * @throws SQLException Se não for possível obter uma conexão.
+     */
+    Connection obterConexao() throws SQLException;
+
+    AlimentoDAO alimentos(Connection conn);
+
+    PedidoDAO pedidos(Connection conn);
+
+    UsuarioDAO usuarios(Connection conn);
+
+    /**
+     * Libera os recursos do motor (conexões, threads). Chamado quando a aplicação é encerrada.
+     */
+    void encerrar();
+}
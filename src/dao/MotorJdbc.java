@@ -0,0 +1,41 @@
+package dao;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Motor padrão: DAOs JDBC sobre o pool de conexões do PostgreSQL (ver {@link Conexao}).
+ * Com -Dfeifood.consultasLentas.limiteMs as conexões passam pelo {@link ConsultasLentas}.
+ */
+public final class MotorJdbc implements MotorArmazenamento {
+
+    @Override
+    public String getNome() {
+        return "jdbc";
+    }
+
+    @Override
+    public Connection obterConexao() throws SQLException {
+        return ConsultasLentas.monitorar(Conexao.obterConexaoDoPool());
+    }
+
+    @Override
+    public AlimentoDAO alimentos(Connection conn) {
+        return new AlimentoDAOJdbc(conn);
+    }
+
+    @Override
+    public PedidoDAO pedidos(Connection conn) {
+        return new PedidoDAOJdbc(conn);
+    }
+
+    @Override
+    public UsuarioDAO usuarios(Connection conn) {
+        return new UsuarioDAOJdbc(conn);
+    }
+
+    @Override
+    public void encerrar() {
+        Conexao.encerrarPool();
+    }
+}
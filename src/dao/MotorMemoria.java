@@ -0,0 +1,216 @@
+package dao;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import model.Alimento;
+import model.Bebida;
+import model.Comida;
+import model.Estabelecimento;
+
+/**
+ * Motor de armazenamento inteiramente em memória, para rodar benchmarks e testes de carga
+ * sem banco. É thread-safe: os dados ficam em índices concorrentes (alimentos por ID,
+ * usuários por ID e por email, pedidos por ID e por usuário) e cada operação dos DAOs é
+ * atômica por si só. Não há transações: commit e rollback da conexão simbólica não têm efeito.
+ */
+public final class MotorMemoria implements MotorArmazenamento {
+
+    // Mesma ordem do histórico no banco: COALESCE(data_hora, '-infinity') DESC, id_pedido DESC
+    // (pedidos sem data contam como os mais antigos)
+    private static final Comparator<RegistroPedido> MAIS_RECENTE_PRIMEIRO =
+            Comparator.comparing((RegistroPedido p) -> p.dataHora, Comparator.nullsFirst(Comparator.naturalOrder())).reversed()
+                      .thenComparing(Comparator.comparingInt((RegistroPedido p) -> p.id).reversed());
+
+    final ConcurrentHashMap<Integer, Alimento> alimentosPorId = new ConcurrentHashMap<>();
+    final ConcurrentHashMap<Integer, RegistroUsuario> usuariosPorId = new ConcurrentHashMap<>();
+    final ConcurrentHashMap<String, RegistroUsuario> usuariosPorEmail = new ConcurrentHashMap<>();
+    final ConcurrentHashMap<Integer, RegistroPedido> pedidosPorId = new ConcurrentHashMap<>();
+    final ConcurrentHashMap<Integer, ConcurrentSkipListSet<RegistroPedido>> pedidosPorUsuario = new ConcurrentHashMap<>();
+
+    private final AtomicInteger sequenciaAlimento = new AtomicInteger();
+    private final AtomicInteger sequenciaEstabelecimento = new AtomicInteger();
+    final AtomicInteger sequenciaUsuario = new AtomicInteger();
+    final AtomicInteger sequenciaPedido = new AtomicInteger();
+
+    private final Connection conexao = (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[]{Connection.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "close":
+                    case "setAutoCommit":
+                    case "commit":
+                    case "rollback":
+                    case "clearWarnings":
+                        return null; // Sem transações: nada a fazer
+                    case "getAutoCommit":
+                    case "isValid":
+                        return true;
+                    case "isClosed":
+                    case "isReadOnly":
+                        return false;
+                    case "getWarnings":
+                        return null;
+                    case "toString":
+                        return "Conexão do armazenamento em memória";
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    default:
+                        throw new SQLFeatureNotSupportedException(
+                                "Operação não suportada pelo armazenamento em memória: " + method.getName());
+                }
+            });
+
+    /**
+     * Cria um motor vazio. Use {@link #cadastrarAlimento(Alimento)} e o UsuarioDAO para popular.
+     */
+    public MotorMemoria() {
+    }
+
+    /**
+     * Cria um motor com um pequeno catálogo e o usuário demo@feifood.com (senha "demo"),
+     * para usar a aplicação sem banco.
+     * @return O motor populado.
+     */
+    public static MotorMemoria comDadosDemonstracao() {
+        MotorMemoria motor = new MotorMemoria();
+        Estabelecimento cantina = motor.cadastrarEstabelecimento("Cantina do Campus", "Av. Humberto de A. C. Branco, 3972");
+        Estabelecimento lanchonete = motor.cadastrarEstabelecimento("Lanchonete Central", "Rua das Flores, 100");
+
+        motor.cadastrarAlimento(comPreco(new Comida(0, "Coxinha", "Coxinha de frango com catupiry", 0, cantina), 750));
+        motor.cadastrarAlimento(comPreco(new Comida(0, "Pão de Queijo", "Porção com 6 unidades", 0, cantina), 900));
+        motor.cadastrarAlimento(comPreco(new Comida(0, "Prato Feito", "Arroz, feijão, bife e salada", 0, cantina), 2490));
+        motor.cadastrarAlimento(comPreco(new Comida(0, "X-Salada", "Hambúrguer, queijo, alface e tomate", 0, lanchonete), 1850));
+        motor.cadastrarAlimento(comPreco(new Bebida(0, "Suco de Laranja", "Copo de 300ml", 0, cantina, 0.0), 800));
+        motor.cadastrarAlimento(comPreco(new Bebida(0, "Refrigerante", "Lata de 350ml", 0, lanchonete, 0.0), 600));
+        Bebida cerveja = comPreco(new Bebida(0, "Cerveja", "Long neck 355ml", 0, lanchonete, 5.0), 1200);
+        cerveja.setPercentualImposto(8.0);
+        motor.cadastrarAlimento(cerveja);
+
+        RegistroUsuario demo = new RegistroUsuario(motor.sequenciaUsuario.incrementAndGet(), "Demo", "demo@feifood.com", "demo");
+        motor.usuariosPorEmail.put(demo.email, demo);
+        motor.usuariosPorId.put(demo.id, demo);
+        return motor;
+    }
+
+    private static <T extends Alimento> T comPreco(T alimento, long precoCentavos) {
+        alimento.setPrecoCentavos(precoCentavos);
+        return alimento;
+    }
+
+    /**
+     * Cria um estabelecimento com o próximo ID livre.
+     * @param nome Nome do estabelecimento.
+     * @param endereco Endereço do estabelecimento.
+     * @return O estabelecimento criado.
+     */
+    public Estabelecimento cadastrarEstabelecimento(String nome, String endereco) {
+        return new Estabelecimento(sequenciaEstabelecimento.incrementAndGet(), nome, endereco);
+    }
+
+    /**
+     * Adiciona (ou substitui) um alimento no catálogo. Se o ID for 0 ou negativo, recebe o próximo
+     * ID livre. O alimento também entra no cardápio do seu estabelecimento.
+     * Use ao popular o motor, antes do uso concorrente: o alimento passa a ser compartilhado
+     * entre threads e não deve ser alterado depois de cadastrado.
+     * @param alimento O alimento a cadastrar.
+     * @return O ID do alimento.
+     */
+    public int cadastrarAlimento(Alimento alimento) {
+        if (alimento.getId() <= 0) {
+            alimento.setId(sequenciaAlimento.incrementAndGet());
+        } else {
+            sequenciaAlimento.accumulateAndGet(alimento.getId(), Math::max);
+        }
+        if (alimento.getEstabelecimento() != null) {
+            alimento.getEstabelecimento().adicionarAlimento(alimento);
+        }
+        alimentosPorId.put(alimento.getId(), alimento);
+        return alimento.getId();
+    }
+
+    @Override
+    public String getNome() {
+        return "memoria";
+    }
+
+    @Override
+    public Connection obterConexao() {
+        return conexao;
+    }
+
+    @Override
+    public AlimentoDAO alimentos(Connection conn) {
+        return new AlimentoDAOMemoria(this);
+    }
+
+    @Override
+    public PedidoDAO pedidos(Connection conn) {
+        return new PedidoDAOMemoria(this);
+    }
+
+    @Override
+    public UsuarioDAO usuarios(Connection conn) {
+        return new UsuarioDAOMemoria(this);
+    }
+
+    @Override
+    public void encerrar() {
+        // Nada a liberar: os dados vivem enquanto o motor for referenciado
+    }
+
+    /**
+     * Índice de pedidos de um usuário, do mais recente para o mais antigo.
+     */
+    ConcurrentSkipListSet<RegistroPedido> pedidosDoUsuario(int idUsuario) {
+        return pedidosPorUsuario.computeIfAbsent(idUsuario, id -> new ConcurrentSkipListSet<>(MAIS_RECENTE_PRIMEIRO));
+    }
+
+    /**
+     * Linha da "tabela" Usuario. Imutável: alterações substituem o registro.
+     */
+    static final class RegistroUsuario {
+        final int id;
+        final String nome;
+        final String email;
+        final String senha;
+
+        RegistroUsuario(int id, String nome, String email, String senha) {
+            this.id = id;
+            this.nome = nome;
+            this.email = email;
+            this.senha = senha;
+        }
+    }
+
+    /**
+     * Linha da "tabela" Pedido com seus itens (ID do alimento -> quantidade).
+     */
+    static final class RegistroPedido {
+        final int id;
+        final int idUsuario;
+        final LocalDateTime dataHora;
+        volatile Integer avaliacao;
+        final ConcurrentHashMap<Integer, Integer> itens = new ConcurrentHashMap<>();
+
+        RegistroPedido(int id, int idUsuario, LocalDateTime dataHora, Integer avaliacao) {
+            this.id = id;
+            this.idUsuario = idUsuario;
+            this.dataHora = dataHora;
+            this.avaliacao = avaliacao;
+        }
+    }
+
+    static SQLException violacaoChaveEstrangeira(String mensagem) {
+        return new SQLException(mensagem, "23503"); // Mesmo SQLState do PostgreSQL
+    }
+}
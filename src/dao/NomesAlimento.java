@@ -0,0 +1,35 @@
+package dao;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Nomes de alimentos compartilhados entre o catálogo e o histórico de pedidos.
+ * Cada linha lida do banco traz uma String nova para o nome; aqui o nome de cada alimento é
+ * guardado uma vez e as leituras seguintes devolvem essa mesma instância, de modo que um histórico
+ * longo com os mesmos alimentos não guarda uma cópia do nome por item. O tamanho fica limitado ao
+ * número de alimentos do catálogo.
+ */
+final class NomesAlimento {
+
+    private static final ConcurrentHashMap<Integer, String> NOMES = new ConcurrentHashMap<>();
+
+    private NomesAlimento() {
+    }
+
+    /**
+     * @param idAlimento O ID do alimento.
+     * @param nome O nome lido agora (pode ser null).
+     * @return A instância já guardada, se tiver o mesmo texto; senão o nome lido, que passa a ser a guardada.
+     */
+    static String compartilhar(int idAlimento, String nome) {
+        if (nome == null) {
+            return null;
+        }
+        String guardado = NOMES.get(idAlimento);
+        if (nome.equals(guardado)) {
+            return guardado;
+        }
+        NOMES.put(idAlimento, nome); // Alimento novo ou renomeado
+        return nome;
+    }
+}
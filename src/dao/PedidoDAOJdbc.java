@@ -0,0 +1,535 @@
+package dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement; 
+import java.sql.Timestamp; 
+import java.time.LocalDateTime;
+import model.ItemHistorico;
+import model.Pedido;
+import model.PedidoHistorico;
+import model.Alimento;
+import model.Usuario;
+import java.util.ArrayList; 
+import java.util.LinkedHashMap; 
+import java.util.List; 
+import java.util.Map;
+import java.util.function.Consumer;
+
+public class PedidoDAOJdbc implements PedidoDAO {
+
+    private Connection conn;
+
+    public PedidoDAOJdbc(Connection conn) {
+        this.conn = conn;
+    }
+
+    // Grava cabeçalho e itens em um único comando (padrão). Use -Dfeifood.pedido.insercaoUnica=false
+    // para voltar ao INSERT do pedido seguido do batch de itens.
+    private static final boolean INSERCAO_UNICA =
+            Boolean.parseBoolean(System.getProperty("feifood.pedido.insercaoUnica", "true"));
+
+    // Linhas (pedido x item) trazidas do banco por vez ao percorrer o histórico: os primeiros pedidos
+    // chegam sem esperar a página inteira. Ajuste com -Dfeifood.historico.tamanhoLote=N.
+    private static final int TAMANHO_LOTE_HISTORICO = Math.max(1, Integer.getInteger("feifood.historico.tamanhoLote", 100));
+
+    // Chave de ordem do histórico: data_hora pode ser NULL, e NULL não se compara na condição por
+    // chave da paginação. Pedidos sem data contam como os mais antigos (vêm por último), igual ao
+    // MotorMemoria. O índice precisa usar a mesma expressão:
+    // CREATE INDEX ... ON Pedido (id_usuario, COALESCE(data_hora, '-infinity'::timestamp) DESC, id_pedido DESC)
+    private static final String ORDEM_DATA_HORA = "COALESCE(data_hora, '-infinity'::timestamp)";
+
+    /**
+     * Indica se criarPedido grava o pedido inteiro em um único comando.
+     * Nesse caso o comando já é atômico e o chamador não precisa abrir uma transação.
+     * @return true se o modo de comando único estiver ativo.
+     */
+    @Override
+    public boolean isInsercaoUnica() {
+        return INSERCAO_UNICA;
+    }
+
+    /**
+     * Cria um novo pedido no banco de dados, incluindo seus itens.
+     * No modo padrão, pedido e itens são gravados em um único comando (uma ida ao banco,
+     * qualquer que seja o tamanho do carrinho). Caso contrário, insere na tabela Pedido
+     * e depois na tabela Pedido_Alimento; nesse modo, chame dentro de uma transação no Controller.
+     *
+     * @param pedido O objeto Pedido a ser inserido (deve conter o Usuario e os Itens).
+     * @return O ID do pedido criado.
+     * @throws SQLException Se ocorrer um erro no banco.
+     * @throws IllegalArgumentException Se o pedido não tiver um usuário associado.
+     */
+    @Override
+    public int criarPedido(Pedido pedido) throws SQLException {
+        if (pedido.getUsuario() == null || pedido.getUsuario().getId() <= 0) {
+            throw new IllegalArgumentException("Pedido deve estar associado a um usuário válido.");
+        }
+        return INSERCAO_UNICA ? criarPedidoComandoUnico(pedido) : criarPedidoEmEtapas(pedido);
+    }
+
+    /**
+     * Insere o pedido e seus itens com um único comando: o INSERT em Pedido devolve o id_pedido
+     * (RETURNING) para o INSERT em Pedido_Alimento, que lê os itens de dois arrays paralelos.
+     */
+    private int criarPedidoComandoUnico(Pedido pedido) throws SQLException {
+        String sql = "WITH novo AS (" +
+                     "    INSERT INTO Pedido (data_hora, avaliacao, id_usuario) VALUES (?, ?, ?) RETURNING id_pedido" +
+                     "), itens AS (" +
+                     "    INSERT INTO Pedido_Alimento (id_pedido, id_alimento, quantidade) " +
+                     "    SELECT novo.id_pedido, i.id_alimento, i.quantidade " +
+                     "    FROM novo, unnest(?::int[], ?::int[]) AS i(id_alimento, quantidade)" +
+                     ") " +
+                     "SELECT id_pedido FROM novo";
+
+        Integer[] idsAlimento = new Integer[pedido.getQuantidadeItens()];
+        Integer[] quantidades = new Integer[pedido.getQuantidadeItens()];
+        int[] i = {0};
+        pedido.paraCadaItem((alimento, quantidade) -> {
+            idsAlimento[i[0]] = alimento.getId();
+            quantidades[i[0]] = quantidade;
+            i[0]++;
+        });
+
+        try (PreparedStatement statement = conn.prepareStatement(sql)) {
+            statement.setTimestamp(1, Timestamp.valueOf(pedido.getDataHora() != null ? pedido.getDataHora() : LocalDateTime.now()));
+            // Trata avaliacao nula
+            if (pedido.getAvaliacao() != null) {
+                statement.setInt(2, pedido.getAvaliacao());
+            } else {
+                statement.setNull(2, java.sql.Types.INTEGER);
+            }
+            statement.setInt(3, pedido.getUsuario().getId());
+            statement.setArray(4, conn.createArrayOf("integer", idsAlimento));
+            statement.setArray(5, conn.createArrayOf("integer", quantidades));
+
+            try (ResultSet resultado = statement.executeQuery()) {
+                if (!resultado.next()) {
+                    throw new SQLException("Falha ao criar o pedido, nenhum ID obtido.");
+                }
+                int idPedidoCriado = resultado.getInt(1);
+                pedido.setId(idPedidoCriado); // Atualiza o ID no objeto Pedido
+                return idPedidoCriado;
+            }
+        }
+        // Não feche a conexão conn aqui
+    }
+
+    /**
+     * Modo antigo: INSERT em Pedido (RETURN_GENERATED_KEYS) e depois um batch em Pedido_Alimento.
+     */
+    private int criarPedidoEmEtapas(Pedido pedido) throws SQLException {
+        // 1. Inserir na tabela Pedido
+        String sqlPedido = "INSERT INTO Pedido (data_hora, avaliacao, id_usuario) VALUES (?, ?, ?)";
+        int idPedidoCriado = -1;
+
+        // Usamos RETURN_GENERATED_KEYS para obter o id_pedido criado
+        try (PreparedStatement statementPedido = conn.prepareStatement(sqlPedido, Statement.RETURN_GENERATED_KEYS)) {
+
+            statementPedido.setTimestamp(1, Timestamp.valueOf(pedido.getDataHora() != null ? pedido.getDataHora() : LocalDateTime.now()));
+            // Trata avaliacao nula
+            if (pedido.getAvaliacao() != null) {
+                statementPedido.setInt(2, pedido.getAvaliacao());
+            } else {
+                statementPedido.setNull(2, java.sql.Types.INTEGER);
+            }
+            statementPedido.setInt(3, pedido.getUsuario().getId());
+
+            int affectedRows = statementPedido.executeUpdate();
+
+            if (affectedRows == 0) {
+                throw new SQLException("Falha ao criar o pedido, nenhuma linha afetada.");
+            }
+
+            // Obter o ID gerado para o pedido
+            try (ResultSet generatedKeys = statementPedido.getGeneratedKeys()) {
+                if (generatedKeys.next()) {
+                    idPedidoCriado = generatedKeys.getInt(1);
+                    pedido.setId(idPedidoCriado); // Atualiza o ID no objeto Pedido
+                } else {
+                    throw new SQLException("Falha ao criar o pedido, nenhum ID obtido.");
+                }
+            }
+        } // try-with-resources fecha statementPedido
+
+        // 2. Inserir os itens na tabela Pedido_Alimento
+        if (idPedidoCriado > 0 && !pedido.isVazio()) {
+            String sqlItem = "INSERT INTO Pedido_Alimento (id_pedido, id_alimento, quantidade) VALUES (?, ?, ?)";
+            // Usar try-with-resources garante que o PreparedStatement seja fechado
+            try (PreparedStatement statementItem = conn.prepareStatement(sqlItem)) {
+                for (Map.Entry<Alimento, Integer> entry : pedido.getItens().entrySet()) {
+                    Alimento alimento = entry.getKey();
+                    Integer quantidade = entry.getValue();
+
+                    statementItem.setInt(1, idPedidoCriado);
+                    statementItem.setInt(2, alimento.getId());
+                    statementItem.setInt(3, quantidade);
+                    statementItem.addBatch(); // Adiciona o comando ao batch
+                }
+                statementItem.executeBatch(); // Executa todos os inserts de itens de uma vez
+            } // try-with-resources fecha statementItem
+        }
+        // Não feche a conexão conn aqui
+
+        return idPedidoCriado;
+    }
+
+    /**
+     * Adiciona um alimento específico a um pedido existente ou atualiza sua quantidade
+     * na tabela Pedido_Alimento.
+     *
+     * @param idPedido O ID do pedido a ser modificado.
+     * @param idAlimento O ID do alimento a ser adicionado/atualizado.
+     * @param quantidade A quantidade do alimento (se já existir, esta será a nova quantidade).
+     * @throws SQLException Se ocorrer um erro no banco.
+     */
+    @Override
+    public void adicionarOuAtualizarItemPedido(int idPedido, int idAlimento, int quantidade) throws SQLException {
+        if (quantidade <= 0) {
+            // Se a quantidade for zero ou negativa, remove o item
+            removerItemPedido(idPedido, idAlimento);
+            return;
+        }
+        // Tenta inserir, se houver conflito (chave primária id_pedido, id_alimento já existe), atualiza a quantidade
+        String sql = "INSERT INTO Pedido_Alimento (id_pedido, id_alimento, quantidade) VALUES (?, ?, ?) " +
+                     "ON CONFLICT (id_pedido, id_alimento) DO UPDATE SET quantidade = EXCLUDED.quantidade";
+        try (PreparedStatement statement = conn.prepareStatement(sql)) {
+            statement.setInt(1, idPedido);
+            statement.setInt(2, idAlimento);
+            statement.setInt(3, quantidade);
+            statement.executeUpdate();
+        } // try-with-resources fecha statement
+        // Não feche a conexão conn aqui
+    }
+
+     /**
+     * Remove um alimento específico de um pedido na tabela Pedido_Alimento.
+     *
+     * @param idPedido O ID do pedido.
+     * @param idAlimento O ID do alimento a ser removido.
+     * @throws SQLException Se ocorrer um erro no banco.
+     */
+    @Override
+    public void removerItemPedido(int idPedido, int idAlimento) throws SQLException {
+        String sql = "DELETE FROM Pedido_Alimento WHERE id_pedido = ? AND id_alimento = ?";
+        try (PreparedStatement statement = conn.prepareStatement(sql)) {
+            statement.setInt(1, idPedido);
+            statement.setInt(2, idAlimento);
+            statement.executeUpdate();
+        } // try-with-resources fecha statement
+        // Não feche a conexão conn aqui
+    }
+
+        /**
+     * Exclui um pedido da tabela Pedido.
+     * Graças ao "ON DELETE CASCADE" na definição da tabela Pedido_Alimento,
+     * os itens associados serão removidos automaticamente.
+     *
+     * @param idPedido O ID do pedido a ser excluído.
+     * @return true se o pedido foi excluído com sucesso (pelo menos 1 linha afetada),
+     * false se nenhum pedido com o ID foi encontrado.
+     * @throws SQLException Se ocorrer um erro no banco durante a execução do delete.
+     */
+    @Override
+    public boolean excluirPedido(int idPedido) throws SQLException {
+        String sql = "DELETE FROM Pedido WHERE id_pedido = ?";
+        int affectedRows = 0;
+        // try-with-resources garante que o PreparedStatement seja fechado
+        try (PreparedStatement statement = conn.prepareStatement(sql)) {
+            statement.setInt(1, idPedido);
+            affectedRows = statement.executeUpdate(); 
+        }
+        return affectedRows > 0;
+    }
+
+    /**
+     * Atualiza a avaliação de um pedido existente na tabela Pedido.
+     * Garante que a avaliação esteja entre 0 e 5.
+     *
+     * @param idPedido O ID do pedido a ser avaliado.
+     * @param novaAvaliacao A nova avaliação (deve ser um valor entre 0 e 5).
+     * @throws SQLException Se ocorrer um erro no banco ou se o pedido não for encontrado.
+     * @throws IllegalArgumentException Se a avaliação estiver fora do intervalo permitido (0-5).
+     */
+    @Override
+    public void avaliarPedido(int idPedido, int novaAvaliacao) throws SQLException {
+         if (novaAvaliacao < 0 || novaAvaliacao > 5) {
+            throw new IllegalArgumentException("A avaliação deve ser um valor inteiro entre 0 e 5.");
+         }
+
+        String sql = "UPDATE Pedido SET avaliacao = ? WHERE id_pedido = ?";
+         try (PreparedStatement statement = conn.prepareStatement(sql)) {
+            statement.setInt(1, novaAvaliacao);
+            statement.setInt(2, idPedido);
+
+            int affectedRows = statement.executeUpdate();
+
+            // *** MODIFICAÇÃO: Verifica se alguma linha foi afetada ***
+            if (affectedRows == 0) {
+                 // Lança uma exceção se o pedido com o ID fornecido não existir
+                 throw new SQLException("Pedido com ID " + idPedido + " não encontrado para avaliação.");
+            }
+         }
+         // Não feche a conexão conn aqui
+    }
+
+    /**
+     * Percorre os pedidos de um usuário, do mais recente para o mais antigo, entregando cada linha
+     * ao consumidor sem montar lista. Statement e ResultSet são fechados ao final.
+     * Colunas da linha: id_pedido, data_hora, avaliacao.
+     *
+     * @param idUsuario O ID do usuário cujos pedidos serão listados.
+     * @param tamanhoLote Linhas trazidas do banco por vez (0 = todas de uma vez).
+     * @param mapeador Converte cada linha.
+     * @param consumidor Recebe cada linha convertida, na ordem.
+     * @return Quantidade de pedidos percorridos.
+     * @throws SQLException Se ocorrer um erro no banco.
+     */
+    public <T> long percorrerPedidosPorUsuario(int idUsuario, int tamanhoLote, MapeadorLinha<T> mapeador,
+                                               Consumer<? super T> consumidor) throws SQLException {
+        String sql = "SELECT id_pedido, data_hora, avaliacao FROM Pedido WHERE id_usuario = ? ORDER BY data_hora DESC";
+        return ConsultaJdbc.percorrer(conn, sql, st -> st.setInt(1, idUsuario), tamanhoLote, mapeador, consumidor);
+    }
+
+    /**
+     * Como {@link #percorrerPedidosPorUsuario(int, int, MapeadorLinha, Consumer)}, com o tamanho de
+     * lote padrão (-Dfeifood.jdbc.tamanhoLote).
+     */
+    public <T> long percorrerPedidosPorUsuario(int idUsuario, MapeadorLinha<T> mapeador,
+                                               Consumer<? super T> consumidor) throws SQLException {
+        return percorrerPedidosPorUsuario(idUsuario, ConsultaJdbc.TAMANHO_LOTE_PADRAO, mapeador, consumidor);
+    }
+
+    // --- NOVO MÉTODO ---
+    /**
+     * Lista os itens (nome do alimento e quantidade) de um pedido específico.
+     *
+     * @param idPedido O ID do pedido cujos itens serão listados.
+     * @return Um Map onde a chave é o nome do Alimento (String) e o valor é a quantidade (Integer).
+     * @throws SQLException Se ocorrer um erro no banco.
+     */
+    @Override
+    public Map<String, Integer> listarItensPorPedido(int idPedido) throws SQLException {
+        Map<String, Integer> itens = new LinkedHashMap<>(); // LinkedHashMap mantém a ordem
+        String sql = "SELECT a.nome, pa.quantidade " +
+                     "FROM Pedido_Alimento pa " +
+                     "JOIN Alimento a ON pa.id_alimento = a.id_alimento " +
+                     "WHERE pa.id_pedido = ? " +
+                     "ORDER BY a.nome"; // Opcional: ordenar itens alfabeticamente
+
+        // try-with-resources garante que PreparedStatement e ResultSet sejam fechados
+        try (PreparedStatement statement = conn.prepareStatement(sql)) {
+            statement.setInt(1, idPedido);
+            try (ResultSet resultado = statement.executeQuery()) {
+                while (resultado.next()) {
+                    String nomeAlimento = resultado.getString("nome");
+                    int quantidade = resultado.getInt("quantidade");
+                    itens.put(nomeAlimento, quantidade);
+                }
+            }
+        }
+        // Não feche a conexão conn aqui
+        return itens;
+    }
+    
+    /**
+     * Lista os itens (ID do alimento, nome do alimento e quantidade) de um pedido específico.
+     *
+     * @param idPedido O ID do pedido cujos itens serão listados.
+     * @return Os itens ordenados pelo nome do alimento.
+     * @throws SQLException Se ocorrer um erro no banco.
+     */
+    @Override
+    public List<ItemHistorico> listarItensPorPedidoComId(int idPedido) throws SQLException {
+        List<ItemHistorico> itens = new ArrayList<>();
+        String sql = "SELECT a.id_alimento, a.nome, pa.quantidade " +
+                     "FROM Pedido_Alimento pa " +
+                     "JOIN Alimento a ON pa.id_alimento = a.id_alimento " +
+                     "WHERE pa.id_pedido = ? " +
+                     "ORDER BY a.nome";
+
+        try (PreparedStatement statement = conn.prepareStatement(sql)) {
+            statement.setInt(1, idPedido);
+            try (ResultSet resultado = statement.executeQuery()) {
+                while (resultado.next()) {
+                    itens.add(lerItemHistorico(resultado));
+                }
+            }
+        }
+        // Não feche a conexão conn aqui
+        return itens;
+    }
+
+    /**
+     * Lista todos os pedidos de um usuário já com seus itens, em uma única consulta.
+     * Substitui a combinação percorrerPedidosPorUsuario + listarItensPorPedidoComId por pedido,
+     * que custava uma ida ao banco para cada pedido do histórico.
+     *
+     * @param idUsuario O ID do usuário cujos pedidos serão listados.
+     * @return Pedidos do mais recente para o mais antigo; cada um com seus itens ordenados por nome.
+     * @throws SQLException Se ocorrer um erro no banco.
+     */
+    @Override
+    public List<PedidoHistorico> listarHistoricoPorUsuario(int idUsuario) throws SQLException {
+        List<PedidoHistorico> pedidos = new ArrayList<>();
+        // LEFT JOIN para manter pedidos sem itens; as linhas de um mesmo pedido chegam juntas
+        String sql = "SELECT p.id_pedido, p.data_hora, p.avaliacao, a.id_alimento, a.nome, pa.quantidade " +
+                     "FROM Pedido p " +
+                     "LEFT JOIN Pedido_Alimento pa ON pa.id_pedido = p.id_pedido " +
+                     "LEFT JOIN Alimento a ON a.id_alimento = pa.id_alimento " +
+                     "WHERE p.id_usuario = ? " +
+                     "ORDER BY COALESCE(p.data_hora, '-infinity'::timestamp) DESC, p.id_pedido DESC, a.nome";
+
+        try (PreparedStatement statement = conn.prepareStatement(sql)) {
+            statement.setInt(1, idUsuario);
+            try (ResultSet resultado = statement.executeQuery()) {
+                montarHistorico(resultado, pedidos::add);
+            }
+        }
+        // Não feche a conexão conn aqui
+        return pedidos;
+    }
+
+    /**
+     * Percorre uma página do histórico de um usuário, já com os itens, com paginação por chave:
+     * a página seguinte começa logo depois do último pedido da anterior na ordem
+     * (data_hora DESC, id_pedido DESC, pedidos sem data por último), sem OFFSET. Com um índice em
+     * Pedido (id_usuario, COALESCE(data_hora, '-infinity') DESC, id_pedido DESC) o custo de cada
+     * página não depende do tamanho do histórico.
+     * As linhas vêm do banco em lotes de TAMANHO_LOTE_HISTORICO (em uma transação própria, ver
+     * {@link ConsultaJdbc}) e cada pedido é entregue assim que as suas linhas terminam de chegar.
+     *
+     * @param idUsuario O ID do usuário cujos pedidos serão listados.
+     * @param aposPedido Último pedido da página anterior, ou null para a primeira página.
+     * @param limite Máximo de pedidos na página.
+     * @param destino Recebe os pedidos, do mais recente para o mais antigo.
+     * @return Quantidade de pedidos entregues; menor que limite quando não há mais.
+     * @throws SQLException Se ocorrer um erro no banco.
+     */
+    @Override
+    public int percorrerHistoricoPaginaPorUsuario(int idUsuario, PedidoHistorico aposPedido, int limite,
+                                                  Consumer<? super PedidoHistorico> destino) throws SQLException {
+        // O LIMIT vale para pedidos, não para linhas: a página é escolhida antes do JOIN com os itens
+        String sql = "SELECT p.id_pedido, p.data_hora, p.avaliacao, a.id_alimento, a.nome, pa.quantidade " +
+                     "FROM (SELECT id_pedido, data_hora, avaliacao, " + ORDEM_DATA_HORA + " AS ordem_data FROM Pedido " +
+                     "      WHERE id_usuario = ?" +
+                     (aposPedido != null
+                        ? " AND (" + ORDEM_DATA_HORA + ", id_pedido) < (COALESCE(?::timestamp, '-infinity'::timestamp), ?)"
+                        : "") +
+                     "      ORDER BY " + ORDEM_DATA_HORA + " DESC, id_pedido DESC LIMIT ?) p " +
+                     "LEFT JOIN Pedido_Alimento pa ON pa.id_pedido = p.id_pedido " +
+                     "LEFT JOIN Alimento a ON a.id_alimento = pa.id_alimento " +
+                     "ORDER BY p.ordem_data DESC, p.id_pedido DESC, a.nome";
+
+        int[] entregues = {0};
+        ConsultaJdbc.ler(conn, sql, statement -> {
+            int parametro = 1;
+            statement.setInt(parametro++, idUsuario);
+            if (aposPedido != null) {
+                LocalDateTime dataHora = aposPedido.getDataHora(); // null = pedido sem data
+                statement.setTimestamp(parametro++, dataHora != null ? Timestamp.valueOf(dataHora) : null);
+                statement.setInt(parametro++, aposPedido.getId());
+            }
+            statement.setInt(parametro, limite);
+        }, TAMANHO_LOTE_HISTORICO, resultado -> montarHistorico(resultado, pedido -> {
+            entregues[0]++;
+            destino.accept(pedido);
+        }));
+        // Não feche a conexão conn aqui
+        return entregues[0];
+    }
+
+    /**
+     * Agrupa as linhas (pedido x item) em pedidos. As linhas de um mesmo pedido chegam juntas;
+     * cada pedido é entregue assim que a primeira linha do seguinte aparece.
+     * Colunas: id_pedido, data_hora, avaliacao, id_alimento, nome, quantidade (item null = pedido sem itens).
+     */
+    private static void montarHistorico(ResultSet resultado, Consumer<PedidoHistorico> destino) throws SQLException {
+        // Cabeçalho do pedido em montagem; a lista de itens é reaproveitada entre pedidos
+        int idAtual = 0;
+        LocalDateTime dataHoraAtual = null;
+        int avaliacaoAtual = PedidoHistorico.SEM_AVALIACAO;
+        List<ItemHistorico> itensAtual = new ArrayList<>();
+        boolean montando = false;
+        while (resultado.next()) {
+            int idPedido = resultado.getInt("id_pedido");
+            if (!montando || idAtual != idPedido) {
+                if (montando) {
+                    destino.accept(new PedidoHistorico(idAtual, dataHoraAtual, avaliacaoAtual, itensAtual));
+                    itensAtual.clear();
+                }
+                montando = true;
+                idAtual = idPedido;
+                Timestamp ts = resultado.getTimestamp("data_hora");
+                dataHoraAtual = ts != null ? ts.toLocalDateTime() : null;
+                avaliacaoAtual = resultado.getInt("avaliacao");
+                if (resultado.wasNull()) {
+                    avaliacaoAtual = PedidoHistorico.SEM_AVALIACAO;
+                }
+            }
+
+            resultado.getInt("id_alimento");
+            if (!resultado.wasNull()) { // null = pedido sem itens
+                itensAtual.add(lerItemHistorico(resultado));
+            }
+        }
+        if (montando) {
+            destino.accept(new PedidoHistorico(idAtual, dataHoraAtual, avaliacaoAtual, itensAtual));
+        }
+    }
+
+    /**
+     * Lê o item da linha atual (colunas id_alimento, nome e quantidade), com o nome compartilhado.
+     */
+    private static ItemHistorico lerItemHistorico(ResultSet resultado) throws SQLException {
+        int idAlimento = resultado.getInt("id_alimento");
+        return new ItemHistorico(idAlimento, NomesAlimento.compartilhar(idAlimento, resultado.getString("nome")),
+                resultado.getInt("quantidade"));
+    }
+
+    /**
+     * Verifica se um item (alimento) específico existe em um determinado pedido.
+     *
+     * @param idPedido O ID do pedido.
+     * @param idAlimento O ID do alimento.
+     * @return true se o item existe no pedido, false caso contrário.
+     * @throws SQLException Se ocorrer um erro no banco.
+     */
+    @Override
+    public boolean verificarItemExisteNoPedido(int idPedido, int idAlimento) throws SQLException {
+        String sql = "SELECT 1 FROM Pedido_Alimento WHERE id_pedido = ? AND id_alimento = ?";
+        boolean existe = false;
+        // try-with-resources garante fechamento
+        try (PreparedStatement statement = conn.prepareStatement(sql)) {
+            statement.setInt(1, idPedido);
+            statement.setInt(2, idAlimento);
+            try (ResultSet resultado = statement.executeQuery()) {
+                existe = resultado.next(); // Retorna true se encontrar alguma linha
+            }
+        }
+        // Não feche a conexão conn aqui
+        return existe;
+    }
+
+    /**
+     * Verifica se um pedido existe e pertence ao usuário informado.
+     *
+     * @param idPedido O ID do pedido.
+     * @param idUsuario O ID do usuário.
+     * @return true se o pedido existe e é do usuário, false caso contrário.
+     * @throws SQLException Se ocorrer um erro no banco.
+     */
+    @Override
+    public boolean pertenceAoUsuario(int idPedido, int idUsuario) throws SQLException {
+        String sql = "SELECT 1 FROM Pedido WHERE id_pedido = ? AND id_usuario = ?";
+        try (PreparedStatement statement = conn.prepareStatement(sql)) {
+            statement.setInt(1, idPedido);
+            statement.setInt(2, idUsuario);
+            try (ResultSet resultado = statement.executeQuery()) {
+                return resultado.next();
+            }
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package dao;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.function.Consumer;
+import model.Alimento;
+import model.ItemHistorico;
+import model.Pedido;
+import model.PedidoHistorico;
+
+/**
+ * PedidoDAO sobre o {@link MotorMemoria}. Reproduz as regras do banco: o pedido precisa de
+ * um usuário existente, itens precisam de pedido e alimento existentes (SQLState 23503),
+ * e excluir um pedido remove seus itens.
+ */
+public class PedidoDAOMemoria implements PedidoDAO {
+
+    private final MotorMemoria motor;
+
+    PedidoDAOMemoria(MotorMemoria motor) {
+        this.motor = motor;
+    }
+
+    /**
+     * O pedido e seus itens são publicados de uma vez, então criarPedido já é atômico.
+     */
+    @Override
+    public boolean isInsercaoUnica() {
+        return true;
+    }
+
+    @Override
+    public int criarPedido(Pedido pedido) throws SQLException {
+        if (pedido.getUsuario() == null || pedido.getUsuario().getId() <= 0) {
+            throw new IllegalArgumentException("Pedido deve estar associado a um usuário válido.");
+        }
+        int idUsuario = pedido.getUsuario().getId();
+        if (!motor.usuariosPorId.containsKey(idUsuario)) {
+            throw MotorMemoria.violacaoChaveEstrangeira("Usuário com ID " + idUsuario + " não existe.");
+        }
+
+        LocalDateTime dataHora = pedido.getDataHora() != null ? pedido.getDataHora() : LocalDateTime.now();
+        MotorMemoria.RegistroPedido registro = new MotorMemoria.RegistroPedido(
+                motor.sequenciaPedido.incrementAndGet(), idUsuario, dataHora, pedido.getAvaliacao());
+        SQLException[] erro = {null};
+        pedido.paraCadaItem((alimento, quantidade) -> {
+            if (erro[0] == null && !motor.alimentosPorId.containsKey(alimento.getId())) {
+                erro[0] = MotorMemoria.violacaoChaveEstrangeira("Alimento com ID " + alimento.getId() + " não existe.");
+            }
+            registro.itens.put(alimento.getId(), quantidade);
+        });
+        if (erro[0] != null) {
+            throw erro[0]; // Nada foi publicado ainda
+        }
+
+        // Publica: primeiro o índice por ID, depois o índice do usuário
+        motor.pedidosPorId.put(registro.id, registro);
+        motor.pedidosDoUsuario(idUsuario).add(registro);
+        pedido.setId(registro.id); // Atualiza o ID no objeto Pedido
+        return registro.id;
+    }
+
+    @Override
+    public void adicionarOuAtualizarItemPedido(int idPedido, int idAlimento, int quantidade) throws SQLException {
+        if (quantidade <= 0) {
+            // Se a quantidade for zero ou negativa, remove o item
+            removerItemPedido(idPedido, idAlimento);
+            return;
+        }
+        MotorMemoria.RegistroPedido registro = motor.pedidosPorId.get(idPedido);
+        if (registro == null) {
+            throw MotorMemoria.violacaoChaveEstrangeira("Pedido com ID " + idPedido + " não existe.");
+        }
+        if (!motor.alimentosPorId.containsKey(idAlimento)) {
+            throw MotorMemoria.violacaoChaveEstrangeira("Alimento com ID " + idAlimento + " não existe.");
+        }
+        registro.itens.put(idAlimento, quantidade);
+    }
+
+    @Override
+    public void removerItemPedido(int idPedido, int idAlimento) {
+        MotorMemoria.RegistroPedido registro = motor.pedidosPorId.get(idPedido);
+        if (registro != null) {
+            registro.itens.remove(idAlimento);
+        }
+    }
+
+    @Override
+    public boolean excluirPedido(int idPedido) {
+        MotorMemoria.RegistroPedido registro = motor.pedidosPorId.remove(idPedido);
+        if (registro == null) {
+            return false;
+        }
+        Set<MotorMemoria.RegistroPedido> doUsuario = motor.pedidosPorUsuario.get(registro.idUsuario);
+        if (doUsuario != null) {
+            doUsuario.remove(registro);
+        }
+        return true;
+    }
+
+    @Override
+    public void avaliarPedido(int idPedido, int novaAvaliacao) throws SQLException {
+        if (novaAvaliacao < 0 || novaAvaliacao > 5) {
+            throw new IllegalArgumentException("A avaliação deve ser um valor inteiro entre 0 e 5.");
+        }
+        MotorMemoria.RegistroPedido registro = motor.pedidosPorId.get(idPedido);
+        if (registro == null) {
+            throw new SQLException("Pedido com ID " + idPedido + " não encontrado para avaliação.");
+        }
+        registro.avaliacao = novaAvaliacao;
+    }
+
+    @Override
+    public Map<String, Integer> listarItensPorPedido(int idPedido) {
+        Map<String, Integer> itens = new LinkedHashMap<>();
+        for (ItemHistorico item : itensOrdenados(motor.pedidosPorId.get(idPedido))) {
+            itens.put(item.getNome(), item.getQuantidade());
+        }
+        return itens;
+    }
+
+    @Override
+    public List<ItemHistorico> listarItensPorPedidoComId(int idPedido) {
+        return itensOrdenados(motor.pedidosPorId.get(idPedido));
+    }
+
+    @Override
+    public List<PedidoHistorico> listarHistoricoPorUsuario(int idUsuario) {
+        List<PedidoHistorico> pedidos = new ArrayList<>();
+        Set<MotorMemoria.RegistroPedido> doUsuario = motor.pedidosPorUsuario.get(idUsuario);
+        if (doUsuario == null) {
+            return pedidos;
+        }
+        for (MotorMemoria.RegistroPedido registro : doUsuario) { // Já em ordem: mais recente primeiro
+            pedidos.add(paraHistorico(registro));
+        }
+        return pedidos;
+    }
+
+    @Override
+    public int percorrerHistoricoPaginaPorUsuario(int idUsuario, PedidoHistorico aposPedido, int limite,
+                                                  Consumer<? super PedidoHistorico> destino) {
+        NavigableSet<MotorMemoria.RegistroPedido> doUsuario = motor.pedidosPorUsuario.get(idUsuario);
+        if (doUsuario == null) {
+            return 0;
+        }
+        if (aposPedido != null) {
+            // Registro de busca com a mesma chave da ordem (data_hora, id_pedido)
+            doUsuario = doUsuario.tailSet(new MotorMemoria.RegistroPedido(
+                    aposPedido.getId(), idUsuario, aposPedido.getDataHora(), null), false);
+        }
+        int entregues = 0;
+        for (MotorMemoria.RegistroPedido registro : doUsuario) {
+            if (entregues >= limite) {
+                break;
+            }
+            destino.accept(paraHistorico(registro));
+            entregues++;
+        }
+        return entregues;
+    }
+
+    @Override
+    public boolean verificarItemExisteNoPedido(int idPedido, int idAlimento) {
+        MotorMemoria.RegistroPedido registro = motor.pedidosPorId.get(idPedido);
+        return registro != null && registro.itens.containsKey(idAlimento);
+    }
+
+    @Override
+    public boolean pertenceAoUsuario(int idPedido, int idUsuario) {
+        MotorMemoria.RegistroPedido registro = motor.pedidosPorId.get(idPedido);
+        return registro != null && registro.idUsuario == idUsuario;
+    }
+
+    private PedidoHistorico paraHistorico(MotorMemoria.RegistroPedido registro) {
+        Integer avaliacao = registro.avaliacao;
+        return new PedidoHistorico(registro.id, registro.dataHora,
+                avaliacao != null ? avaliacao : PedidoHistorico.SEM_AVALIACAO, itensOrdenados(registro));
+    }
+
+    /**
+     * Itens do pedido ordenados pelo nome do alimento, como no JOIN com Alimento.
+     */
+    private List<ItemHistorico> itensOrdenados(MotorMemoria.RegistroPedido registro) {
+        List<ItemHistorico> itens = new ArrayList<>();
+        if (registro == null) {
+            return itens;
+        }
+        for (Map.Entry<Integer, Integer> entrada : registro.itens.entrySet()) {
+            Alimento alimento = motor.alimentosPorId.get(entrada.getKey());
+            if (alimento != null) {
+                itens.add(new ItemHistorico(alimento.getId(), alimento.getNome(), entrada.getValue()));
+            }
+        }
+        itens.sort((a, b) -> a.getNome().compareTo(b.getNome()));
+        return itens;
+    }
+}
@@ -0,0 +1,369 @@
+package dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import log.Log;
+import metrics.EventoConexao;
+
+/**
+ * Pool limitado de conexões JDBC compartilhado por todos os DAOs e Controllers.
+ * As conexões físicas (TLS + channel binding) são abertas uma única vez e reaproveitadas;
+ * quem chama {@code close()} na conexão entregue apenas a devolve ao pool.
+ */
+public final class PoolConexoes {
+
+    private static final Log LOG = Log.para(PoolConexoes.class);
+
+    /**
+     * Abre uma nova conexão física com o banco.
+     */
+    @FunctionalInterface
+    public interface FabricaConexao {
+        Connection abrir() throws SQLException;
+    }
+
+    private final FabricaConexao fabrica;
+    private final int tamanhoMinimo;
+    private final int tamanhoMaximo;
+    private final long tempoOciosoMaximoMs;
+    private final long tempoEsperaMaximoMs;
+    private final int tempoValidacaoSegundos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition conexaoDisponivel = lock.newCondition();
+    // Conexões livres; a mais recente fica no topo (LIFO) para que as antigas expirem
+    private final Deque<ConexaoOciosa> ociosas = new ArrayDeque<>();
+    private int totalAbertas; // ociosas + emprestadas + em abertura
+    private boolean encerrado;
+
+    private final ScheduledExecutorService manutencao;
+
+    /**
+     * @param fabrica Abre as conexões físicas.
+     * @param tamanhoMinimo Quantidade de conexões mantidas abertas mesmo ociosas.
+     * @param tamanhoMaximo Limite de conexões abertas ao mesmo tempo.
+     * @param tempoOciosoMaximoMs Tempo após o qual uma conexão ociosa acima do mínimo é fechada.
+     * @param tempoEsperaMaximoMs Tempo máximo de espera por uma conexão livre.
+     * @param tempoValidacaoSegundos Timeout do {@code isValid} feito a cada empréstimo.
+     */
+    public PoolConexoes(FabricaConexao fabrica, int tamanhoMinimo, int tamanhoMaximo,
+                        long tempoOciosoMaximoMs, long tempoEsperaMaximoMs, int tempoValidacaoSegundos) {
+        if (tamanhoMinimo < 0 || tamanhoMaximo <= 0 || tamanhoMinimo > tamanhoMaximo) {
+            throw new IllegalArgumentException("Tamanhos de pool inválidos: min=" + tamanhoMinimo + ", max=" + tamanhoMaximo);
+        }
+        this.fabrica = fabrica;
+        this.tamanhoMinimo = tamanhoMinimo;
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.tempoOciosoMaximoMs = tempoOciosoMaximoMs;
+        this.tempoEsperaMaximoMs = tempoEsperaMaximoMs;
+        this.tempoValidacaoSegundos = tempoValidacaoSegundos;
+
+        this.manutencao = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "feifood-pool-manutencao");
+            t.setDaemon(true);
+            return t;
+        });
+        long intervalo = Math.max(1000, tempoOciosoMaximoMs / 2);
+        manutencao.scheduleWithFixedDelay(this::manter, 0, intervalo, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Empresta uma conexão do pool, validando-a antes de entregar.
+     * Abre uma nova conexão física se não houver livres e o limite não tiver sido atingido;
+     * caso contrário espera até {@code tempoEsperaMaximoMs}.
+     * @return Conexão cujo {@code close()} a devolve ao pool.
+     * @throws SQLException Se o pool estiver encerrado, o tempo de espera esgotar ou a abertura falhar.
+     */
+    public Connection obterConexao() throws SQLException {
+        EventoConexao evento = new EventoConexao();
+        evento.begin();
+        Connection fisica = null;
+        try {
+            fisica = obterFisica();
+            return embrulhar(fisica);
+        } finally {
+            evento.concluir(EventoConexao.EMPRESTAR, fisica, fisica == null);
+        }
+    }
+
+    private Connection obterFisica() throws SQLException {
+        long prazo = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(tempoEsperaMaximoMs);
+        while (true) {
+            ConexaoOciosa ociosa = null;
+            boolean abrirNova = false;
+
+            lock.lock();
+            try {
+                while (true) {
+                    if (encerrado) {
+                        throw new SQLException("Pool de conexões encerrado.");
+                    }
+                    ociosa = ociosas.pollFirst();
+                    if (ociosa != null) {
+                        break;
+                    }
+                    if (totalAbertas < tamanhoMaximo) {
+                        totalAbertas++; // Reserva a vaga antes de abrir fora do lock
+                        abrirNova = true;
+                        break;
+                    }
+                    long restante = prazo - System.nanoTime();
+                    if (restante <= 0) {
+                        throw new SQLException("Tempo esgotado aguardando conexão livre no pool (" + tempoEsperaMaximoMs + " ms).");
+                    }
+                    try {
+                        conexaoDisponivel.awaitNanos(restante);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("Interrompido aguardando conexão do pool.", e);
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (abrirNova) {
+                return abrirFisica();
+            }
+            if (validar(ociosa.fisica)) {
+                return ociosa.fisica;
+            }
+            descartar(ociosa.fisica); // Conexão morta: tenta a próxima
+        }
+    }
+
+    /**
+     * Fecha todas as conexões ociosas e impede novos empréstimos.
+     * Conexões ainda emprestadas são fechadas quando devolvidas.
+     */
+    public void encerrar() {
+        List<ConexaoOciosa> paraFechar;
+        lock.lock();
+        try {
+            if (encerrado) {
+                return;
+            }
+            encerrado = true;
+            paraFechar = new ArrayList<>(ociosas);
+            totalAbertas -= ociosas.size();
+            ociosas.clear();
+            conexaoDisponivel.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        manutencao.shutdownNow();
+        for (ConexaoOciosa c : paraFechar) {
+            fecharSilenciosamente(c.fisica);
+        }
+    }
+
+    public boolean isEncerrado() {
+        lock.lock();
+        try {
+            return encerrado;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // --- Internos ---
+
+    private Connection abrirFisica() throws SQLException {
+        try {
+            return fabrica.abrir();
+        } catch (SQLException | RuntimeException e) {
+            liberarVaga();
+            throw e;
+        }
+    }
+
+    private boolean validar(Connection fisica) {
+        try {
+            return !fisica.isClosed() && fisica.isValid(tempoValidacaoSegundos);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Recebe de volta a conexão física quando o chamador fecha o proxy.
+     * Desfaz transações pendentes e restaura o autoCommit antes de reaproveitá-la.
+     */
+    private void devolver(Connection fisica) {
+        EventoConexao evento = new EventoConexao();
+        evento.begin();
+        boolean reutilizavel;
+        try {
+            if (!fisica.getAutoCommit()) {
+                fisica.rollback();
+                fisica.setAutoCommit(true);
+            }
+            reutilizavel = !fisica.isClosed();
+        } catch (SQLException e) {
+            reutilizavel = false;
+        }
+
+        lock.lock();
+        try {
+            if (reutilizavel && !encerrado) {
+                ociosas.addFirst(new ConexaoOciosa(fisica, System.nanoTime()));
+                conexaoDisponivel.signal();
+                return;
+            }
+        } finally {
+            lock.unlock();
+            evento.concluir(EventoConexao.DEVOLVER, fisica, !reutilizavel);
+        }
+        descartar(fisica);
+    }
+
+    private void descartar(Connection fisica) {
+        fecharSilenciosamente(fisica);
+        liberarVaga();
+    }
+
+    private void liberarVaga() {
+        liberarVagas(1);
+    }
+
+    /**
+     * Devolve vagas reservadas cujas conexões não chegaram a ser abertas.
+     */
+    private void liberarVagas(int quantidade) {
+        lock.lock();
+        try {
+            totalAbertas -= quantidade;
+            if (quantidade == 1) {
+                conexaoDisponivel.signal();
+            } else {
+                conexaoDisponivel.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Tarefa periódica: fecha conexões ociosas há mais tempo que o limite (respeitando o mínimo)
+     * e abre conexões até completar o tamanho mínimo.
+     */
+    private void manter() {
+        List<Connection> expiradas = new ArrayList<>();
+        int faltando;
+        lock.lock();
+        try {
+            if (encerrado) {
+                return;
+            }
+            long limite = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(tempoOciosoMaximoMs);
+            // As mais antigas ficam no fim da fila
+            Iterator<ConexaoOciosa> it = ociosas.descendingIterator();
+            while (it.hasNext() && totalAbertas > tamanhoMinimo) {
+                ConexaoOciosa c = it.next();
+                if (c.ociosaDesde - limite > 0) {
+                    break;
+                }
+                it.remove();
+                totalAbertas--;
+                expiradas.add(c.fisica);
+            }
+            faltando = Math.max(0, tamanhoMinimo - totalAbertas);
+            totalAbertas += faltando;
+        } finally {
+            lock.unlock();
+        }
+
+        for (Connection fisica : expiradas) {
+            fecharSilenciosamente(fisica);
+        }
+        for (int i = 0; i < faltando; i++) {
+            try {
+                devolver(fabrica.abrir());
+            } catch (SQLException | RuntimeException e) {
+                liberarVagas(faltando - i); // Esta vaga e as reservadas que ainda não foram abertas
+                LOG.aviso("Erro ao abrir conexão mínima do pool", "erro", e.getMessage());
+                return; // Tenta novamente na próxima rodada
+            }
+        }
+    }
+
+    private Connection embrulhar(Connection fisica) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new ConexaoEmprestada(fisica));
+    }
+
+    private static void fecharSilenciosamente(Connection fisica) {
+        EventoConexao evento = new EventoConexao();
+        evento.begin();
+        boolean falhou = true;
+        try {
+            fisica.close();
+            falhou = false;
+        } catch (SQLException e) {
+            LOG.aviso("Erro ao fechar conexão física do pool", "erro", e.getMessage());
+        } finally {
+            evento.concluir(EventoConexao.FECHAR, fisica, falhou);
+        }
+    }
+
+    private record ConexaoOciosa(Connection fisica, long ociosaDesde) {
+    }
+
+    /**
+     * Proxy entregue aos chamadores: {@code close()} devolve a conexão ao pool
+     * e qualquer uso depois disso é rejeitado.
+     */
+    private final class ConexaoEmprestada implements InvocationHandler {
+        private final Connection fisica;
+        private boolean devolvida;
+
+        ConexaoEmprestada(Connection fisica) {
+            this.fisica = fisica;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!devolvida) {
+                        devolvida = true;
+                        devolver(fisica);
+                    }
+                    return null;
+                case "isClosed":
+                    return devolvida || fisica.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "ConexaoEmprestada[" + fisica + (devolvida ? ", devolvida" : "") + "]";
+                default:
+                    if (devolvida) {
+                        throw new SQLException("Conexão já devolvida ao pool.");
+                    }
+                    try {
+                        return method.invoke(fisica, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        }
+    }
+}
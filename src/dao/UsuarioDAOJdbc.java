@@ -0,0 +1,130 @@
+package dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.ResultSet;
+import model.Usuario; // Importa o modelo Usuario
+
+public class UsuarioDAOJdbc implements UsuarioDAO {
+    private Connection conn; // A conexão é recebida no construtor
+
+    /**
+     * Construtor que recebe a conexão com o banco de dados.
+     * @param conn A conexão JDBC.
+     */
+    public UsuarioDAOJdbc(Connection conn) {
+        this.conn = conn;
+    }
+
+    /**
+     * Consulta um usuário no banco de dados pelo email e senha.
+     * Colunas da linha: id_usuario, nome, email, senha.
+     * @param usu Objeto Usuario contendo o email e a senha para consulta.
+     * @param mapeador Converte a linha encontrada.
+     * @return A linha mapeada, ou null se nenhum usuário tiver esse email e senha.
+     * @throws SQLException Se ocorrer um erro no banco de dados.
+     */
+    public <T> T consultar(Usuario usu, MapeadorLinha<T> mapeador) throws SQLException {
+        String sql = "SELECT id_usuario, nome, email, senha FROM Usuario WHERE email = ? AND senha = ?";
+        return ConsultaJdbc.buscarUm(conn, sql, st -> {
+            st.setString(1, usu.getEmail());
+            st.setString(2, usu.getSenha());
+        }, mapeador);
+    }
+
+    /**
+     * Busca o usuário com o email e a senha informados. Usado para a funcionalidade de login.
+     * @param email O email do usuário.
+     * @param senha A senha do usuário.
+     * @return O usuário (com ID e nome) se encontrado, ou null caso contrário.
+     * @throws SQLException Se ocorrer um erro no banco de dados.
+     */
+    @Override
+    public Usuario autenticar(String email, String senha) throws SQLException {
+        String sql = "SELECT id_usuario, nome, email, senha FROM Usuario WHERE email = ? AND senha = ?";
+        try (PreparedStatement statement = conn.prepareStatement(sql)) {
+            statement.setString(1, email);
+            statement.setString(2, senha);
+            try (ResultSet resultado = statement.executeQuery()) {
+                if (resultado.next()) {
+                    return new Usuario(resultado.getInt("id_usuario"), resultado.getString("nome"),
+                            resultado.getString("email"), resultado.getString("senha"));
+                }
+            }
+        }
+        // Não feche a conexão conn aqui
+        return null;
+    }
+
+    /**
+     * Insere um novo usuário no banco de dados.
+     * Usado para a funcionalidade de cadastro.
+     * @param usu Objeto Usuario contendo nome, email e senha.
+     * @throws SQLException Se ocorrer um erro no banco de dados.
+     */
+    @Override
+    public void inserir(Usuario usu) throws SQLException {
+        // SQL ajustado para 'Usuario', 'email' e usando PreparedStatement para segurança
+        String sql = "INSERT INTO Usuario (nome, email, senha) VALUES (?, ?, ?)";
+        PreparedStatement statement = conn.prepareStatement(sql);
+
+        // Define os parâmetros
+        statement.setString(1, usu.getNome());
+        statement.setString(2, usu.getEmail()); // Usa getEmail()
+        statement.setString(3, usu.getSenha()); // Idealmente, deveria ser um hash da senha
+
+        // Executa a inserção
+        statement.executeUpdate(); // executeUpdate() é mais apropriado para INSERT/UPDATE/DELETE
+
+        // Fecha o PreparedStatement (boa prática dentro do método DAO)
+        statement.close();
+        // Não feche a conexão aqui (conn.close())
+    }
+
+    /**
+     * Atualiza a senha de um usuário existente, identificado pelo email.
+     * (Pode ser adaptado para atualizar outros campos se necessário).
+     * @param usu Objeto Usuario contendo o email (para identificar o usuário) e a nova senha.
+     * @throws SQLException Se ocorrer um erro no banco de dados.
+     */
+    @Override
+    public void atualizar(Usuario usu) throws SQLException {
+        // SQL ajustado para 'Usuario', 'email' e usando PreparedStatement
+        String sql = "UPDATE Usuario SET senha = ? WHERE email = ?";
+        PreparedStatement statement = conn.prepareStatement(sql);
+
+        // Define os parâmetros (nova senha, email para o WHERE)
+        statement.setString(1, usu.getSenha()); // Nova senha
+        statement.setString(2, usu.getEmail()); // Email para identificar o usuário
+
+        // Executa a atualização
+        statement.executeUpdate();
+
+        // Fecha o PreparedStatement
+        statement.close();
+        // Não feche a conexão aqui
+    }
+
+    /**
+     * Remove um usuário do banco de dados, identificado pelo email.
+     * @param usu Objeto Usuario contendo o email do usuário a ser removido.
+     * @throws SQLException Se ocorrer um erro no banco de dados.
+     */
+    @Override
+    public void remover(Usuario usu) throws SQLException {
+        // SQL ajustado para 'Usuario', 'email' e usando PreparedStatement
+        String sql = "DELETE FROM Usuario WHERE email = ?";
+        PreparedStatement statement = conn.prepareStatement(sql);
+
+        // Define o parâmetro (email para o WHERE)
+        statement.setString(1, usu.getEmail()); // Email para identificar o usuário
+
+        // Executa a remoção
+        statement.executeUpdate();
+
+        // Fecha o PreparedStatement
+        statement.close();
+        // Não feche a conexão aqui
+    }
+}
\ No newline at end of file
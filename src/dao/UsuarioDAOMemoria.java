@@ -0,0 +1,60 @@
+package dao;
+
+import java.sql.SQLException;
+import java.util.Set;
+import model.Usuario;
+
+/**
+ * UsuarioDAO sobre o {@link MotorMemoria}. O email é único, como na tabela Usuario.
+ */
+public class UsuarioDAOMemoria implements UsuarioDAO {
+
+    private final MotorMemoria motor;
+
+    UsuarioDAOMemoria(MotorMemoria motor) {
+        this.motor = motor;
+    }
+
+    @Override
+    public Usuario autenticar(String email, String senha) {
+        MotorMemoria.RegistroUsuario registro = motor.usuariosPorEmail.get(email);
+        if (registro == null || !registro.senha.equals(senha)) {
+            return null;
+        }
+        return new Usuario(registro.id, registro.nome, registro.email, registro.senha);
+    }
+
+    @Override
+    public void inserir(Usuario usu) throws SQLException {
+        MotorMemoria.RegistroUsuario novo = new MotorMemoria.RegistroUsuario(
+                motor.sequenciaUsuario.incrementAndGet(), usu.getNome(), usu.getEmail(), usu.getSenha());
+        if (motor.usuariosPorEmail.putIfAbsent(novo.email, novo) != null) {
+            throw new SQLException("Já existe um usuário com o email " + usu.getEmail() + ".", "23505");
+        }
+        motor.usuariosPorId.put(novo.id, novo);
+    }
+
+    @Override
+    public void atualizar(Usuario usu) {
+        MotorMemoria.RegistroUsuario atualizado = motor.usuariosPorEmail.computeIfPresent(usu.getEmail(),
+                (email, atual) -> new MotorMemoria.RegistroUsuario(atual.id, atual.nome, email, usu.getSenha()));
+        if (atualizado != null) {
+            motor.usuariosPorId.put(atualizado.id, atualizado);
+        }
+    }
+
+    @Override
+    public void remover(Usuario usu) {
+        MotorMemoria.RegistroUsuario removido = motor.usuariosPorEmail.remove(usu.getEmail());
+        if (removido != null) {
+            motor.usuariosPorId.remove(removido.id);
+            // Remove também os pedidos do usuário
+            Set<MotorMemoria.RegistroPedido> pedidos = motor.pedidosPorUsuario.remove(removido.id);
+            if (pedidos != null) {
+                for (MotorMemoria.RegistroPedido pedido : pedidos) {
+                    motor.pedidosPorId.remove(pedido.id);
+                }
+            }
+        }
+    }
+}
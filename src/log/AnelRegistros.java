@@ -0,0 +1,92 @@
+package log;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Buffer circular sem lock com vários produtores e um único consumidor.
+ * Cada produtor reserva uma posição com CAS e publica o item marcando a posição com o número
+ * da sua sequência; o consumidor lê na ordem enquanto as posições estiverem publicadas.
+ * Com o anel cheio o item é descartado (e contado): quem produz nunca espera.
+ *
+ * @param <T> Tipo dos itens.
+ */
+final class AnelRegistros<T> {
+
+    private final int mascara;
+    private final AtomicReferenceArray<T> itens;
+    // Sequência publicada em cada posição (-1 = vazia); a escrita aqui libera o item ao consumidor
+    private final AtomicLongArray publicados;
+    private final AtomicLong proximo = new AtomicLong(); // Próxima sequência a reservar
+    private volatile long lido;                           // Próxima sequência a consumir (só o consumidor escreve)
+    private final LongAdder descartados = new LongAdder();
+
+    /**
+     * @param capacidade Número de posições; arredondado para a próxima potência de 2.
+     */
+    AnelRegistros(int capacidade) {
+        int tamanho = Integer.highestOneBit(Math.max(2, capacidade - 1)) << 1;
+        this.mascara = tamanho - 1;
+        this.itens = new AtomicReferenceArray<>(tamanho);
+        this.publicados = new AtomicLongArray(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            publicados.set(i, -1);
+        }
+    }
+
+    /**
+     * Publica um item. Pode ser chamado por qualquer thread.
+     * @param item O item.
+     * @return false se o anel estava cheio e o item foi descartado.
+     */
+    boolean publicar(T item) {
+        long sequencia;
+        do {
+            sequencia = proximo.get();
+            if (sequencia - lido > mascara) {
+                descartados.increment();
+                return false;
+            }
+        } while (!proximo.compareAndSet(sequencia, sequencia + 1));
+        int posicao = (int) sequencia & mascara;
+        itens.lazySet(posicao, item);
+        publicados.set(posicao, sequencia);
+        return true;
+    }
+
+    /**
+     * Retira o próximo item publicado. Apenas o consumidor chama.
+     * @return O item, ou null se não houver item publicado.
+     */
+    T retirar() {
+        long sequencia = lido;
+        int posicao = (int) sequencia & mascara;
+        if (publicados.get(posicao) != sequencia) {
+            return null; // Vazio, ou o produtor reservou a posição e ainda não publicou
+        }
+        T item = itens.get(posicao);
+        itens.lazySet(posicao, null);
+        lido = sequencia + 1; // Libera a posição para os produtores
+        return item;
+    }
+
+    /**
+     * @return Itens publicados (ou reservados) e ainda não retirados; aproximado sob concorrência.
+     */
+    int ocupados() {
+        return (int) Math.min(proximo.get() - lido, mascara + 1);
+    }
+
+    int getCapacidade() {
+        return mascara + 1;
+    }
+
+    /**
+     * @return Itens descartados por falta de espaço desde a última chamada (o contador é zerado).
+     */
+    long retirarDescartados() {
+        return descartados.sumThenReset();
+    }
+}
@@ -0,0 +1,132 @@
+package log;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Arquivo de log com rotação por tamanho: ao passar do limite, "x.log" vira "x.log.1",
+ * "x.log.1" vira "x.log.2" e assim por diante; o mais antigo além do limite de arquivos é
+ * apagado. Thread-safe: cada {@link #escrever(CharSequence)} grava o texto inteiro de uma vez.
+ */
+public final class ArquivoRotativo implements AutoCloseable {
+
+    private final Path arquivo;
+    private final long tamanhoMaximo;
+    private final int arquivosAntigos;
+    private Writer escritor; // protegido por this
+    private long tamanhoAtual;
+
+    /**
+     * @param arquivo Caminho do arquivo atual (a pasta é criada se não existir).
+     * @param tamanhoMaximo Tamanho em bytes a partir do qual o arquivo é rotacionado.
+     * @param arquivosAntigos Quantos arquivos rotacionados manter (0 = apenas trunca).
+     */
+    public ArquivoRotativo(Path arquivo, long tamanhoMaximo, int arquivosAntigos) {
+        this.arquivo = arquivo.toAbsolutePath();
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.arquivosAntigos = arquivosAntigos;
+    }
+
+    public Path getArquivo() {
+        return arquivo;
+    }
+
+    /**
+     * Acrescenta o texto ao arquivo e o envia ao disco, rotacionando antes se necessário.
+     * @param texto O texto (normalmente terminado em quebra de linha).
+     * @throws IOException Se não for possível gravar.
+     */
+    public synchronized void escrever(CharSequence texto) throws IOException {
+        acrescentar(texto);
+        escritor.flush();
+    }
+
+    /**
+     * Acrescenta o texto sem enviar ao disco; use {@link #descarregar()} ao fim de um lote.
+     * @param texto O texto a gravar.
+     * @throws IOException Se não for possível gravar.
+     */
+    public synchronized void acrescentar(CharSequence texto) throws IOException {
+        abrirSeNecessario();
+        long bytes = tamanhoUtf8(texto);
+        if (tamanhoAtual > 0 && tamanhoAtual + bytes > tamanhoMaximo) {
+            rotacionar();
+        }
+        escritor.append(texto);
+        tamanhoAtual += bytes;
+    }
+
+    /**
+     * Envia ao disco o que foi acrescentado.
+     * @throws IOException Se não for possível gravar.
+     */
+    public synchronized void descarregar() throws IOException {
+        if (escritor != null) {
+            escritor.flush();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (escritor != null) {
+            escritor.close();
+            escritor = null;
+        }
+    }
+
+    private void abrirSeNecessario() throws IOException {
+        if (escritor != null) {
+            return;
+        }
+        if (arquivo.getParent() != null) {
+            Files.createDirectories(arquivo.getParent());
+        }
+        tamanhoAtual = Files.exists(arquivo) ? Files.size(arquivo) : 0;
+        escritor = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private void rotacionar() throws IOException {
+        escritor.close();
+        escritor = null;
+        if (arquivosAntigos > 0) {
+            Files.deleteIfExists(antigo(arquivosAntigos));
+            for (int i = arquivosAntigos - 1; i >= 1; i--) {
+                if (Files.exists(antigo(i))) {
+                    Files.move(antigo(i), antigo(i + 1), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            Files.move(arquivo, antigo(1), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.deleteIfExists(arquivo);
+        }
+        abrirSeNecessario();
+    }
+
+    private static long tamanhoUtf8(CharSequence texto) {
+        long bytes = 0;
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c < 0x80) {
+                bytes += 1;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                bytes += 4; // Par substituto: 4 bytes no total
+                i++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    private Path antigo(int numero) {
+        return arquivo.resolveSibling(arquivo.getFileName() + "." + numero);
+    }
+}
@@ -0,0 +1,251 @@
+package log;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Log estruturado assíncrono. Quem registra (inclusive a EDT) apenas publica o registro em um
+ * {@link AnelRegistros} sem lock; uma thread em segundo plano formata e grava em lotes no arquivo
+ * rotativo (e no System.err). Nunca bloqueia: com o buffer cheio, o registro é descartado e a
+ * quantidade descartada aparece no log em seguida.
+ *
+ * Cada linha tem data, nível, thread, origem, mensagem e os campos chave=valor:
+ * <pre>2026-10-17T20:40:00.123 AVISO [AWT-EventQueue-0] controller.ControleMenu - Erro ao devolver conexão tarefa=historico erro="..."</pre>
+ * Os valores dos campos são convertidos em texto pela thread de gravação: passe valores imutáveis
+ * (textos, números), não objetos que a tela continua alterando.
+ *
+ * Configuração (-D...):
+ *   feifood.log.nivel=N           DEBUG, INFO, AVISO ou ERRO (padrão: INFO)
+ *   feifood.log.arquivo           arquivo do log (padrão: logs/feifood.log; vazio = só console)
+ *   feifood.log.tamanhoMaxKb      tamanho para rotacionar (padrão: 1024) e
+ *   feifood.log.arquivos          quantos arquivos antigos manter (padrão: 5)
+ *   feifood.log.console=false     não repete as linhas no System.err
+ *   feifood.log.capacidade=N      registros que cabem no buffer (padrão: 8192)
+ */
+public final class Log {
+
+    public enum Nivel {
+        DEBUG, INFO, AVISO, ERRO
+    }
+
+    private static final Nivel NIVEL_MINIMO = Nivel.valueOf(
+            System.getProperty("feifood.log.nivel", "INFO").trim().toUpperCase(Locale.ROOT));
+
+    private final String origem;
+
+    private Log(String origem) {
+        this.origem = origem;
+    }
+
+    /**
+     * @param classe Classe que registra; o nome completo aparece como origem das linhas.
+     * @return O log da classe. Guarde em um campo static final.
+     */
+    public static Log para(Class<?> classe) {
+        return new Log(classe.getName());
+    }
+
+    /**
+     * @return true se registros do nível são gravados (para evitar montar campos caros à toa).
+     */
+    public boolean isAtivo(Nivel nivel) {
+        return nivel.compareTo(NIVEL_MINIMO) >= 0;
+    }
+
+    /**
+     * @param mensagem Texto fixo do evento (sem concatenar valores: use os campos).
+     * @param campos Pares chave, valor (ex.: "pedido", 42, "tarefa", "historico").
+     */
+    public void debug(String mensagem, Object... campos) {
+        registrar(Nivel.DEBUG, mensagem, null, campos);
+    }
+
+    public void info(String mensagem, Object... campos) {
+        registrar(Nivel.INFO, mensagem, null, campos);
+    }
+
+    public void aviso(String mensagem, Object... campos) {
+        registrar(Nivel.AVISO, mensagem, null, campos);
+    }
+
+    /**
+     * @param mensagem Texto fixo do evento.
+     * @param erro Exceção, gravada com a pilha abaixo da linha (pode ser null).
+     * @param campos Pares chave, valor.
+     */
+    public void erro(String mensagem, Throwable erro, Object... campos) {
+        registrar(Nivel.ERRO, mensagem, erro, campos);
+    }
+
+    private void registrar(Nivel nivel, String mensagem, Throwable erro, Object[] campos) {
+        if (!isAtivo(nivel)) {
+            return;
+        }
+        Gravador gravador = Gravador.INSTANCIA;
+        gravador.anel.publicar(new Registro(System.currentTimeMillis(), nivel,
+                Thread.currentThread().getName(), origem, mensagem, campos, erro));
+        if (gravador.anel.ocupados() >= gravador.anel.getCapacidade() / 2) {
+            LockSupport.unpark(gravador.thread); // Rajada: não espera a próxima rodada da gravação
+        }
+    }
+
+    /**
+     * Grava tudo o que já foi registrado antes de retornar. Também é feito automaticamente
+     * quando a JVM termina.
+     */
+    public static void descarregar() {
+        Gravador.INSTANCIA.drenar();
+    }
+
+    private record Registro(long instante, Nivel nivel, String thread, String origem,
+                            String mensagem, Object[] campos, Throwable erro) {
+    }
+
+    /**
+     * Consumidor único do anel: formata e grava os registros na thread "gravar-log".
+     * Criado no primeiro registro.
+     */
+    private static final class Gravador {
+
+        private static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS");
+        private static final long ESPERA_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+        private static final int LOTE_MAXIMO = 512;
+        // Por último: o construtor usa as constantes acima
+        private static final Gravador INSTANCIA = new Gravador();
+
+        private final AnelRegistros<Registro> anel = new AnelRegistros<>(Integer.getInteger("feifood.log.capacidade", 8192));
+        private final ArquivoRotativo arquivo;
+        private final boolean console = Boolean.parseBoolean(System.getProperty("feifood.log.console", "true"));
+        private final ZoneId fuso = ZoneId.systemDefault();
+        private final StringBuilder lote = new StringBuilder(8192); // Protegido por this
+        private final Thread thread;
+
+        private Gravador() {
+            String caminho = System.getProperty("feifood.log.arquivo", "logs/feifood.log");
+            arquivo = caminho.isBlank() ? null : new ArquivoRotativo(Paths.get(caminho),
+                    Long.getLong("feifood.log.tamanhoMaxKb", 1024L) * 1024,
+                    Integer.getInteger("feifood.log.arquivos", 5));
+
+            thread = new Thread(this::gravarContinuamente, "gravar-log");
+            thread.setDaemon(true);
+            thread.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(this::drenar, "descarregar-log"));
+        }
+
+        private void gravarContinuamente() {
+            while (true) {
+                if (drenar() == 0) {
+                    LockSupport.parkNanos(ESPERA_NANOS);
+                }
+            }
+        }
+
+        /**
+         * Grava os registros publicados até agora, em lotes. Sincronizado: o anel só pode ter
+         * um consumidor por vez (a thread de gravação ou quem chama {@link Log#descarregar()}).
+         * @return Quantos registros foram gravados.
+         */
+        private synchronized int drenar() {
+            int total = 0;
+            while (true) {
+                int noLote = 0;
+                long descartados = anel.retirarDescartados();
+                if (descartados > 0) {
+                    formatarDescartados(descartados);
+                }
+                Registro registro;
+                while (noLote < LOTE_MAXIMO && (registro = anel.retirar()) != null) {
+                    formatar(registro);
+                    noLote++;
+                }
+                if (lote.length() == 0) {
+                    return total;
+                }
+                gravarLote();
+                total += noLote;
+            }
+        }
+
+        private void gravarLote() {
+            if (console) {
+                System.err.print(lote);
+            }
+            if (arquivo != null) {
+                try {
+                    arquivo.acrescentar(lote);
+                    arquivo.descarregar();
+                } catch (IOException e) {
+                    System.err.println("Erro ao gravar log em " + arquivo.getArquivo() + ": " + e.getMessage());
+                }
+            }
+            lote.setLength(0);
+        }
+
+        private void formatar(Registro registro) {
+            FORMATO_DATA.formatTo(LocalDateTime.ofInstant(Instant.ofEpochMilli(registro.instante()), fuso), lote);
+            lote.append(' ').append(registro.nivel())
+                    .append(" [").append(registro.thread()).append("] ")
+                    .append(registro.origem()).append(" - ").append(registro.mensagem());
+            Object[] campos = registro.campos();
+            for (int i = 0; i + 1 < campos.length; i += 2) {
+                lote.append(' ').append(campos[i]).append('=');
+                acrescentarValor(campos[i + 1]);
+            }
+            if (campos.length % 2 != 0) {
+                lote.append(" ?=");
+                acrescentarValor(campos[campos.length - 1]); // Campo sem chave: não perde o valor
+            }
+            lote.append('\n');
+            if (registro.erro() != null) {
+                StringWriter pilha = new StringWriter();
+                registro.erro().printStackTrace(new PrintWriter(pilha));
+                lote.append(pilha);
+            }
+        }
+
+        private void formatarDescartados(long descartados) {
+            FORMATO_DATA.formatTo(LocalDateTime.now(fuso), lote);
+            lote.append(' ').append(Nivel.AVISO).append(" [gravar-log] ").append(Log.class.getName())
+                    .append(" - Registros descartados com o buffer cheio quantidade=").append(descartados).append('\n');
+        }
+
+        /**
+         * Valores com espaço, aspas, '=' ou quebra de linha vão entre aspas (com escape), para
+         * que cada registro continue em uma linha e possa ser separado em campos.
+         */
+        private void acrescentarValor(Object valor) {
+            String texto = String.valueOf(valor);
+            boolean aspas = texto.isEmpty();
+            for (int i = 0; i < texto.length() && !aspas; i++) {
+                char c = texto.charAt(i);
+                aspas = c <= ' ' || c == '"' || c == '=';
+            }
+            if (!aspas) {
+                lote.append(texto);
+                return;
+            }
+            lote.append('"');
+            for (int i = 0; i < texto.length(); i++) {
+                char c = texto.charAt(i);
+                switch (c) {
+                    case '"' -> lote.append("\\\"");
+                    case '\\' -> lote.append("\\\\");
+                    case '\n' -> lote.append("\\n");
+                    case '\r' -> lote.append("\\r");
+                    case '\t' -> lote.append("\\t");
+                    default -> lote.append(c);
+                }
+            }
+            lote.append('"');
+        }
+    }
+}
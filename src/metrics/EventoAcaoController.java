@@ -0,0 +1,53 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento do Java Flight Recorder para uma ação de tela (ControleMenu, ControleLogin, ControleCadastro):
+ * do clique até o resultado estar pronto na EDT (sem o tempo dos pop-ups, que esperam o usuário). Nas ações em segundo plano o campo "Thread do trabalho"
+ * aponta a virtual thread que executou as consultas, onde ficam os {@link EventoChamadaDao}.
+ *
+ * Sem gravação JFR ativa begin/end/commit não fazem nada (o JIT elimina o evento).
+ * Para gravar: -XX:StartFlightRecording:filename=feifood.jfr ou jcmd PID JFR.start.
+ */
+@Name("feifood.AcaoController")
+@Label("Ação do Controller")
+@Category({"FEIfood", "Controller"})
+@Description("Ação disparada pela tela, do clique até o resultado chegar à EDT")
+@StackTrace(false)
+public final class EventoAcaoController extends Event {
+
+    @Label("Controller")
+    public String controller;
+
+    @Label("Ação")
+    public String acao;
+
+    @Label("Resultado")
+    @Description("ok, recusada (dados inválidos), erro ou cancelada (substituída por uma ação mais nova)")
+    public String resultado;
+
+    @Label("Thread do trabalho")
+    public Thread threadTrabalho;
+
+    /**
+     * Encerra a medição e grava o evento, se houver gravação interessada nele.
+     * @param controller Nome do controller (ex.: "ControleMenu").
+     * @param acao Nome da ação (ex.: "fazerPedido").
+     * @param resultado "ok", "recusada", "erro" ou "cancelada".
+     */
+    public void concluir(String controller, String acao, String resultado) {
+        end();
+        if (shouldCommit()) {
+            this.controller = controller;
+            this.acao = acao;
+            this.resultado = resultado;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento do Java Flight Recorder para cada chamada de DAO que acessa o armazenamento,
+ * com o mesmo nome de operação usado em {@link RegistroMetricas} (ex.: "PedidoDAO.criarPedido").
+ * Emitido pelo mesmo proxy que coleta as métricas: com -Dfeifood.metricas=false não há eventos de DAO.
+ */
+@Name("feifood.ChamadaDao")
+@Label("Chamada de DAO")
+@Category({"FEIfood", "DAO"})
+@Description("Método de DAO que acessa o banco (ou o motor em memória)")
+public final class EventoChamadaDao extends Event {
+
+    @Label("Operação")
+    public String operacao;
+
+    @Label("Motor")
+    public String motor;
+
+    @Label("Linhas")
+    @Description("Itens devolvidos (listas e mapas), 1/0 para buscas, inserções e verificações; -1 sem retorno ou com erro")
+    public long linhas;
+
+    @Label("Falhou")
+    public boolean falhou;
+}
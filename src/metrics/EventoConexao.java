@@ -0,0 +1,50 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento do Java Flight Recorder para o ciclo de vida das conexões: abertura e fechamento
+ * das conexões físicas e empréstimo/devolução no pool. A duração é o tempo da própria
+ * operação (ex.: espera por uma conexão livre no empréstimo).
+ */
+@Name("feifood.Conexao")
+@Label("Conexão")
+@Category({"FEIfood", "Conexão"})
+@Description("Abertura, fechamento, empréstimo e devolução de conexões com o banco")
+public final class EventoConexao extends Event {
+
+    public static final String ABRIR = "abrir";
+    public static final String FECHAR = "fechar";
+    public static final String EMPRESTAR = "emprestar";
+    public static final String DEVOLVER = "devolver";
+
+    @Label("Operação")
+    public String operacao;
+
+    @Label("Conexão física")
+    @Description("Identificador da conexão física (identityHashCode), para seguir uma conexão entre eventos")
+    public int idConexao;
+
+    @Label("Falhou")
+    public boolean falhou;
+
+    /**
+     * Encerra a medição e grava o evento, se houver gravação interessada nele.
+     * @param operacao {@link #ABRIR}, {@link #FECHAR}, {@link #EMPRESTAR} ou {@link #DEVOLVER}.
+     * @param fisica A conexão física envolvida (null se a operação falhou antes de obtê-la).
+     * @param falhou Se a operação terminou com erro.
+     */
+    public void concluir(String operacao, Object fisica, boolean falhou) {
+        end();
+        if (shouldCommit()) {
+            this.operacao = operacao;
+            this.idConexao = fisica == null ? 0 : System.identityHashCode(fisica);
+            this.falhou = falhou;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latências em nanossegundos, no estilo HDR: faixas log-lineares com
+ * {@value #SUBFAIXAS} subdivisões por potência de 2, o que dá erro relativo de no máximo
+ * ~3% em qualquer percentil, de 1 ns até o maior long, em memória fixa (~15 KB).
+ * <p>
+ * {@link #registrar(long)} não aloca nem usa locks e pode ser chamado por várias threads ao
+ * mesmo tempo. As leituras (percentis, média) não são um retrato atômico: registros feitos
+ * durante a leitura podem ou não entrar nela.
+ */
+public final class HistogramaLatencia {
+
+    private static final int BITS_SUBFAIXA = 5;
+    static final int SUBFAIXAS = 1 << BITS_SUBFAIXA;
+    // Valores abaixo de SUBFAIXAS ficam em faixas exatas; cada potência de 2 acima ganha SUBFAIXAS faixas
+    private static final int TOTAL_FAIXAS = (63 - BITS_SUBFAIXA + 1) * SUBFAIXAS;
+
+    private final AtomicLongArray contagens = new AtomicLongArray(TOTAL_FAIXAS);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder somaNanos = new LongAdder();
+    private final LongAccumulator maximo = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Registra uma medição.
+     * @param nanos A duração em nanossegundos (valores negativos contam como 0).
+     */
+    public void registrar(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        contagens.incrementAndGet(indice(nanos));
+        total.increment();
+        somaNanos.add(nanos);
+        maximo.accumulate(nanos);
+    }
+
+    /**
+     * @return Quantidade de medições registradas.
+     */
+    public long getContagem() {
+        return total.sum();
+    }
+
+    /**
+     * @return Soma de todas as medições, em nanossegundos.
+     */
+    public long getSomaNanos() {
+        return somaNanos.sum();
+    }
+
+    /**
+     * @return Maior medição registrada, em nanossegundos (0 se não houver medições).
+     */
+    public long getMaximoNanos() {
+        return maximo.get();
+    }
+
+    /**
+     * @return Média das medições, em nanossegundos (0 se não houver medições).
+     */
+    public double getMediaNanos() {
+        long n = getContagem();
+        return n == 0 ? 0 : (double) getSomaNanos() / n;
+    }
+
+    /**
+     * @param percentil O percentil desejado, de 0 a 100 (ex.: 99.9).
+     * @return O valor do percentil em nanossegundos (limite superior da faixa, sem passar do
+     *         máximo registrado), ou 0 se não houver medições.
+     */
+    public long percentil(double percentil) {
+        if (percentil < 0 || percentil > 100) {
+            throw new IllegalArgumentException("Percentil fora do intervalo 0-100: " + percentil);
+        }
+        long[] copia = new long[TOTAL_FAIXAS];
+        long n = 0;
+        for (int i = 0; i < TOTAL_FAIXAS; i++) {
+            copia[i] = contagens.get(i);
+            n += copia[i];
+        }
+        if (n == 0) {
+            return 0;
+        }
+        long alvo = Math.max(1, (long) Math.ceil(percentil / 100.0 * n));
+        long acumulado = 0;
+        for (int i = 0; i < TOTAL_FAIXAS; i++) {
+            acumulado += copia[i];
+            if (acumulado >= alvo) {
+                return Math.min(limiteSuperior(i), getMaximoNanos());
+            }
+        }
+        return getMaximoNanos();
+    }
+
+    /**
+     * Soma ao histograma as medições de outro (ex.: juntar os histogramas de várias threads).
+     * @param outro O histograma a somar.
+     */
+    public void somar(HistogramaLatencia outro) {
+        for (int i = 0; i < TOTAL_FAIXAS; i++) {
+            long c = outro.contagens.get(i);
+            if (c != 0) {
+                contagens.addAndGet(i, c);
+            }
+        }
+        total.add(outro.getContagem());
+        somaNanos.add(outro.getSomaNanos());
+        maximo.accumulate(outro.getMaximoNanos());
+    }
+
+    /**
+     * Descarta todas as medições.
+     */
+    public void zerar() {
+        for (int i = 0; i < TOTAL_FAIXAS; i++) {
+            contagens.set(i, 0);
+        }
+        total.reset();
+        somaNanos.reset();
+        maximo.reset();
+    }
+
+    /**
+     * @param nanos Um valor em nanossegundos.
+     * @return O valor em milissegundos, com casas decimais (para relatórios).
+     */
+    public static double emMilissegundos(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    static int indice(long valor) {
+        if (valor < SUBFAIXAS) {
+            return (int) valor;
+        }
+        int expoente = 63 - Long.numberOfLeadingZeros(valor) - BITS_SUBFAIXA; // 0..57
+        int subfaixa = (int) (valor >>> expoente) - SUBFAIXAS;                // 0..31
+        return SUBFAIXAS + expoente * SUBFAIXAS + subfaixa;
+    }
+
+    static long limiteSuperior(int indice) {
+        if (indice < SUBFAIXAS) {
+            return indice;
+        }
+        int expoente = (indice - SUBFAIXAS) / SUBFAIXAS;
+        long inicio = (long) ((indice - SUBFAIXAS) % SUBFAIXAS + SUBFAIXAS) << expoente;
+        return inicio + (1L << expoente) - 1;
+    }
+}
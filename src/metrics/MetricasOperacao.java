@@ -0,0 +1,103 @@
+package metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores de uma operação (ex.: "PedidoDAO.criarPedido"): chamadas, erros e histograma
+ * de latência. Publicada no JMX como FEIfood:type=Operacao,name=&lt;nome&gt;.
+ * Todos os registros são sem lock e podem vir de qualquer thread.
+ */
+public final class MetricasOperacao implements MetricasOperacaoMBean {
+
+    private final String nome;
+    private final LongAdder chamadas = new LongAdder();
+    private final LongAdder erros = new LongAdder();
+    private final HistogramaLatencia latencias = new HistogramaLatencia();
+
+    MetricasOperacao(String nome) {
+        this.nome = nome;
+    }
+
+    /**
+     * Registra uma chamada concluída.
+     * @param inicioNanos Valor de System.nanoTime() no início da chamada.
+     * @param falhou true se a chamada terminou com exceção.
+     */
+    public void registrar(long inicioNanos, boolean falhou) {
+        registrarDuracao(System.nanoTime() - inicioNanos, falhou);
+    }
+
+    /**
+     * Registra uma chamada concluída cuja duração já foi medida por quem chama.
+     * @param duracaoNanos Duração da chamada em nanossegundos.
+     * @param falhou true se a chamada terminou com exceção.
+     */
+    public void registrarDuracao(long duracaoNanos, boolean falhou) {
+        latencias.registrar(duracaoNanos);
+        chamadas.increment();
+        if (falhou) {
+            erros.increment();
+        }
+    }
+
+    public HistogramaLatencia getLatencias() {
+        return latencias;
+    }
+
+    @Override
+    public String getNome() {
+        return nome;
+    }
+
+    @Override
+    public long getChamadas() {
+        return chamadas.sum();
+    }
+
+    @Override
+    public long getErros() {
+        return erros.sum();
+    }
+
+    @Override
+    public double getMediaMs() {
+        return latencias.getMediaNanos() / 1e6;
+    }
+
+    @Override
+    public double getP50Ms() {
+        return HistogramaLatencia.emMilissegundos(latencias.percentil(50));
+    }
+
+    @Override
+    public double getP90Ms() {
+        return HistogramaLatencia.emMilissegundos(latencias.percentil(90));
+    }
+
+    @Override
+    public double getP99Ms() {
+        return HistogramaLatencia.emMilissegundos(latencias.percentil(99));
+    }
+
+    @Override
+    public double getP999Ms() {
+        return HistogramaLatencia.emMilissegundos(latencias.percentil(99.9));
+    }
+
+    @Override
+    public double getMaximoMs() {
+        return HistogramaLatencia.emMilissegundos(latencias.getMaximoNanos());
+    }
+
+    @Override
+    public double getTempoTotalMs() {
+        return latencias.getSomaNanos() / 1e6;
+    }
+
+    @Override
+    public void zerar() {
+        chamadas.reset();
+        erros.reset();
+        latencias.zerar();
+    }
+}
@@ -0,0 +1,32 @@
+package metrics;
+
+/**
+ * Interface JMX de {@link MetricasOperacao}. Tempos em milissegundos.
+ */
+public interface MetricasOperacaoMBean {
+
+    String getNome();
+
+    long getChamadas();
+
+    long getErros();
+
+    double getMediaMs();
+
+    double getP50Ms();
+
+    double getP90Ms();
+
+    double getP99Ms();
+
+    double getP999Ms();
+
+    double getMaximoMs();
+
+    /**
+     * @return Soma do tempo de todas as chamadas: mostra quais operações dominam o total.
+     */
+    double getTempoTotalMs();
+
+    void zerar();
+}
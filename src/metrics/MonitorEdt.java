@@ -0,0 +1,305 @@
+package metrics;
+
+import java.awt.AWTEvent;
+import java.awt.Component;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+import java.awt.Window;
+import java.awt.event.ActionEvent;
+import java.awt.event.InvocationEvent;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseEvent;
+import java.awt.event.PaintEvent;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import javax.swing.AbstractButton;
+import javax.swing.SwingUtilities;
+import log.ArquivoRotativo;
+import log.Log;
+
+/**
+ * Detector de travamentos da Event Dispatch Thread. Substitui a fila de eventos do AWT por uma
+ * que mede cada evento; uma thread de vigia amostra a pilha da EDT enquanto um evento passa do
+ * limite. Ao terminar, o travamento vai para o log com a ação que o disparou (ex.: "Menu.Fazer Pedido")
+ * e as pilhas amostradas, e a duração entra nas métricas "EDT.&lt;ação&gt;" do {@link RegistroMetricas}
+ * (histograma por ação, disponível no JMX e no resumo).
+ *
+ * Diálogos modais abertos durante um evento rodam um laço de eventos aninhado: o evento externo
+ * para de ser medido enquanto o laço despacha ou espera eventos (a espera pelo usuário não conta)
+ * e volta a ser medido quando o diálogo fecha.
+ *
+ * Configuração (-D...):
+ *   feifood.edt.limiteMs=N         duração a partir da qual um evento é um travamento (padrão: 200; 0 desliga)
+ *   feifood.edt.amostraMs=N        intervalo entre amostras da pilha durante o travamento (padrão: 100)
+ *   feifood.edt.amostras=N         máximo de amostras por travamento (padrão: 20)
+ *   feifood.edt.arquivo            arquivo do log (padrão: logs/edt-travamentos.log)
+ *   feifood.edt.tamanhoMaxKb       tamanho para rotacionar (padrão: 1024) e
+ *   feifood.edt.arquivos           quantos arquivos antigos manter (padrão: 5)
+ */
+public final class MonitorEdt extends EventQueue {
+
+    private static final Log LOG = Log.para(MonitorEdt.class);
+
+    // Evento ainda em andamento depois disso é relatado sem esperar o fim (EDT possivelmente em deadlock)
+    private static final long TRAVADA_NANOS = TimeUnit.SECONDS.toNanos(5);
+    private static final int MAXIMO_QUADROS = 40;
+
+    private static MonitorEdt instalado;
+
+    private final long limiteNanos;
+    private final long amostraNanos;
+    private final int maximoAmostras;
+    private final ArquivoRotativo arquivo;
+    // Despacho em andamento na EDT; lido pela vigia
+    private volatile Despacho atual;
+    // Travamentos concluídos, gravados pela vigia (a EDT não faz E/S de log)
+    private final ConcurrentLinkedQueue<Despacho> concluidos = new ConcurrentLinkedQueue<>();
+
+    private MonitorEdt(long limiteMs, long amostraMs, int maximoAmostras, ArquivoRotativo arquivo) {
+        this.limiteNanos = TimeUnit.MILLISECONDS.toNanos(limiteMs);
+        this.amostraNanos = TimeUnit.MILLISECONDS.toNanos(amostraMs);
+        this.maximoAmostras = maximoAmostras;
+        this.arquivo = arquivo;
+    }
+
+    /**
+     * Instala o monitor na fila de eventos do AWT, se não estiver desligado. Chamado ao abrir a
+     * interface, antes da primeira janela; chamadas repetidas não têm efeito.
+     */
+    public static synchronized void instalar() {
+        long limiteMs = Long.getLong("feifood.edt.limiteMs", 200L);
+        if (instalado != null || limiteMs <= 0) {
+            return;
+        }
+        long amostraMs = Math.max(1, Long.getLong("feifood.edt.amostraMs", 100L));
+        ArquivoRotativo arquivo = new ArquivoRotativo(
+                Paths.get(System.getProperty("feifood.edt.arquivo", "logs/edt-travamentos.log")),
+                Long.getLong("feifood.edt.tamanhoMaxKb", 1024L) * 1024,
+                Integer.getInteger("feifood.edt.arquivos", 5));
+        instalado = new MonitorEdt(limiteMs, amostraMs, Math.max(1, Integer.getInteger("feifood.edt.amostras", 20)), arquivo);
+
+        Thread vigia = new Thread(instalado::vigiar, "monitor-edt");
+        vigia.setDaemon(true);
+        vigia.start();
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(instalado);
+    }
+
+    @Override
+    protected void dispatchEvent(AWTEvent evento) {
+        long inicio = System.nanoTime();
+        Despacho externo = atual;
+        if (externo != null) {
+            encerrar(externo, inicio); // Laço aninhado (diálogo modal): o evento externo para de contar
+        }
+        atual = new Despacho(evento, Thread.currentThread(), inicio, false);
+        try {
+            super.dispatchEvent(evento);
+        } finally {
+            long fim = System.nanoTime();
+            encerrar(atual, fim);
+            // O evento externo continua depois do diálogo: volta a ser medido a partir daqui
+            atual = externo == null ? null : new Despacho(externo.evento, externo.edt, fim, true);
+        }
+    }
+
+    @Override
+    public AWTEvent getNextEvent() throws InterruptedException {
+        Despacho continuacao = atual;
+        if (continuacao == null) {
+            return super.getNextEvent(); // Laço principal: nada em andamento
+        }
+        // Laço aninhado esperando eventos: a EDT está livre, o evento externo não está travando
+        encerrar(continuacao, System.nanoTime());
+        atual = null;
+        try {
+            return super.getNextEvent();
+        } finally {
+            atual = new Despacho(continuacao.evento, continuacao.edt, System.nanoTime(), true);
+        }
+    }
+
+    private void encerrar(Despacho despacho, long fim) {
+        long duracao = fim - despacho.inicio;
+        synchronized (despacho) {
+            despacho.duracaoNanos = duracao; // A partir daqui a vigia não amostra mais
+        }
+        if (duracao < limiteNanos) {
+            return;
+        }
+        despacho.acao = descrever(despacho.evento);
+        RegistroMetricas.getInstancia().operacao("EDT." + despacho.acao).registrarDuracao(duracao, false);
+        concluidos.add(despacho);
+    }
+
+    // --- Vigia ---
+
+    private void vigiar() {
+        long intervaloMs = Math.max(5, TimeUnit.NANOSECONDS.toMillis(Math.min(limiteNanos, amostraNanos)) / 2);
+        while (true) {
+            try {
+                Thread.sleep(intervaloMs);
+            } catch (InterruptedException e) {
+                return;
+            }
+            Despacho despacho = atual;
+            if (despacho != null) {
+                amostrar(despacho, System.nanoTime());
+            }
+            Despacho concluido;
+            while ((concluido = concluidos.poll()) != null) {
+                gravar(relatar(concluido, false));
+            }
+        }
+    }
+
+    private void amostrar(Despacho despacho, long agora) {
+        long decorrido = agora - despacho.inicio;
+        if (decorrido < limiteNanos) {
+            return;
+        }
+        boolean relatarTravada = false;
+        synchronized (despacho) {
+            if (despacho.duracaoNanos >= 0) {
+                return; // Terminou enquanto a vigia olhava
+            }
+            if (despacho.amostras.size() < maximoAmostras
+                    && (despacho.amostras.isEmpty() || agora - despacho.ultimaAmostra >= amostraNanos)) {
+                despacho.amostras.add(new Amostra(decorrido, despacho.edt.getStackTrace()));
+                despacho.ultimaAmostra = agora;
+            }
+            if (decorrido >= TRAVADA_NANOS && !despacho.travadaRelatada) {
+                despacho.travadaRelatada = true;
+                relatarTravada = true;
+            }
+        }
+        if (relatarTravada) {
+            despacho.acao = descrever(despacho.evento);
+            gravar(relatar(despacho, true));
+        }
+    }
+
+    private StringBuilder relatar(Despacho despacho, boolean emAndamento) {
+        List<Amostra> amostras;
+        long duracao;
+        synchronized (despacho) {
+            amostras = new ArrayList<>(despacho.amostras);
+            duracao = emAndamento ? System.nanoTime() - despacho.inicio : despacho.duracaoNanos;
+        }
+        StringBuilder texto = new StringBuilder(1024)
+                .append(LocalDateTime.now().minusNanos(emAndamento ? 0 : duracao))
+                .append(emAndamento ? " EDT travada há " : " EDT ocupada por ")
+                .append(TimeUnit.NANOSECONDS.toMillis(duracao)).append(" ms: ").append(despacho.acao)
+                .append(" (").append(despacho.evento.getClass().getSimpleName())
+                .append(despacho.continuacao ? ", depois de um diálogo" : "")
+                .append(emAndamento ? ", ainda em andamento" : "").append(")\n");
+        StackTraceElement[] anterior = null;
+        int i = 0;
+        while (i < amostras.size()) {
+            Amostra amostra = amostras.get(i);
+            int iguais = 0; // Amostras seguintes com a mesma pilha são resumidas em uma linha
+            while (i + iguais + 1 < amostras.size() && Arrays.equals(amostras.get(i + iguais + 1).pilha, amostra.pilha)) {
+                iguais++;
+            }
+            texto.append("  amostra +").append(TimeUnit.NANOSECONDS.toMillis(amostra.decorridoNanos)).append(" ms");
+            if (iguais > 0) {
+                texto.append(" a +").append(TimeUnit.NANOSECONDS.toMillis(amostras.get(i + iguais).decorridoNanos))
+                        .append(" ms (").append(iguais + 1).append(" amostras iguais)");
+            }
+            if (Arrays.equals(amostra.pilha, anterior)) {
+                texto.append(": mesma pilha da anterior\n");
+            } else {
+                texto.append(":\n");
+                int quadros = Math.min(amostra.pilha.length, MAXIMO_QUADROS);
+                for (int q = 0; q < quadros; q++) {
+                    texto.append("    ").append(amostra.pilha[q]).append('\n');
+                }
+                if (amostra.pilha.length > quadros) {
+                    texto.append("    ... mais ").append(amostra.pilha.length - quadros).append(" quadros\n");
+                }
+            }
+            anterior = amostra.pilha;
+            i += iguais + 1;
+        }
+        return texto.append('\n');
+    }
+
+    private void gravar(CharSequence texto) {
+        try {
+            arquivo.escrever(texto);
+        } catch (IOException e) {
+            LOG.aviso("Erro ao gravar log de travamentos da EDT", "arquivo", arquivo.getArquivo().toString(), "erro", e.getMessage());
+        }
+    }
+
+    /**
+     * Nome da ação que originou o evento, no formato "Janela.descrição"
+     * (ex.: "Menu.Fazer Pedido", "Login.JTextField.teclado", "invokeLater").
+     */
+    static String descrever(AWTEvent evento) {
+        if (evento instanceof InvocationEvent) {
+            return "invokeLater"; // O Runnable não é acessível: as pilhas mostram qual foi
+        }
+        Object fonte = evento.getSource();
+        String janela = nomeJanela(fonte);
+        // O clique (mouse ou teclado) que dispara o ActionListener chega com o botão como fonte
+        if (fonte instanceof AbstractButton botao && botao.getText() != null && !botao.getText().isBlank()) {
+            String texto = botao.getText().trim();
+            if (texto.endsWith("...")) {
+                texto = texto.substring(0, texto.length() - 3); // Marcado como "em andamento" pelo AgendadorTarefas
+            }
+            return janela + "." + texto;
+        }
+        String componente = fonte == null ? "?" : fonte.getClass().getSimpleName();
+        if (evento instanceof ActionEvent) {
+            return janela + "." + componente;
+        }
+        if (evento instanceof MouseEvent) {
+            return janela + "." + componente + ".mouse";
+        }
+        if (evento instanceof KeyEvent) {
+            return janela + "." + componente + ".teclado";
+        }
+        if (evento instanceof PaintEvent) {
+            return janela + ".pintura";
+        }
+        return janela + "." + evento.getClass().getSimpleName();
+    }
+
+    private static String nomeJanela(Object fonte) {
+        Window janela = fonte instanceof Window w ? w
+                : fonte instanceof Component c ? SwingUtilities.getWindowAncestor(c) : null;
+        return janela == null ? "?" : janela.getClass().getSimpleName();
+    }
+
+    /**
+     * Um evento sendo despachado na EDT (ou a continuação de um evento depois de um diálogo).
+     */
+    private static final class Despacho {
+        private final AWTEvent evento;
+        private final Thread edt;
+        private final long inicio;
+        private final boolean continuacao;
+        // Protegidos pelo próprio Despacho
+        private final List<Amostra> amostras = new ArrayList<>(0);
+        private long ultimaAmostra;
+        private long duracaoNanos = -1; // -1 enquanto em andamento
+        private boolean travadaRelatada;
+        private volatile String acao;
+
+        Despacho(AWTEvent evento, Thread edt, long inicio, boolean continuacao) {
+            this.evento = evento;
+            this.edt = edt;
+            this.inicio = inicio;
+            this.continuacao = continuacao;
+        }
+    }
+
+    private record Amostra(long decorridoNanos, StackTraceElement[] pilha) {
+    }
+}
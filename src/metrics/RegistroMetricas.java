@@ -0,0 +1,159 @@
+package metrics;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import log.Log;
+
+/**
+ * Registro das métricas da aplicação, uma {@link MetricasOperacao} por nome de operação.
+ * Cada operação é publicada no JMX (jconsole/VisualVM, domínio "FEIfood") ao ser criada, e o
+ * resumo pode ser gravado em arquivo pelo próprio JMX ou automaticamente.
+ *
+ * Configuração (-D...):
+ *   feifood.metricas=false              desliga a coleta (os DAOs deixam de ser instrumentados)
+ *   feifood.metricas.jmx=false          coleta sem publicar no JMX
+ *   feifood.metricas.arquivo=CAMINHO    grava o resumo ao encerrar a aplicação
+ *   feifood.metricas.intervaloSeg=N     e também a cada N segundos
+ */
+public final class RegistroMetricas implements RegistroMetricasMBean {
+
+    private static final Log LOG = Log.para(RegistroMetricas.class);
+
+    private static final RegistroMetricas INSTANCIA = new RegistroMetricas();
+
+    private final boolean ativo = Boolean.parseBoolean(System.getProperty("feifood.metricas", "true"));
+    private final boolean publicarJmx = Boolean.parseBoolean(System.getProperty("feifood.metricas.jmx", "true"));
+    private final String arquivoConfigurado = System.getProperty("feifood.metricas.arquivo");
+    private final ConcurrentHashMap<String, MetricasOperacao> operacoes = new ConcurrentHashMap<>();
+
+    private RegistroMetricas() {
+        if (ativo && publicarJmx) {
+            registrarMBean("FEIfood:type=Metricas", this);
+        }
+        long intervalo = Long.getLong("feifood.metricas.intervaloSeg", 0L);
+        if (ativo && arquivoConfigurado != null && intervalo > 0) {
+            ScheduledExecutorService gravador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+                Thread thread = new Thread(tarefa, "gravar-metricas");
+                thread.setDaemon(true);
+                return thread;
+            });
+            gravador.scheduleAtFixedRate(this::salvarConfigurado, intervalo, intervalo, TimeUnit.SECONDS);
+        }
+    }
+
+    public static RegistroMetricas getInstancia() {
+        return INSTANCIA;
+    }
+
+    /**
+     * @return false se a coleta foi desligada com -Dfeifood.metricas=false.
+     */
+    public boolean isAtivo() {
+        return ativo;
+    }
+
+    /**
+     * Retorna as métricas da operação, criando-as (e publicando no JMX) na primeira vez.
+     * Guarde a referência em quem registra com frequência: a busca por nome tem custo.
+     * @param nome Nome da operação, no formato "Componente.metodo".
+     * @return As métricas da operação.
+     */
+    public MetricasOperacao operacao(String nome) {
+        MetricasOperacao existente = operacoes.get(nome);
+        if (existente != null) {
+            return existente;
+        }
+        return operacoes.computeIfAbsent(nome, n -> {
+            MetricasOperacao nova = new MetricasOperacao(n);
+            if (ativo && publicarJmx) {
+                registrarMBean("FEIfood:type=Operacao,name=" + ObjectName.quote(n), nova);
+            }
+            return nova;
+        });
+    }
+
+    /**
+     * @return As operações registradas, da que mais consumiu tempo para a que menos consumiu.
+     */
+    public List<MetricasOperacao> listar() {
+        List<MetricasOperacao> lista = new ArrayList<>(operacoes.values());
+        lista.sort(Comparator.comparingDouble(MetricasOperacao::getTempoTotalMs).reversed());
+        return lista;
+    }
+
+    @Override
+    public String getResumo() {
+        StringBuilder texto = new StringBuilder(256);
+        texto.append("Métricas FEIfood em ").append(LocalDateTime.now()).append('\n');
+        texto.append(String.format("%-44s %10s %8s %10s %10s %10s %10s %10s %12s%n",
+                "Operação", "Chamadas", "Erros", "média(ms)", "p50(ms)", "p99(ms)", "p99.9(ms)", "máx(ms)", "total(ms)"));
+        for (MetricasOperacao op : listar()) {
+            texto.append(String.format("%-44s %10d %8d %10.3f %10.3f %10.3f %10.3f %10.3f %12.1f%n",
+                    op.getNome(), op.getChamadas(), op.getErros(), op.getMediaMs(), op.getP50Ms(),
+                    op.getP99Ms(), op.getP999Ms(), op.getMaximoMs(), op.getTempoTotalMs()));
+        }
+        return texto.toString();
+    }
+
+    @Override
+    public String salvar(String arquivo) throws IOException {
+        Path destino = Paths.get(arquivo).toAbsolutePath();
+        if (destino.getParent() != null) {
+            Files.createDirectories(destino.getParent());
+        }
+        // Grava ao lado e troca: quem lê o arquivo nunca vê um resumo pela metade
+        Path temporario = destino.resolveSibling(destino.getFileName() + ".tmp");
+        Files.writeString(temporario, getResumo(), StandardCharsets.UTF_8);
+        Files.move(temporario, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return destino.toString();
+    }
+
+    /**
+     * Grava o resumo no arquivo de -Dfeifood.metricas.arquivo, se configurado.
+     * Chamado ao encerrar a aplicação; falhas só são reportadas, nunca propagadas.
+     */
+    public void salvarConfigurado() {
+        if (!ativo || arquivoConfigurado == null) {
+            return;
+        }
+        try {
+            salvar(arquivoConfigurado);
+        } catch (IOException | RuntimeException e) {
+            LOG.aviso("Erro ao gravar métricas", "arquivo", arquivoConfigurado, "erro", e.getMessage());
+        }
+    }
+
+    @Override
+    public void zerar() {
+        operacoes.values().forEach(MetricasOperacao::zerar);
+    }
+
+    private static void registrarMBean(String nome, Object mbean) {
+        try {
+            MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objeto = new ObjectName(nome);
+            if (!servidor.isRegistered(objeto)) {
+                servidor.registerMBean(mbean, objeto);
+            }
+        } catch (JMException | RuntimeException e) {
+            // Sem JMX as métricas continuam disponíveis pelo resumo em arquivo
+            LOG.aviso("Não foi possível publicar no JMX", "mbean", nome, "erro", e.getMessage());
+        }
+    }
+}
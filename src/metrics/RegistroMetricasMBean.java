@@ -0,0 +1,21 @@
+package metrics;
+
+/**
+ * Interface JMX de {@link RegistroMetricas}.
+ */
+public interface RegistroMetricasMBean {
+
+    /**
+     * @return Tabela com todas as operações, da que mais consumiu tempo para a que menos consumiu.
+     */
+    String getResumo();
+
+    /**
+     * Grava o resumo em um arquivo.
+     * @param arquivo Caminho do arquivo (sobrescrito).
+     * @return O caminho absoluto gravado.
+     */
+    String salvar(String arquivo) throws java.io.IOException;
+
+    void zerar();
+}
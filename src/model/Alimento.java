@@ -9,7 +9,7 @@ public abstract class Alimento {
     private int id;
     private String nome;
     private String descricao;
-    private double preco;
+    private long precoCentavos; // Preço em centavos (ver Dinheiro)
     
     // Relação com Estabelecimento (um Alimento pertence a um Estabelecimento)
     private Estabelecimento estabelecimento;
@@ -21,7 +21,7 @@ public abstract class Alimento {
         this.id = id;
         this.nome = nome;
         this.descricao = descricao;
-        this.preco = preco;
+        this.precoCentavos = Dinheiro.deReais(preco);
         this.estabelecimento = estabelecimento;
     }
 
@@ -52,11 +52,22 @@ public abstract class Alimento {
     }
 
     public double getPreco() {
-        return preco;
+        return Dinheiro.paraReais(precoCentavos);
     }
 
     public void setPreco(double preco) {
-        this.preco = preco;
+        this.precoCentavos = Dinheiro.deReais(preco);
+    }
+
+    /**
+     * @return O preço em centavos, sem arredondamentos de double.
+     */
+    public long getPrecoCentavos() {
+        return precoCentavos;
+    }
+
+    public void setPrecoCentavos(long precoCentavos) {
+        this.precoCentavos = precoCentavos;
     }
 
     public Estabelecimento getEstabelecimento() {
@@ -69,6 +80,6 @@ public abstract class Alimento {
 
     @Override
     public String toString() {
-        return nome + " - R$" + String.format("%.2f", preco);
+        return Dinheiro.formatar(precoCentavos, new StringBuilder(nome).append(" - R$")).toString();
     }
 }
\ No newline at end of file
@@ -7,9 +7,13 @@ public class Bebida extends Alimento implements Imposto_Alcool {
 
     // Atributo específico de bebida, ex: percentual de álcool
     private double percentualAlcool;
+
+    // Percentual de imposto cadastrado no banco (percentual_imposto), null se não informado
+    private Double percentualImposto;
     
     // Vamos definir o imposto como 8% para bebidas alcoólicas
     private static final double PERCENTUAL_IMPOSTO = 0.08; 
+    private static final int PERCENTUAL_IMPOSTO_PONTOS_BASE = 800; // O mesmo 8%, para cálculo em centavos
 
     public Bebida() {
         super();
@@ -28,6 +32,14 @@ public class Bebida extends Alimento implements Imposto_Alcool {
         this.percentualAlcool = percentualAlcool;
     }
 
+    public Double getPercentualImposto() {
+        return percentualImposto;
+    }
+
+    public void setPercentualImposto(Double percentualImposto) {
+        this.percentualImposto = percentualImposto;
+    }
+
     /**
      * Implementação do método da interface Imposto_Alcool.
      * Calcula 8% de imposto sobre o preço se for alcoólica.
@@ -39,6 +51,17 @@ public class Bebida extends Alimento implements Imposto_Alcool {
         }
         return 0; // Sem imposto para bebidas não alcoólicas
     }
+
+    /**
+     * Mesmo cálculo de {@link #calcularImposto(double)}, em centavos e com aritmética inteira.
+     */
+    @Override
+    public long calcularImpostoCentavos(long precoCentavos) {
+        if (this.percentualAlcool > 0) {
+            return Dinheiro.aplicarPercentual(precoCentavos, PERCENTUAL_IMPOSTO_PONTOS_BASE);
+        }
+        return 0;
+    }
     
     /**
      * Sobrescreve o getPreco para já incluir o imposto (opcional, mas útil)
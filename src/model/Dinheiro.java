@@ -0,0 +1,154 @@
+package model;
+
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+/**
+ * Operações com valores monetários guardados como long em centavos.
+ * Preços, impostos e totais circulam como centavos para não acumular erros de
+ * arredondamento de double; nenhuma operação aqui cria objetos, exceto
+ * {@link #formatar(long)}, que devolve uma String nova.
+ */
+public final class Dinheiro {
+
+    // Mesmo separador decimal que String.format("%.2f") usaria
+    private static final char SEPARADOR_DECIMAL =
+            DecimalFormatSymbols.getInstance(Locale.getDefault(Locale.Category.FORMAT)).getDecimalSeparator();
+
+    private Dinheiro() {
+    }
+
+    /**
+     * @param centavos Valor unitário em centavos.
+     * @param quantidade Quantidade de unidades.
+     * @return O valor total em centavos.
+     * @throws ArithmeticException Se o resultado não couber em um long.
+     */
+    public static long multiplicar(long centavos, int quantidade) {
+        return Math.multiplyExact(centavos, (long) quantidade);
+    }
+
+    /**
+     * Aplica um percentual expresso em pontos-base (1% = 100), arredondando
+     * para o centavo mais próximo (metades para longe do zero).
+     * @param centavos Valor base em centavos.
+     * @param pontosBase Percentual em pontos-base.
+     * @return O valor do percentual em centavos.
+     */
+    public static long aplicarPercentual(long centavos, int pontosBase) {
+        long produto = Math.multiplyExact(centavos, (long) pontosBase);
+        long quociente = produto / 10_000;
+        long resto = produto % 10_000;
+        if (Math.abs(resto) >= 5_000) {
+            quociente += Long.signum(produto);
+        }
+        return quociente;
+    }
+
+    /**
+     * Converte o texto de uma coluna NUMERIC (ex.: "12.5", "-3.456") para centavos
+     * sem passar por double. Casas além da segunda são arredondadas (metades para longe do zero).
+     * @param texto O valor em texto, com ponto como separador decimal.
+     * @return O valor em centavos.
+     * @throws NumberFormatException Se o texto não for um número decimal simples.
+     */
+    public static long paraCentavos(CharSequence texto) {
+        int tamanho = texto.length();
+        int i = 0;
+        boolean negativo = false;
+        if (tamanho > 0 && (texto.charAt(0) == '-' || texto.charAt(0) == '+')) {
+            negativo = texto.charAt(0) == '-';
+            i++;
+        }
+
+        long inteiro = 0;
+        int digitos = 0;
+        for (; i < tamanho && texto.charAt(i) != '.'; i++) {
+            inteiro = Math.addExact(Math.multiplyExact(inteiro, 10L), digito(texto, i));
+            digitos++;
+        }
+
+        long centavos = 0;
+        int casas = 0;
+        boolean arredondarParaCima = false;
+        if (i < tamanho) {
+            for (i++; i < tamanho; i++, casas++) {
+                int d = digito(texto, i);
+                if (casas < 2) {
+                    centavos = centavos * 10 + d;
+                } else if (casas == 2) {
+                    arredondarParaCima = d >= 5;
+                }
+                digitos++;
+            }
+        }
+        if (digitos == 0) {
+            throw new NumberFormatException("Valor monetário inválido: \"" + texto + "\"");
+        }
+        for (; casas < 2; casas++) {
+            centavos *= 10;
+        }
+
+        long valor = Math.addExact(Math.multiplyExact(inteiro, 100L), centavos + (arredondarParaCima ? 1 : 0));
+        return negativo ? -valor : valor;
+    }
+
+    /**
+     * Escreve o valor com duas casas decimais no buffer informado (ex.: 1234 -> "12,34"
+     * no locale pt-BR), no mesmo formato de String.format("%.2f"), sem criar objetos.
+     * @param centavos O valor em centavos.
+     * @param destino Buffer reutilizável que recebe o texto.
+     * @return O próprio buffer, para encadear chamadas.
+     */
+    public static StringBuilder formatar(long centavos, StringBuilder destino) {
+        if (centavos < 0) {
+            destino.append('-');
+            if (centavos == Long.MIN_VALUE) {
+                // -Long.MIN_VALUE não existe: trata o último dígito à parte
+                destino.append(-(Long.MIN_VALUE / 100)).append(SEPARADOR_DECIMAL).append("08");
+                return destino;
+            }
+            centavos = -centavos;
+        }
+        long fracao = centavos % 100;
+        destino.append(centavos / 100).append(SEPARADOR_DECIMAL);
+        if (fracao < 10) {
+            destino.append('0');
+        }
+        return destino.append(fracao);
+    }
+
+    /**
+     * @param centavos O valor em centavos.
+     * @return O valor com duas casas decimais, como em {@link #formatar(long, StringBuilder)}.
+     */
+    public static String formatar(long centavos) {
+        return formatar(centavos, new StringBuilder(16)).toString();
+    }
+
+    /**
+     * Converte um valor em reais (double) para centavos, arredondando. Usado apenas na
+     * fronteira com código que ainda trabalha com double.
+     * @param reais O valor em reais.
+     * @return O valor em centavos.
+     */
+    public static long deReais(double reais) {
+        return Math.round(reais * 100);
+    }
+
+    /**
+     * @param centavos O valor em centavos.
+     * @return O valor em reais, como double (apenas para exibição ou compatibilidade).
+     */
+    public static double paraReais(long centavos) {
+        return centavos / 100.0;
+    }
+
+    private static int digito(CharSequence texto, int i) {
+        char c = texto.charAt(i);
+        if (c < '0' || c > '9') {
+            throw new NumberFormatException("Valor monetário inválido: \"" + texto + "\"");
+        }
+        return c - '0';
+    }
+}
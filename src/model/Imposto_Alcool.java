@@ -14,4 +14,15 @@ public interface Imposto_Alcool {
      * @return O valor do imposto.
      */
     double calcularImposto(double preco);
-}
\ No newline at end of file
+
+    /**
+     * Calcula o imposto em centavos, sem passar por double.
+     * A implementação padrão converte para o método em double; implementações devem
+     * sobrescrevê-la com aritmética inteira (ver Dinheiro).
+     * @param precoCentavos O preço base em centavos.
+     * @return O valor do imposto em centavos.
+     */
+    default long calcularImpostoCentavos(long precoCentavos) {
+        return Dinheiro.deReais(calcularImposto(Dinheiro.paraReais(precoCentavos)));
+    }
+}
@@ -0,0 +1,30 @@
+package model;
+
+/**
+ * Item de um pedido do histórico: ID e nome do alimento com a quantidade pedida.
+ * Imutável; o nome costuma ser a mesma instância usada pelo catálogo, compartilhada entre pedidos.
+ */
+public final class ItemHistorico {
+
+    private final int idAlimento;
+    private final String nome;
+    private final int quantidade;
+
+    public ItemHistorico(int idAlimento, String nome, int quantidade) {
+        this.idAlimento = idAlimento;
+        this.nome = nome;
+        this.quantidade = quantidade;
+    }
+
+    public int getIdAlimento() {
+        return idAlimento;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public int getQuantidade() {
+        return quantidade;
+    }
+}
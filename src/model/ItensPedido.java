@@ -0,0 +1,179 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * Linhas de um Pedido indexadas pelo ID do alimento, sem boxing.
+ * As linhas ficam em arrays paralelos densos (id, quantidade, Alimento) e uma tabela hash
+ * de endereçamento aberto guarda a posição de cada ID, então adicionar, diminuir,
+ * remover e consultar custam O(1). Ao remover, a última linha ocupa o lugar da removida.
+ * Não é thread-safe (o Pedido é usado por uma thread por vez).
+ */
+final class ItensPedido {
+
+    private static final int CAPACIDADE_INICIAL = 8;
+    private static final int VAZIO = 0; // A tabela guarda posição + 1
+
+    private int[] ids;
+    private int[] quantidades;
+    private Alimento[] alimentos;
+    private int tamanho;
+
+    private int[] tabela; // tamanho potência de 2, no máximo metade ocupada
+    private int mascara;
+
+    ItensPedido() {
+        ids = new int[CAPACIDADE_INICIAL];
+        quantidades = new int[CAPACIDADE_INICIAL];
+        alimentos = new Alimento[CAPACIDADE_INICIAL];
+        tabela = new int[CAPACIDADE_INICIAL * 2];
+        mascara = tabela.length - 1;
+    }
+
+    int tamanho() {
+        return tamanho;
+    }
+
+    int idEm(int posicao) {
+        return ids[posicao];
+    }
+
+    int quantidadeEm(int posicao) {
+        return quantidades[posicao];
+    }
+
+    Alimento alimentoEm(int posicao) {
+        return alimentos[posicao];
+    }
+
+    /**
+     * @return A posição da linha do alimento, ou -1 se não estiver no pedido.
+     */
+    int posicaoDe(int idAlimento) {
+        for (int i = hash(idAlimento) & mascara; ; i = (i + 1) & mascara) {
+            int valor = tabela[i];
+            if (valor == VAZIO) {
+                return -1;
+            }
+            if (ids[valor - 1] == idAlimento) {
+                return valor - 1;
+            }
+        }
+    }
+
+    /**
+     * Soma a quantidade à linha do alimento, criando-a se necessário.
+     * A referência ao Alimento é atualizada para a mais recente.
+     * @return A posição da linha.
+     */
+    int adicionar(Alimento alimento, int quantidade) {
+        int idAlimento = alimento.getId();
+        int i = hash(idAlimento) & mascara;
+        for (; tabela[i] != VAZIO; i = (i + 1) & mascara) {
+            int posicao = tabela[i] - 1;
+            if (ids[posicao] == idAlimento) {
+                quantidades[posicao] += quantidade;
+                alimentos[posicao] = alimento;
+                return posicao;
+            }
+        }
+
+        if (tamanho == ids.length) {
+            crescer();
+            return adicionar(alimento, quantidade); // A tabela foi refeita: procura de novo
+        }
+        int posicao = tamanho++;
+        ids[posicao] = idAlimento;
+        quantidades[posicao] = quantidade;
+        alimentos[posicao] = alimento;
+        tabela[i] = posicao + 1;
+        return posicao;
+    }
+
+    /**
+     * Define a quantidade da linha na posição informada.
+     */
+    void definirQuantidade(int posicao, int quantidade) {
+        quantidades[posicao] = quantidade;
+    }
+
+    /**
+     * Remove a linha do alimento.
+     * @return true se a linha existia.
+     */
+    boolean remover(int idAlimento) {
+        int i = hash(idAlimento) & mascara;
+        while (true) {
+            int valor = tabela[i];
+            if (valor == VAZIO) {
+                return false;
+            }
+            if (ids[valor - 1] == idAlimento) {
+                break;
+            }
+            i = (i + 1) & mascara;
+        }
+
+        int posicao = tabela[i] - 1;
+        apagarDaTabela(i);
+
+        // Move a última linha para o buraco e corrige seu índice na tabela
+        int ultima = --tamanho;
+        if (posicao != ultima) {
+            ids[posicao] = ids[ultima];
+            quantidades[posicao] = quantidades[ultima];
+            alimentos[posicao] = alimentos[ultima];
+            int j = hash(ids[posicao]) & mascara;
+            while (tabela[j] != ultima + 1) {
+                j = (j + 1) & mascara;
+            }
+            tabela[j] = posicao + 1;
+        }
+        alimentos[ultima] = null; // Libera a referência
+        return true;
+    }
+
+    /**
+     * Remove a entrada i da tabela com deslocamento para trás (sem marcadores de removido).
+     */
+    private void apagarDaTabela(int i) {
+        int vazio = i;
+        int j = i;
+        while (true) {
+            j = (j + 1) & mascara;
+            int valor = tabela[j];
+            if (valor == VAZIO) {
+                break;
+            }
+            int ideal = hash(ids[valor - 1]) & mascara;
+            // Desloca se a posição ideal de j não estiver entre (vazio, j] no sentido circular
+            if (((j - ideal) & mascara) >= ((j - vazio) & mascara)) {
+                tabela[vazio] = valor;
+                vazio = j;
+            }
+        }
+        tabela[vazio] = VAZIO;
+    }
+
+    private void crescer() {
+        int novaCapacidade = ids.length * 2;
+        ids = Arrays.copyOf(ids, novaCapacidade);
+        quantidades = Arrays.copyOf(quantidades, novaCapacidade);
+        alimentos = Arrays.copyOf(alimentos, novaCapacidade);
+
+        tabela = new int[novaCapacidade * 2];
+        mascara = tabela.length - 1;
+        for (int posicao = 0; posicao < tamanho; posicao++) {
+            int i = hash(ids[posicao]) & mascara;
+            while (tabela[i] != VAZIO) {
+                i = (i + 1) & mascara;
+            }
+            tabela[i] = posicao + 1;
+        }
+    }
+
+    private static int hash(int id) {
+        int h = id * 0x9E3779B9; // Espalha IDs sequenciais pela tabela
+        return h ^ (h >>> 16);
+    }
+}
@@ -1,9 +1,13 @@
 package model;
 
 import java.time.LocalDateTime; // Usando java.time para data/hora
-import java.util.HashMap;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
 import java.util.Map;
-import java.util.Set; // Para iterar sobre os itens
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.ObjIntConsumer;
 
 /**
  * Classe que representa a entidade Pedido.
@@ -18,14 +22,20 @@ public class Pedido {
     private Usuario usuario; // id_usuario (referência ao objeto Usuario)
 
     // Relação de Composição: Um Pedido "tem" Alimentos com suas quantidades.
-    // Usamos um Map onde a chave é o Alimento e o valor é a quantidade.
-    private Map<Alimento, Integer> itens;
+    // As linhas são indexadas pelo ID do alimento (int -> quantidade), sem boxing.
+    private final ItensPedido itens;
+    private final Map<Alimento, Integer> visaoItens;
+
+    // Totais das linhas atuais, em centavos (ver getTotalCentavos)
+    private long subtotalCentavos;
+    private long impostoCentavos;
 
     /**
      * Construtor padrão.
      */
     public Pedido() {
-        this.itens = new HashMap<>();
+        this.itens = new ItensPedido();
+        this.visaoItens = new VisaoItens();
         this.dataHora = LocalDateTime.now(); // Define a data/hora atual por padrão
     }
 
@@ -50,7 +60,19 @@ public class Pedido {
         this.dataHora = dataHora;
         this.avaliacao = avaliacao;
         this.usuario = usuario;
-        this.itens = new HashMap<>(); // Inicializa a lista de itens vazia
+        this.itens = new ItensPedido(); // Inicializa a lista de itens vazia
+        this.visaoItens = new VisaoItens();
+    }
+
+    /**
+     * Cópia independente do pedido (cabeçalho e itens), para entregar a outra thread enquanto
+     * o original continua sendo alterado na tela. Os Alimentos são compartilhados.
+     * @return Um novo Pedido com os mesmos dados e itens.
+     */
+    public Pedido copiar() {
+        Pedido copia = new Pedido(id, dataHora, avaliacao, usuario);
+        paraCadaItem(copia::adicionarItem);
+        return copia;
     }
 
     // --- Getters e Setters ---
@@ -97,23 +119,72 @@ public class Pedido {
 
     /**
      * Retorna o mapa de itens do pedido (Alimento -> Quantidade).
+     * É uma visão não modificável e "ao vivo" (reflete alterações posteriores no pedido),
+     * sem cópia. As chaves são comparadas pelo ID do alimento.
+     * Para só percorrer os itens, prefira {@link #paraCadaItem(ObjIntConsumer)}, que não cria objetos.
      * @return Um Map não modificável dos itens.
      */
     public Map<Alimento, Integer> getItens() {
-        // Retorna uma cópia ou visão não modificável para proteger o estado interno
-        return new HashMap<>(itens); // Retorna cópia simples
-        // Alternativa: return Collections.unmodifiableMap(itens);
+        return visaoItens;
+    }
+
+    /**
+     * Percorre os itens do pedido sem copiar nem criar objetos por item.
+     * O pedido não deve ser alterado durante a iteração.
+     * @param visitante Recebe cada alimento com sua quantidade.
+     */
+    public void paraCadaItem(ObjIntConsumer<Alimento> visitante) {
+        for (int i = 0; i < itens.tamanho(); i++) {
+            visitante.accept(itens.alimentoEm(i), itens.quantidadeEm(i));
+        }
+    }
+
+    /**
+     * @return O número de linhas (alimentos distintos) do pedido.
+     */
+    public int getQuantidadeItens() {
+        return itens.tamanho();
+    }
+
+    /**
+     * @return true se o pedido não tiver itens.
+     */
+    public boolean isVazio() {
+        return itens.tamanho() == 0;
+    }
+
+    /**
+     * @param idAlimento O ID do alimento.
+     * @return true se o alimento estiver no pedido.
+     */
+    public boolean contemItem(int idAlimento) {
+        return itens.posicaoDe(idAlimento) >= 0;
+    }
+
+    /**
+     * @param idAlimento O ID do alimento.
+     * @return A quantidade do alimento no pedido (0 se não estiver no pedido).
+     */
+    public int getQuantidade(int idAlimento) {
+        int posicao = itens.posicaoDe(idAlimento);
+        return posicao < 0 ? 0 : itens.quantidadeEm(posicao);
     }
 
-     // Não é comum ter um setItens que substitui todo o mapa,
-     // geralmente se gerencia com adicionar/remover.
-     // public void setItens(Map<Alimento, Integer> itens) { this.itens = itens; }
+    /**
+     * @param idAlimento O ID do alimento.
+     * @return O Alimento da linha, ou null se não estiver no pedido.
+     */
+    public Alimento getAlimento(int idAlimento) {
+        int posicao = itens.posicaoDe(idAlimento);
+        return posicao < 0 ? null : itens.alimentoEm(posicao);
+    }
 
 
     // --- Métodos para Gerenciar Itens [cite: 165] ---
 
     /**
      * Adiciona um alimento ao pedido ou atualiza sua quantidade se já existir.
+     * Alimentos com o mesmo ID ocupam uma única linha.
      * @param alimento O alimento a ser adicionado.
      * @param quantidade A quantidade a ser adicionada (deve ser > 0).
      */
@@ -121,8 +192,13 @@ public class Pedido {
         if (alimento == null || quantidade <= 0) {
             throw new IllegalArgumentException("Alimento inválido ou quantidade deve ser positiva.");
         }
-        // Se o alimento já existe no mapa, soma a quantidade. Senão, adiciona.
-        this.itens.put(alimento, this.itens.getOrDefault(alimento, 0) + quantidade);
+        // Se o alimento já existe, soma a quantidade. Senão, adiciona.
+        int posicao = itens.posicaoDe(alimento.getId());
+        if (posicao >= 0) {
+            descontarLinha(itens.alimentoEm(posicao), itens.quantidadeEm(posicao));
+        }
+        posicao = itens.adicionar(alimento, quantidade);
+        contabilizarLinha(itens.alimentoEm(posicao), itens.quantidadeEm(posicao));
     }
 
     /**
@@ -131,8 +207,22 @@ public class Pedido {
      */
     public void removerItem(Alimento alimento) {
         if (alimento != null) {
-            this.itens.remove(alimento);
+            removerItem(alimento.getId());
+        }
+    }
+
+    /**
+     * Remove completamente do pedido o alimento com o ID informado.
+     * @param idAlimento O ID do alimento a ser removido.
+     * @return true se o alimento estava no pedido.
+     */
+    public boolean removerItem(int idAlimento) {
+        int posicao = itens.posicaoDe(idAlimento);
+        if (posicao < 0) {
+            return false;
         }
+        descontarLinha(itens.alimentoEm(posicao), itens.quantidadeEm(posicao));
+        return itens.remover(idAlimento);
     }
 
     /**
@@ -142,37 +232,105 @@ public class Pedido {
      * @param quantidadeARemover A quantidade a ser subtraída.
      */
     public void diminuirQuantidadeItem(Alimento alimento, int quantidadeARemover) {
-         if (alimento == null || quantidadeARemover <= 0) {
+        if (alimento == null) {
             throw new IllegalArgumentException("Alimento inválido ou quantidade a remover deve ser positiva.");
         }
-        Integer quantidadeAtual = this.itens.get(alimento);
-        if (quantidadeAtual != null) {
+        diminuirQuantidadeItem(alimento.getId(), quantidadeARemover);
+    }
+
+    /**
+     * Diminui a quantidade do alimento com o ID informado. Se a quantidade chegar a zero ou menos,
+     * o item é removido.
+     * @param idAlimento O ID do alimento.
+     * @param quantidadeARemover A quantidade a ser subtraída.
+     */
+    public void diminuirQuantidadeItem(int idAlimento, int quantidadeARemover) {
+        if (quantidadeARemover <= 0) {
+            throw new IllegalArgumentException("Alimento inválido ou quantidade a remover deve ser positiva.");
+        }
+        int posicao = itens.posicaoDe(idAlimento);
+        if (posicao >= 0) {
+            Alimento alimento = itens.alimentoEm(posicao);
+            int quantidadeAtual = itens.quantidadeEm(posicao);
             int novaQuantidade = quantidadeAtual - quantidadeARemover;
+            descontarLinha(alimento, quantidadeAtual);
             if (novaQuantidade <= 0) {
-                this.itens.remove(alimento); // Remove se zerar ou ficar negativo
+                itens.remover(idAlimento); // Remove se zerar ou ficar negativo
             } else {
-                this.itens.put(alimento, novaQuantidade); // Atualiza com a nova quantidade
+                itens.definirQuantidade(posicao, novaQuantidade); // Atualiza com a nova quantidade
+                contabilizarLinha(alimento, novaQuantidade);
             }
         }
         // Se o item não existia, não faz nada.
     }
 
+    // --- Totais ---
+    // Mantidos a cada alteração, em centavos, para que a leitura seja O(1) e exata:
+    // o valor é sempre a soma das linhas, com o imposto arredondado para centavos por linha.
+
     /**
-     * Calcula o valor total do pedido somando o preço de cada item multiplicado por sua quantidade.
+     * @return Soma de preço x quantidade de todos os itens, sem impostos, em centavos.
+     */
+    public long getSubtotalCentavos() {
+        return subtotalCentavos;
+    }
+
+    /**
+     * @return Soma dos impostos (Imposto_Alcool) de todos os itens, em centavos.
+     */
+    public long getImpostoCentavos() {
+        return impostoCentavos;
+    }
+
+    /**
+     * Valor total do pedido em centavos: subtotal mais impostos das bebidas alcoólicas.
+     * O valor é mantido a cada alteração nos itens, então a leitura não percorre o pedido.
+     * @return O valor total do pedido, em centavos.
+     */
+    public long getTotalCentavos() {
+        return subtotalCentavos + impostoCentavos;
+    }
+
+    /**
+     * @return Soma de preço x quantidade de todos os itens, sem impostos.
+     */
+    public double getSubtotal() {
+        return Dinheiro.paraReais(subtotalCentavos);
+    }
+
+    /**
+     * @return Soma dos impostos (Imposto_Alcool) de todos os itens.
+     */
+    public double getImposto() {
+        return Dinheiro.paraReais(impostoCentavos);
+    }
+
+    /**
+     * Valor total do pedido em reais. Para cálculos, prefira {@link #getTotalCentavos()}.
      * @return O valor total do pedido.
      */
     public double calcularTotal() {
-        double total = 0.0;
-        for (Map.Entry<Alimento, Integer> entry : itens.entrySet()) {
-            Alimento alimento = entry.getKey();
-            Integer quantidade = entry.getValue();
-            total += alimento.getPreco() * quantidade;
-            // Poderia adicionar lógica de imposto aqui se a classe Bebida não incluísse no getPreco
-            // if (alimento instanceof Bebida) {
-            //     total += ((Bebida) alimento).calcularImposto(alimento.getPreco()) * quantidade;
-            // }
+        return Dinheiro.paraReais(getTotalCentavos());
+    }
+
+    private void contabilizarLinha(Alimento alimento, int quantidade) {
+        long linha = Dinheiro.multiplicar(alimento.getPrecoCentavos(), quantidade);
+        subtotalCentavos += linha;
+        impostoCentavos += impostoLinhaCentavos(alimento, linha);
+    }
+
+    private void descontarLinha(Alimento alimento, int quantidade) {
+        long linha = Dinheiro.multiplicar(alimento.getPrecoCentavos(), quantidade);
+        subtotalCentavos -= linha;
+        impostoCentavos -= impostoLinhaCentavos(alimento, linha);
+    }
+
+    // O imposto incide sobre o valor da linha e é arredondado uma vez por linha
+    private static long impostoLinhaCentavos(Alimento alimento, long linhaCentavos) {
+        if (alimento instanceof Imposto_Alcool tributavel) {
+            return tributavel.calcularImpostoCentavos(linhaCentavos);
         }
-        return total;
+        return 0;
     }
 
     @Override
@@ -182,8 +340,73 @@ public class Pedido {
                 ", dataHora=" + dataHora +
                 ", usuario=" + (usuario != null ? usuario.getNome() : "N/A") +
                 ", avaliacao=" + avaliacao +
-                ", totalItens=" + itens.size() +
-                ", valorTotal=" + String.format("%.2f", calcularTotal()) +
+                ", totalItens=" + itens.tamanho() +
+                ", valorTotal=" + Dinheiro.formatar(getTotalCentavos()) +
                 '}';
     }
-}
\ No newline at end of file
+
+    /**
+     * Visão somente leitura dos itens como Map, lida direto da estrutura interna.
+     */
+    private final class VisaoItens extends AbstractMap<Alimento, Integer> {
+
+        private final Set<Map.Entry<Alimento, Integer>> entradas = new AbstractSet<>() {
+            @Override
+            public Iterator<Map.Entry<Alimento, Integer>> iterator() {
+                return new Iterator<>() {
+                    private int posicao;
+
+                    @Override
+                    public boolean hasNext() {
+                        return posicao < itens.tamanho();
+                    }
+
+                    @Override
+                    public Map.Entry<Alimento, Integer> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        Map.Entry<Alimento, Integer> entrada =
+                                new AbstractMap.SimpleImmutableEntry<>(itens.alimentoEm(posicao), itens.quantidadeEm(posicao));
+                        posicao++;
+                        return entrada;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return itens.tamanho();
+            }
+        };
+
+        @Override
+        public Set<Map.Entry<Alimento, Integer>> entrySet() {
+            return entradas;
+        }
+
+        @Override
+        public int size() {
+            return itens.tamanho();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return itens.tamanho() == 0;
+        }
+
+        @Override
+        public boolean containsKey(Object chave) {
+            return chave instanceof Alimento alimento && itens.posicaoDe(alimento.getId()) >= 0;
+        }
+
+        @Override
+        public Integer get(Object chave) {
+            if (!(chave instanceof Alimento alimento)) {
+                return null;
+            }
+            int posicao = itens.posicaoDe(alimento.getId());
+            return posicao < 0 ? null : itens.quantidadeEm(posicao);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Pedido já gravado, como exibido no histórico do usuário:
+ * dados do cabeçalho e os itens (ID, nome e quantidade) carregados junto.
+ * Imutável: os itens são copiados uma vez, na construção, para uma lista de tamanho exato.
+ */
+public final class PedidoHistorico {
+
+    /** Valor de {@link #getAvaliacao()} quando o pedido ainda não foi avaliado. */
+    public static final int SEM_AVALIACAO = -1;
+
+    private final int id;
+    private final LocalDateTime dataHora;
+    private final int avaliacao; // SEM_AVALIACAO quando ainda não avaliado
+    private final List<ItemHistorico> itens;
+
+    /**
+     * @param id O ID do pedido.
+     * @param dataHora Data e hora do pedido (pode ser null).
+     * @param avaliacao Nota de 0 a 5, ou {@link #SEM_AVALIACAO}.
+     * @param itens Itens do pedido, na ordem de exibição. A lista é copiada: quem monta pode reaproveitá-la.
+     */
+    public PedidoHistorico(int id, LocalDateTime dataHora, int avaliacao, List<ItemHistorico> itens) {
+        this.id = id;
+        this.dataHora = dataHora;
+        this.avaliacao = avaliacao;
+        this.itens = itens.isEmpty() ? List.of() : List.copyOf(itens);
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public LocalDateTime getDataHora() {
+        return dataHora;
+    }
+
+    /**
+     * @return A nota do pedido, ou {@link #SEM_AVALIACAO}.
+     */
+    public int getAvaliacao() {
+        return avaliacao;
+    }
+
+    public boolean isAvaliado() {
+        return avaliacao != SEM_AVALIACAO;
+    }
+
+    /**
+     * @return Lista não modificável dos itens, na ordem em que foram carregados.
+     */
+    public List<ItemHistorico> getItens() {
+        return itens;
+    }
+}
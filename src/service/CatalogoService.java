@@ -0,0 +1,113 @@
+package service;
+
+import dao.Armazenamento;
+import dao.Conexao;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import log.Log;
+import model.Alimento;
+
+/**
+ * Mantém o catálogo em memória para que consultas por ID não precisem ir ao banco.
+ * O catálogo é carregado uma vez (na primeira leitura) e trocado por inteiro em cada
+ * atualização; leitores sempre enxergam uma fotografia completa e nunca esperam por lock.
+ * A atualização pode ser pedida explicitamente ({@link #atualizar()}) ou feita
+ * periodicamente com -Dfeifood.catalogo.atualizacaoSeg=N.
+ */
+public final class CatalogoService {
+
+    private static final Log LOG = Log.para(CatalogoService.class);
+
+    private static final CatalogoService INSTANCIA = new CatalogoService();
+
+    private volatile CatalogoSnapshot snapshot; // null até a primeira carga
+    private long ultimaVersao; // protegido por this
+    private ScheduledExecutorService agendador;
+
+    private CatalogoService() {
+        long intervalo = Long.getLong("feifood.catalogo.atualizacaoSeg", 0L);
+        if (intervalo > 0) {
+            iniciarAtualizacaoPeriodica(intervalo);
+        }
+    }
+
+    public static CatalogoService getInstancia() {
+        return INSTANCIA;
+    }
+
+    /**
+     * Retorna a fotografia atual, carregando-a do banco se ainda não existir.
+     * @return O catálogo vigente.
+     * @throws SQLException Se a primeira carga falhar.
+     */
+    public CatalogoSnapshot getSnapshot() throws SQLException {
+        CatalogoSnapshot atual = snapshot;
+        if (atual != null) {
+            return atual;
+        }
+        synchronized (this) {
+            // Outra thread pode ter carregado enquanto esperávamos
+            return snapshot != null ? snapshot : atualizar();
+        }
+    }
+
+    /**
+     * Busca um alimento pelo ID na fotografia atual (sem acesso ao banco após a primeira carga).
+     * @param id O ID do alimento.
+     * @return O alimento, ou null se não existir.
+     * @throws SQLException Se a primeira carga falhar.
+     */
+    public Alimento buscarAlimentoPorId(int id) throws SQLException {
+        return getSnapshot().buscarAlimento(id);
+    }
+
+    /**
+     * @return Todos os alimentos ordenados por nome.
+     * @throws SQLException Se a primeira carga falhar.
+     */
+    public List<Alimento> listarAlimentos() throws SQLException {
+        return getSnapshot().getAlimentos();
+    }
+
+    /**
+     * Recarrega o catálogo do banco e publica a nova fotografia.
+     * Leitores continuam usando a fotografia anterior até a troca.
+     * @return A nova fotografia.
+     * @throws SQLException Se a carga falhar (a fotografia anterior é mantida).
+     */
+    public synchronized CatalogoSnapshot atualizar() throws SQLException {
+        List<Alimento> alimentos;
+        try (Connection conn = new Conexao().getConnection()) {
+            alimentos = Armazenamento.alimentos(conn).listarTodosCompleto();
+        }
+        CatalogoSnapshot novo = new CatalogoSnapshot(++ultimaVersao, alimentos);
+        snapshot = novo;
+        return novo;
+    }
+
+    /**
+     * Agenda recargas periódicas do catálogo em uma thread daemon.
+     * @param intervaloSegundos Intervalo entre recargas.
+     */
+    public synchronized void iniciarAtualizacaoPeriodica(long intervaloSegundos) {
+        if (agendador != null) {
+            agendador.shutdownNow();
+        }
+        agendador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "feifood-catalogo");
+            t.setDaemon(true);
+            return t;
+        });
+        agendador.scheduleWithFixedDelay(() -> {
+            try {
+                atualizar();
+            } catch (SQLException | RuntimeException e) {
+                LOG.aviso("Erro ao atualizar catálogo", "erro", e.getMessage());
+            }
+        }, intervaloSegundos, intervaloSegundos, TimeUnit.SECONDS);
+    }
+}
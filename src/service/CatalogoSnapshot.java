@@ -0,0 +1,76 @@
+package service;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import model.Alimento;
+import model.Estabelecimento;
+
+/**
+ * Fotografia imutável do catálogo (Alimentos e Estabelecimentos) em um dado momento.
+ * Nunca é alterada depois de criada: uma atualização gera uma nova fotografia,
+ * então os leitores podem usá-la sem nenhum bloqueio.
+ * Os objetos Alimento são compartilhados entre leitores e não devem ser modificados.
+ */
+public final class CatalogoSnapshot {
+
+    private final long versao;
+    private final long carregadoEmMillis;
+    private final List<Alimento> alimentosPorNome;
+    private final Map<Integer, Alimento> alimentosPorId;
+    private final Map<Integer, Estabelecimento> estabelecimentosPorId;
+
+    /**
+     * @param versao Número da carga (cresce a cada atualização).
+     * @param alimentos Alimentos já ordenados por nome.
+     */
+    CatalogoSnapshot(long versao, List<Alimento> alimentos) {
+        this.versao = versao;
+        this.carregadoEmMillis = System.currentTimeMillis();
+        this.alimentosPorNome = List.copyOf(alimentos);
+
+        Map<Integer, Alimento> porId = new HashMap<>(alimentos.size() * 2);
+        Map<Integer, Estabelecimento> estabelecimentos = new HashMap<>();
+        for (Alimento alimento : alimentos) {
+            porId.put(alimento.getId(), alimento);
+            Estabelecimento e = alimento.getEstabelecimento();
+            if (e != null) {
+                estabelecimentos.putIfAbsent(e.getId(), e);
+            }
+        }
+        this.alimentosPorId = Collections.unmodifiableMap(porId);
+        this.estabelecimentosPorId = Collections.unmodifiableMap(estabelecimentos);
+    }
+
+    public long getVersao() {
+        return versao;
+    }
+
+    public long getCarregadoEmMillis() {
+        return carregadoEmMillis;
+    }
+
+    /**
+     * @return Todos os alimentos, ordenados por nome (lista não modificável).
+     */
+    public List<Alimento> getAlimentos() {
+        return alimentosPorNome;
+    }
+
+    /**
+     * @param id O ID do alimento.
+     * @return O alimento, ou null se não existir no catálogo.
+     */
+    public Alimento buscarAlimento(int id) {
+        return alimentosPorId.get(id);
+    }
+
+    /**
+     * @param id O ID do estabelecimento.
+     * @return O estabelecimento, ou null se nenhum alimento do catálogo pertencer a ele.
+     */
+    public Estabelecimento buscarEstabelecimento(int id) {
+        return estabelecimentosPorId.get(id);
+    }
+}
@@ -0,0 +1,22 @@
+package service;
+
+import dao.Conexao;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * De onde os serviços obtêm conexões. Os Controllers passam a conexão da tarefa em andamento
+ * (que pode ser cancelada); o padrão usa o motor de armazenamento da aplicação.
+ */
+@FunctionalInterface
+public interface FonteConexao {
+
+    Connection obter() throws SQLException;
+
+    /**
+     * @return Fonte que obtém conexões de {@link Conexao} (motor de armazenamento em uso).
+     */
+    static FonteConexao padrao() {
+        return () -> new Conexao().getConnection();
+    }
+}
@@ -0,0 +1,187 @@
+package service;
+
+import dao.Armazenamento;
+import dao.PedidoDAO;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.function.Consumer;
+import model.Alimento;
+import model.Pedido;
+import model.PedidoHistorico;
+
+/**
+ * Fluxos de carrinho e pedidos (fazer, avaliar, editar, excluir, histórico), sem dependência
+ * de Swing. Cada operação obtém sua própria conexão da {@link FonteConexao} e a devolve ao
+ * terminar; alterações com mais de um comando rodam em uma transação.
+ * Erros de entrada viram IllegalArgumentException com a mensagem para o usuário.
+ */
+public class PedidoService {
+
+    private final FonteConexao fonte;
+
+    public PedidoService(FonteConexao fonte) {
+        this.fonte = fonte;
+    }
+
+    public PedidoService() {
+        this(FonteConexao.padrao());
+    }
+
+    /**
+     * Trabalho executado dentro de uma transação.
+     */
+    @FunctionalInterface
+    private interface Transacao<T> {
+        T executar(PedidoDAO dao) throws SQLException;
+    }
+
+    // --- Carrinho (o Pedido em construção; pertence a uma única thread) ---
+
+    /**
+     * Busca o alimento no catálogo e o adiciona ao carrinho.
+     * @param carrinho O pedido em construção.
+     * @param idAlimento O ID do alimento.
+     * @param quantidade A quantidade a adicionar (maior que zero).
+     * @return O alimento adicionado, ou null se não existir (o carrinho não muda).
+     * @throws IllegalArgumentException Se a quantidade não for positiva.
+     * @throws SQLException Se a primeira carga do catálogo falhar.
+     */
+    public Alimento adicionarAoCarrinho(Pedido carrinho, int idAlimento, int quantidade) throws SQLException {
+        if (quantidade <= 0) {
+            throw new IllegalArgumentException("A quantidade deve ser maior que zero.");
+        }
+        Alimento alimento = CatalogoService.getInstancia().buscarAlimentoPorId(idAlimento);
+        if (alimento != null) {
+            carrinho.adicionarItem(alimento, quantidade);
+        }
+        return alimento;
+    }
+
+    // --- Pedidos gravados ---
+
+    /**
+     * Grava o carrinho como um novo pedido.
+     * @param pedido O pedido, com usuário e itens.
+     * @return O ID do pedido criado.
+     * @throws IllegalArgumentException Se o pedido estiver vazio ou sem usuário válido.
+     * @throws SQLException Se ocorrer um erro no armazenamento.
+     */
+    public int fazerPedido(Pedido pedido) throws SQLException {
+        if (pedido.isVazio()) {
+            throw new IllegalArgumentException("Adicione pelo menos um item ao pedido antes de finalizá-lo.");
+        }
+        try (Connection conn = fonte.obter()) {
+            PedidoDAO pedidoDAO = Armazenamento.pedidos(conn);
+            if (pedidoDAO.isInsercaoUnica()) {
+                // Um único comando já é atômico: dispensa BEGIN/COMMIT (uma ida ao banco)
+                return pedidoDAO.criarPedido(pedido);
+            }
+            return emTransacao(conn, dao -> dao.criarPedido(pedido));
+        }
+    }
+
+    /**
+     * Define a avaliação (0 a 5) de um pedido.
+     * @throws IllegalArgumentException Se a nota estiver fora do intervalo.
+     * @throws SQLException Se o pedido não existir ou ocorrer um erro no armazenamento.
+     */
+    public void avaliarPedido(int idPedido, int nota) throws SQLException {
+        try (Connection conn = fonte.obter()) {
+            emTransacao(conn, dao -> {
+                dao.avaliarPedido(idPedido, nota);
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Exclui um pedido e seus itens.
+     * @return true se o pedido existia e foi excluído.
+     * @throws SQLException Se ocorrer um erro no armazenamento.
+     */
+    public boolean excluirPedido(int idPedido) throws SQLException {
+        try (Connection conn = fonte.obter()) {
+            return emTransacao(conn, dao -> dao.excluirPedido(idPedido));
+        }
+    }
+
+    /**
+     * Define a quantidade de um item em um pedido gravado; quantidade 0 remove o item.
+     * @return false se a intenção era remover e o item não estava no pedido (nada muda).
+     * @throws IllegalArgumentException Se a quantidade for negativa.
+     * @throws SQLException Se ocorrer um erro no armazenamento.
+     */
+    public boolean editarItemPedido(int idPedido, int idAlimento, int novaQuantidade) throws SQLException {
+        if (novaQuantidade < 0) {
+            throw new IllegalArgumentException("A nova quantidade não pode ser negativa.");
+        }
+        try (Connection conn = fonte.obter()) {
+            return emTransacao(conn, dao -> {
+                if (novaQuantidade == 0 && !dao.verificarItemExisteNoPedido(idPedido, idAlimento)) {
+                    return false; // Nada a remover
+                }
+                dao.adicionarOuAtualizarItemPedido(idPedido, idAlimento, novaQuantidade);
+                return true;
+            });
+        }
+    }
+
+    /**
+     * @return true se o pedido existe e pertence ao usuário (para clientes que só podem
+     *         alterar os próprios pedidos).
+     * @throws SQLException Se ocorrer um erro no armazenamento.
+     */
+    public boolean pertenceAoUsuario(int idPedido, int idUsuario) throws SQLException {
+        try (Connection conn = fonte.obter()) {
+            return Armazenamento.pedidos(conn).pertenceAoUsuario(idPedido, idUsuario);
+        }
+    }
+
+    /**
+     * @return Pedidos do usuário com seus itens, do mais recente para o mais antigo.
+     * @throws SQLException Se ocorrer um erro no armazenamento.
+     */
+    public List<PedidoHistorico> listarHistorico(int idUsuario) throws SQLException {
+        try (Connection conn = fonte.obter()) {
+            return Armazenamento.pedidos(conn).listarHistoricoPorUsuario(idUsuario);
+        }
+    }
+
+    /**
+     * Percorre uma página do histórico do usuário, entregando cada pedido (com itens) assim que é lido.
+     * @param aposPedido Último pedido da página anterior, ou null para a primeira página.
+     * @param limite Máximo de pedidos na página.
+     * @param destino Recebe os pedidos, do mais recente para o mais antigo.
+     * @return Quantidade de pedidos entregues; menor que limite quando não há mais.
+     * @throws SQLException Se ocorrer um erro no armazenamento.
+     */
+    public int percorrerHistoricoPagina(int idUsuario, PedidoHistorico aposPedido, int limite,
+                                        Consumer<? super PedidoHistorico> destino) throws SQLException {
+        try (Connection conn = fonte.obter()) {
+            return Armazenamento.pedidos(conn).percorrerHistoricoPaginaPorUsuario(idUsuario, aposPedido, limite, destino);
+        }
+    }
+
+    /**
+     * Executa o trabalho em uma transação: confirma se ele terminar e devolver algo diferente
+     * de false; reverte se devolver false ou lançar exceção.
+     */
+    private static <T> T emTransacao(Connection conn, Transacao<T> trabalho) throws SQLException {
+        conn.setAutoCommit(false);
+        try {
+            T resultado = trabalho.executar(Armazenamento.pedidos(conn));
+            if (Boolean.FALSE.equals(resultado)) {
+                conn.rollback(); // Nada foi alterado
+            } else {
+                conn.commit();
+            }
+            return resultado;
+        } catch (SQLException | RuntimeException ex) {
+            conn.rollback();
+            throw ex;
+        } finally {
+            conn.setAutoCommit(true); // Restaura modo padrão
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package service;
+
+import dao.Armazenamento;
+import java.sql.Connection;
+import java.sql.SQLException;
+import model.Usuario;
+
+/**
+ * Fluxos de login e cadastro, sem dependência de Swing.
+ */
+public class UsuarioService {
+
+    private final FonteConexao fonte;
+
+    public UsuarioService(FonteConexao fonte) {
+        this.fonte = fonte;
+    }
+
+    public UsuarioService() {
+        this(FonteConexao.padrao());
+    }
+
+    /**
+     * Autentica o usuário pelo email e senha.
+     * @param email O email informado.
+     * @param senha A senha informada.
+     * @return O usuário (com ID e nome), ou null se email ou senha estiverem incorretos.
+     * @throws IllegalArgumentException Se email ou senha estiverem vazios.
+     * @throws SQLException Se ocorrer um erro no armazenamento.
+     */
+    public Usuario autenticar(String email, String senha) throws SQLException {
+        if (email == null || email.isEmpty() || senha == null || senha.isEmpty()) {
+            throw new IllegalArgumentException("Usuário e Senha são obrigatórios!");
+        }
+        try (Connection conn = fonte.obter()) {
+            return Armazenamento.usuarios(conn).autenticar(email, senha);
+        }
+    }
+
+    /**
+     * Cadastra um novo usuário.
+     * @param nome Nome do usuário.
+     * @param email Email (login) do usuário.
+     * @param senha Senha do usuário.
+     * @throws IllegalArgumentException Se algum campo estiver vazio.
+     * @throws SQLException Se ocorrer um erro no armazenamento (ex.: email já cadastrado).
+     */
+    public void cadastrar(String nome, String email, String senha) throws SQLException {
+        if (nome == null || nome.isEmpty() || email == null || email.isEmpty() || senha == null || senha.isEmpty()) {
+            throw new IllegalArgumentException("Todos os campos são obrigatórios!");
+        }
+        try (Connection conn = fonte.obter()) {
+            Armazenamento.usuarios(conn).inserir(new Usuario(nome, email, senha));
+        }
+    }
+}
@@ -12,6 +12,13 @@ public class Login extends javax.swing.JFrame {
     public Login() {
         initComponents();
         c = new ControleLogin(this);
+        // Fecha as conexões do pool quando o usuário fecha a janela
+        addWindowListener(new java.awt.event.WindowAdapter() {
+            @Override
+            public void windowClosing(java.awt.event.WindowEvent e) {
+                dao.Armazenamento.encerrar();
+            }
+        });
     }
 
     public JButton getBtCadastrar() {
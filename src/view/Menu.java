@@ -4,12 +4,15 @@
  */
 package view;
 
+import javax.swing.JButton;
+import javax.swing.JTable;
 import javax.swing.JTextArea;
 import javax.swing.JTextField;
 
 import model.*;
 import controller.*;
 import javax.swing.JSlider;
+import javax.swing.table.TableColumnModel;
 
 /**
  *
@@ -18,13 +21,27 @@ import javax.swing.JSlider;
 public class Menu extends javax.swing.JFrame {
     private Usuario usuarioLogado;
     private ControleMenu cm;
+    // Modelos das tabelas (criados antes do initComponents, que os associa às JTables)
+    private final ModeloAlimentos modeloAlimentos = new ModeloAlimentos();
+    private final ModeloItensPedido modeloItensPedido = new ModeloItensPedido();
+    private final ModeloHistorico modeloHistorico = new ModeloHistorico(); // Compartilhado pelas duas abas de pedidos
     /**
      * Creates new form Menu
      */
     public Menu(Usuario usur) {
         initComponents();
+        configurarTabelaHistorico(tabelaTodosPedidos);
+        configurarTabelaHistorico(tabelaTodosPedidos1);
         this.usuarioLogado = usur;
         this.cm = new ControleMenu(this, usur);
+        // Fecha as conexões do pool quando o usuário fecha a janela
+        addWindowListener(new java.awt.event.WindowAdapter() {
+            @Override
+            public void windowClosing(java.awt.event.WindowEvent e) {
+                cm.encerrar();
+                dao.Armazenamento.encerrar();
+            }
+        });
         this.setVisible(true);
     }
 
@@ -32,8 +49,8 @@ public class Menu extends javax.swing.JFrame {
         return txtInputIDalimento;
     }
 
-    public JTextArea getTxtOutputAlimentos() {
-        return txtOutputAlimentos;
+    public ModeloAlimentos getModeloAlimentos() {
+        return modeloAlimentos;
     }
 
     public JTextArea getTxtOutputInfoAlimento() {
@@ -52,8 +69,12 @@ public class Menu extends javax.swing.JFrame {
         return txtOutputNota;
     }
 
-    public JTextArea getTxtOutputTodosPedidos() {
-        return txtOutputTodosPedidos;
+    public ModeloHistorico getModeloHistorico() {
+        return modeloHistorico;
+    }
+
+    public JTable getTabelaTodosPedidos() {
+        return tabelaTodosPedidos;
     }
 
     public JTextField getTxtInputExcPedido() {
@@ -68,12 +89,12 @@ public class Menu extends javax.swing.JFrame {
         return txtInputQuantidadeAlimento;
     }
 
-    public JTextArea getTxtOutputItensPedido() {
-        return txtOutputItensPedido;
+    public ModeloItensPedido getModeloItensPedido() {
+        return modeloItensPedido;
     }
 
-    public JTextArea getTxtOutputTodosPedidos1() {
-        return txtOutputTodosPedidos1;
+    public JTable getTabelaTodosPedidos1() {
+        return tabelaTodosPedidos1;
     }
 
     public JTextField getTxtInputEditPedido() {
@@ -87,6 +108,46 @@ public class Menu extends javax.swing.JFrame {
     public JTextField getTxtInputQtdAlimento() {
         return txtInputQtdAlimento;
     }
+
+    public JButton getBtBuscaInfo() {
+        return btBuscaInfo;
+    }
+
+    public JButton getBtAvaliaPedido() {
+        return btAvaliaPedido;
+    }
+
+    public JButton getBtAdicionarAlimentoPedido() {
+        return btAdicionarAlimentoPedido;
+    }
+
+    public JButton getBtRemoveAlimentoPedido() {
+        return btRemoveAlimentoPedido;
+    }
+
+    public JButton getBtFazerPedido() {
+        return btFazerPedido;
+    }
+
+    public JButton getBtExcluiPedido() {
+        return btExcluiPedido;
+    }
+
+    public JButton getBtEditaPedido() {
+        return btEditaPedido;
+    }
+
+    /**
+     * Larguras das colunas do histórico; os itens ficam com o resto e mostram o texto completo na dica.
+     */
+    private static void configurarTabelaHistorico(JTable tabela) {
+        TableColumnModel colunas = tabela.getColumnModel();
+        colunas.getColumn(0).setPreferredWidth(50);
+        colunas.getColumn(1).setPreferredWidth(110);
+        colunas.getColumn(2).setPreferredWidth(60);
+        colunas.getColumn(ModeloHistorico.COLUNA_ITENS).setPreferredWidth(400);
+        colunas.getColumn(ModeloHistorico.COLUNA_ITENS).setCellRenderer(new RenderizadorComDica());
+    }
     
     
     
@@ -110,7 +171,7 @@ public class Menu extends javax.swing.JFrame {
         jTabbedPane1 = new javax.swing.JTabbedPane();
         jPanel1 = new javax.swing.JPanel();
         jScrollPane1 = new javax.swing.JScrollPane();
-        txtOutputAlimentos = new javax.swing.JTextArea();
+        tabelaAlimentos = new javax.swing.JTable();
         jLabel1 = new javax.swing.JLabel();
         jScrollPane2 = new javax.swing.JScrollPane();
         txtOutputInfoAlimento = new javax.swing.JTextArea();
@@ -120,7 +181,7 @@ public class Menu extends javax.swing.JFrame {
         jLabel3 = new javax.swing.JLabel();
         jPanel2 = new javax.swing.JPanel();
         jScrollPane3 = new javax.swing.JScrollPane();
-        txtOutputTodosPedidos = new javax.swing.JTextArea();
+        tabelaTodosPedidos = new javax.swing.JTable();
         jLabel4 = new javax.swing.JLabel();
         sliderInputNota = new javax.swing.JSlider();
         txtInputIDpedido = new javax.swing.JTextField();
@@ -131,7 +192,7 @@ public class Menu extends javax.swing.JFrame {
         txtOutputNota = new javax.swing.JTextArea();
         jPanel3 = new javax.swing.JPanel();
         jScrollPane6 = new javax.swing.JScrollPane();
-        txtOutputItensPedido = new javax.swing.JTextArea();
+        tabelaItensPedido = new javax.swing.JTable();
         jLabel7 = new javax.swing.JLabel();
         txtInputIDalimentoPedido = new javax.swing.JTextField();
         jLabel8 = new javax.swing.JLabel();
@@ -144,7 +205,7 @@ public class Menu extends javax.swing.JFrame {
         jPanel4 = new javax.swing.JPanel();
         jLabel11 = new javax.swing.JLabel();
         jScrollPane7 = new javax.swing.JScrollPane();
-        txtOutputTodosPedidos1 = new javax.swing.JTextArea();
+        tabelaTodosPedidos1 = new javax.swing.JTable();
         jLabel12 = new javax.swing.JLabel();
         jLabel13 = new javax.swing.JLabel();
         txtInputExcPedido = new javax.swing.JTextField();
@@ -166,9 +227,9 @@ public class Menu extends javax.swing.JFrame {
 
         setDefaultCloseOperation(javax.swing.WindowConstants.EXIT_ON_CLOSE);
 
-        txtOutputAlimentos.setColumns(20);
-        txtOutputAlimentos.setRows(5);
-        jScrollPane1.setViewportView(txtOutputAlimentos);
+        tabelaAlimentos.setModel(modeloAlimentos);
+        tabelaAlimentos.setFillsViewportHeight(true);
+        jScrollPane1.setViewportView(tabelaAlimentos);
 
         jLabel1.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
         jLabel1.setText("Sobre Alimento");
@@ -246,9 +307,9 @@ public class Menu extends javax.swing.JFrame {
 
         jTabbedPane1.addTab("Alimentos", jPanel1);
 
-        txtOutputTodosPedidos.setColumns(20);
-        txtOutputTodosPedidos.setRows(5);
-        jScrollPane3.setViewportView(txtOutputTodosPedidos);
+        tabelaTodosPedidos.setModel(modeloHistorico);
+        tabelaTodosPedidos.setFillsViewportHeight(true);
+        jScrollPane3.setViewportView(tabelaTodosPedidos);
 
         jLabel4.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
         jLabel4.setText("Todos os Pedidos:");
@@ -332,9 +393,9 @@ public class Menu extends javax.swing.JFrame {
 
         jTabbedPane1.addTab("Avaliar Pedidos", jPanel2);
 
-        txtOutputItensPedido.setColumns(20);
-        txtOutputItensPedido.setRows(5);
-        jScrollPane6.setViewportView(txtOutputItensPedido);
+        tabelaItensPedido.setModel(modeloItensPedido);
+        tabelaItensPedido.setFillsViewportHeight(true);
+        jScrollPane6.setViewportView(tabelaItensPedido);
 
         jLabel7.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
         jLabel7.setText("Pedido Atual:");
@@ -442,9 +503,9 @@ public class Menu extends javax.swing.JFrame {
         jLabel11.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
         jLabel11.setText("Todos os Pedidos:");
 
-        txtOutputTodosPedidos1.setColumns(20);
-        txtOutputTodosPedidos1.setRows(5);
-        jScrollPane7.setViewportView(txtOutputTodosPedidos1);
+        tabelaTodosPedidos1.setModel(modeloHistorico);
+        tabelaTodosPedidos1.setFillsViewportHeight(true);
+        jScrollPane7.setViewportView(tabelaTodosPedidos1);
 
         jLabel12.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
         jLabel12.setText("Excluir Pedido:");
@@ -732,6 +793,10 @@ public class Menu extends javax.swing.JFrame {
     private javax.swing.JTextArea jTextArea1;
     private javax.swing.JTextField jTextField1;
     private javax.swing.JSlider sliderInputNota;
+    private javax.swing.JTable tabelaAlimentos;
+    private javax.swing.JTable tabelaItensPedido;
+    private javax.swing.JTable tabelaTodosPedidos;
+    private javax.swing.JTable tabelaTodosPedidos1;
     private javax.swing.JTextField txtInputEditPedido;
     private javax.swing.JTextField txtInputExcPedido;
     private javax.swing.JTextField txtInputIDEditAlimentoPedido;
@@ -740,11 +805,7 @@ public class Menu extends javax.swing.JFrame {
     private javax.swing.JTextField txtInputIDpedido;
     private javax.swing.JTextField txtInputQtdAlimento;
     private javax.swing.JTextField txtInputQuantidadeAlimento;
-    private javax.swing.JTextArea txtOutputAlimentos;
     private javax.swing.JTextArea txtOutputInfoAlimento;
-    private javax.swing.JTextArea txtOutputItensPedido;
     private javax.swing.JTextArea txtOutputNota;
-    private javax.swing.JTextArea txtOutputTodosPedidos;
-    private javax.swing.JTextArea txtOutputTodosPedidos1;
     // End of variables declaration//GEN-END:variables
 }
@@ -0,0 +1,26 @@
+package view;
+
+import java.util.Objects;
+import model.Alimento;
+
+/**
+ * Catálogo na aba Alimentos: ID e nome de cada alimento.
+ */
+public class ModeloAlimentos extends ModeloLinhas<Alimento> {
+
+    private static final long serialVersionUID = 1L;
+
+    public ModeloAlimentos() {
+        super(new String[]{"ID", "Nome"}, new Class<?>[]{Integer.class, String.class});
+    }
+
+    @Override
+    protected Object valor(Alimento alimento, int coluna) {
+        return coluna == 0 ? alimento.getId() : alimento.getNome();
+    }
+
+    @Override
+    protected boolean mesmoConteudo(Alimento atual, Alimento nova) {
+        return atual.getId() == nova.getId() && Objects.equals(atual.getNome(), nova.getNome());
+    }
+}
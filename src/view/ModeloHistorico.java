@@ -0,0 +1,74 @@
+package view;
+
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Objects;
+import model.ItemHistorico;
+import model.PedidoHistorico;
+
+/**
+ * Histórico de pedidos do usuário: uma linha por pedido com data, avaliação e o resumo dos itens.
+ * A mesma instância é exibida pelas tabelas das abas de avaliação e de edição.
+ * Os textos das células são montados só quando a tabela desenha a linha (linhas visíveis).
+ */
+public class ModeloHistorico extends ModeloLinhas<PedidoHistorico> {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final int COLUNA_ITENS = 3;
+
+    private static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
+    public ModeloHistorico() {
+        super(new String[]{"Pedido", "Data", "Avaliação", "Itens"},
+              new Class<?>[]{Integer.class, String.class, String.class, String.class});
+    }
+
+    @Override
+    protected Object valor(PedidoHistorico pedido, int coluna) {
+        return switch (coluna) {
+            case 0 -> pedido.getId();
+            case 1 -> pedido.getDataHora() != null ? FORMATO_DATA.format(pedido.getDataHora()) : "N/A";
+            case 2 -> pedido.isAvaliado() ? String.valueOf(pedido.getAvaliacao()) : "N/A";
+            default -> resumirItens(pedido.getItens());
+        };
+    }
+
+    private static String resumirItens(List<ItemHistorico> itens) {
+        if (itens.isEmpty()) {
+            return "(Nenhum item encontrado)";
+        }
+        StringBuilder texto = new StringBuilder(itens.size() * 24);
+        for (int i = 0; i < itens.size(); i++) {
+            ItemHistorico item = itens.get(i);
+            if (i > 0) {
+                texto.append(", ");
+            }
+            texto.append(item.getQuantidade()).append("x ").append(item.getNome())
+                 .append(" (ID ").append(item.getIdAlimento()).append(')');
+        }
+        return texto.toString();
+    }
+
+    @Override
+    protected boolean mesmoConteudo(PedidoHistorico atual, PedidoHistorico novo) {
+        if (atual.getId() != novo.getId() || atual.getAvaliacao() != novo.getAvaliacao()
+                || !Objects.equals(atual.getDataHora(), novo.getDataHora())) {
+            return false;
+        }
+        List<ItemHistorico> itensAtuais = atual.getItens();
+        List<ItemHistorico> itensNovos = novo.getItens();
+        if (itensAtuais.size() != itensNovos.size()) {
+            return false;
+        }
+        for (int i = 0; i < itensAtuais.size(); i++) {
+            ItemHistorico a = itensAtuais.get(i);
+            ItemHistorico b = itensNovos.get(i);
+            if (a.getIdAlimento() != b.getIdAlimento() || a.getQuantidade() != b.getQuantidade()
+                    || !Objects.equals(a.getNome(), b.getNome())) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
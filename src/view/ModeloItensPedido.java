@@ -0,0 +1,102 @@
+package view;
+
+import java.util.ArrayList;
+import java.util.List;
+import model.Alimento;
+import model.Dinheiro;
+import model.Pedido;
+
+/**
+ * Pedido em construção na aba Fazer Pedido: uma linha por item (quantidade, nome e preço
+ * unitário) seguida das linhas de resumo (subtotal e imposto quando há bebida alcoólica, e total).
+ */
+public class ModeloItensPedido extends ModeloLinhas<ModeloItensPedido.ItemCarrinho> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Item do pedido como exibido na tabela.
+     */
+    public record ItemCarrinho(Alimento alimento, int quantidade) {
+    }
+
+    private record LinhaResumo(String rotulo, long centavos) {
+    }
+
+    private final transient List<LinhaResumo> resumo = new ArrayList<>(3);
+
+    public ModeloItensPedido() {
+        super(new String[]{"Qtd", "Alimento", "Preço (R$)"}, new Class<?>[]{Integer.class, String.class, String.class});
+    }
+
+    /**
+     * Atualiza a tabela com os itens e os valores do pedido. Só as linhas que mudaram são
+     * avisadas à tabela (ex.: adicionar um item insere uma linha e atualiza o total).
+     * @param pedido O pedido em construção.
+     */
+    public void sincronizar(Pedido pedido) {
+        List<ItemCarrinho> itens = new ArrayList<>(pedido.getQuantidadeItens());
+        pedido.paraCadaItem((alimento, quantidade) -> itens.add(new ItemCarrinho(alimento, quantidade)));
+        substituir(itens);
+
+        List<LinhaResumo> novo = new ArrayList<>(3);
+        if (pedido.getImpostoCentavos() > 0) {
+            novo.add(new LinhaResumo("Subtotal", pedido.getSubtotalCentavos()));
+            novo.add(new LinhaResumo("Imposto (bebidas alcoólicas)", pedido.getImpostoCentavos()));
+        }
+        novo.add(new LinhaResumo("Total", pedido.getTotalCentavos()));
+        atualizarResumo(novo);
+    }
+
+    private void atualizarResumo(List<LinhaResumo> novo) {
+        int base = getQuantidade();
+        int comum = Math.min(resumo.size(), novo.size());
+        for (int i = 0; i < comum; i++) {
+            if (!resumo.get(i).equals(novo.get(i))) {
+                resumo.set(i, novo.get(i));
+                fireTableRowsUpdated(base + i, base + i);
+            }
+        }
+        if (novo.size() > resumo.size()) {
+            resumo.addAll(novo.subList(comum, novo.size()));
+            fireTableRowsInserted(base + comum, base + resumo.size() - 1);
+        } else if (novo.size() < resumo.size()) {
+            int ultima = base + resumo.size() - 1;
+            resumo.subList(comum, resumo.size()).clear();
+            fireTableRowsDeleted(base + comum, ultima);
+        }
+    }
+
+    @Override
+    public int getRowCount() {
+        return getQuantidade() + resumo.size();
+    }
+
+    @Override
+    public Object getValueAt(int linha, int coluna) {
+        if (linha < getQuantidade()) {
+            return super.getValueAt(linha, coluna);
+        }
+        LinhaResumo linhaResumo = resumo.get(linha - getQuantidade());
+        return switch (coluna) {
+            case 1 -> linhaResumo.rotulo();
+            case 2 -> Dinheiro.formatar(linhaResumo.centavos());
+            default -> null;
+        };
+    }
+
+    @Override
+    protected Object valor(ItemCarrinho item, int coluna) {
+        return switch (coluna) {
+            case 0 -> item.quantidade();
+            case 1 -> item.alimento().getNome();
+            default -> Dinheiro.formatar(item.alimento().getPrecoCentavos());
+        };
+    }
+
+    @Override
+    protected boolean mesmoConteudo(ItemCarrinho atual, ItemCarrinho nova) {
+        return atual.alimento().getId() == nova.alimento().getId() && atual.quantidade() == nova.quantidade()
+                && atual.alimento().getPrecoCentavos() == nova.alimento().getPrecoCentavos();
+    }
+}
@@ -0,0 +1,133 @@
+package view;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * Modelo de tabela sobre uma lista de linhas tipadas. As alterações avisam a JTable apenas das
+ * faixas de linhas que mudaram (inserção, atualização ou remoção), em vez de refazer a tabela
+ * inteira como um setText; a JTable, por sua vez, só desenha as linhas visíveis.
+ * Deve ser usado apenas na EDT.
+ *
+ * @param <T> Tipo de cada linha.
+ */
+public abstract class ModeloLinhas<T> extends AbstractTableModel {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String[] colunas;
+    private final Class<?>[] tipos;
+    private final transient List<T> linhas = new ArrayList<>();
+
+    /**
+     * @param colunas Títulos das colunas.
+     * @param tipos Classe dos valores de cada coluna (define o alinhamento padrão da JTable).
+     */
+    protected ModeloLinhas(String[] colunas, Class<?>[] tipos) {
+        this.colunas = colunas;
+        this.tipos = tipos;
+    }
+
+    /**
+     * @return O valor exibido na coluna para a linha.
+     */
+    protected abstract Object valor(T linha, int coluna);
+
+    /**
+     * @return true se as duas linhas são exibidas da mesma forma (sem aviso à tabela ao trocar uma pela outra).
+     */
+    protected boolean mesmoConteudo(T atual, T nova) {
+        return Objects.equals(atual, nova);
+    }
+
+    @Override
+    public int getRowCount() {
+        return linhas.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return colunas.length;
+    }
+
+    @Override
+    public String getColumnName(int coluna) {
+        return colunas[coluna];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int coluna) {
+        return tipos[coluna];
+    }
+
+    @Override
+    public Object getValueAt(int linha, int coluna) {
+        return valor(linhas.get(linha), coluna);
+    }
+
+    /**
+     * @return Quantidade de linhas de dados (subclasses podem exibir linhas extras depois delas).
+     */
+    public int getQuantidade() {
+        return linhas.size();
+    }
+
+    public T getLinha(int indice) {
+        return linhas.get(indice);
+    }
+
+    /**
+     * Coloca as linhas a partir da posição: as existentes são substituídas (a tabela só é avisada
+     * das que mudaram de conteúdo) e as que passarem do fim são acrescentadas.
+     * @param posicao Onde começar (no máximo a quantidade atual de linhas).
+     * @param novas As linhas.
+     * @return A posição seguinte à última linha colocada.
+     */
+    public int colocar(int posicao, List<? extends T> novas) {
+        Objects.checkIndex(posicao, linhas.size() + 1);
+        int fimSubstituicao = Math.min(linhas.size(), posicao + novas.size());
+        int inicioFaixa = -1; // Faixa contínua de linhas alteradas, avisada de uma vez
+        for (int i = posicao; i < fimSubstituicao; i++) {
+            T nova = novas.get(i - posicao);
+            boolean mudou = !mesmoConteudo(linhas.get(i), nova);
+            linhas.set(i, nova);
+            if (mudou && inicioFaixa < 0) {
+                inicioFaixa = i;
+            } else if (!mudou && inicioFaixa >= 0) {
+                fireTableRowsUpdated(inicioFaixa, i - 1);
+                inicioFaixa = -1;
+            }
+        }
+        if (inicioFaixa >= 0) {
+            fireTableRowsUpdated(inicioFaixa, fimSubstituicao - 1);
+        }
+        if (posicao + novas.size() > linhas.size()) {
+            int inicio = linhas.size();
+            linhas.addAll(novas.subList(fimSubstituicao - posicao, novas.size()));
+            fireTableRowsInserted(inicio, linhas.size() - 1);
+        }
+        return posicao + novas.size();
+    }
+
+    /**
+     * Remove as linhas a partir da posição informada.
+     * @param tamanho Quantidade de linhas que continuam.
+     */
+    public void truncar(int tamanho) {
+        if (tamanho >= linhas.size()) {
+            return;
+        }
+        int ultima = linhas.size() - 1;
+        linhas.subList(tamanho, linhas.size()).clear();
+        fireTableRowsDeleted(tamanho, ultima);
+    }
+
+    /**
+     * Troca todas as linhas, avisando a tabela apenas das diferenças posição a posição.
+     */
+    public void substituir(List<? extends T> novas) {
+        truncar(colocar(0, novas));
+    }
+}
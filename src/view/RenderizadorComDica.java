@@ -0,0 +1,22 @@
+package view;
+
+import java.awt.Component;
+import javax.swing.JTable;
+import javax.swing.table.DefaultTableCellRenderer;
+
+/**
+ * Renderizador de texto que também mostra o valor completo como dica (tooltip),
+ * para colunas cujo texto costuma ser cortado pela largura da célula.
+ */
+class RenderizadorComDica extends DefaultTableCellRenderer {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public Component getTableCellRendererComponent(JTable tabela, Object valor, boolean selecionada,
+                                                   boolean comFoco, int linha, int coluna) {
+        super.getTableCellRendererComponent(tabela, valor, selecionada, comFoco, linha, coluna);
+        setToolTipText(valor != null ? valor.toString() : null);
+        return this;
+    }
+}
@@ -0,0 +1,96 @@
+package api;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Leitura e escrita do JSON mínimo da API.
+ */
+public class JsonTest {
+
+    private static void assertInvalido(String texto, String motivo) {
+        try {
+            Json.ler(texto);
+            fail("deveria recusar: " + texto);
+        } catch (IllegalArgumentException esperado) {
+            assertTrue(esperado.getMessage(), esperado.getMessage().contains(motivo));
+        }
+    }
+
+    @Test
+    public void leValoresSimples() {
+        assertEquals(42L, Json.ler("42"));
+        assertEquals(-1.5, Json.ler(" -1.5 "));
+        assertEquals(Boolean.TRUE, Json.ler("true"));
+        assertEquals(Boolean.FALSE, Json.ler("false"));
+        assertNull(Json.ler("null"));
+        assertEquals("a\"b\\c\ndé", Json.ler("\"a\\\"b\\\\c\\nd\\u00e9\""));
+    }
+
+    @Test
+    public void leObjetosEArraysAninhados() {
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("idAlimento", 3L);
+        item.put("quantidade", 2L);
+        Map<String, Object> esperado = new LinkedHashMap<>();
+        esperado.put("itens", List.of(item));
+        esperado.put("vazio", Map.of());
+        esperado.put("lista", List.of());
+        assertEquals(esperado, Json.ler("{\"itens\": [ {\"idAlimento\":3, \"quantidade\":2} ], \"vazio\":{}, \"lista\":[]}"));
+    }
+
+    @Test
+    public void recusaDocumentosInvalidos() {
+        assertInvalido("", "fim inesperado");
+        assertInvalido("{\"a\" 1}", "esperado ':'");
+        assertInvalido("[1, 2", "esperado ']'");
+        assertInvalido("{\"a\":1", "esperado '}'");
+        assertInvalido("{a:1}", "esperado nome de campo");
+        assertInvalido("\"sem fim", "texto sem aspas de fechamento");
+        assertInvalido("tru", "valor inválido");
+        assertInvalido("1 2", "conteúdo após o fim do documento");
+    }
+
+    @Test
+    public void aceitaAteAProfundidadeMaxima() {
+        int n = Json.PROFUNDIDADE_MAXIMA;
+        Object valor = Json.ler("[".repeat(n) + "]".repeat(n));
+        for (int i = 1; i < n; i++) {
+            valor = ((List<?>) valor).get(0);
+        }
+        assertEquals(List.of(), valor);
+
+        // Irmãos não somam profundidade: cada container fechado libera o nível
+        String irmaos = "[" + String.join(",", java.util.Collections.nCopies(200, "{\"a\":[[]]}")) + "]";
+        assertEquals(200, ((List<?>) Json.ler(irmaos)).size());
+    }
+
+    @Test
+    public void recusaAninhamentoExcessivo() {
+        int n = Json.PROFUNDIDADE_MAXIMA + 1;
+        assertInvalido("[".repeat(n) + "]".repeat(n), "aninhamento excessivo");
+        assertInvalido("{\"a\":".repeat(n) + "1" + "}".repeat(n), "aninhamento excessivo");
+    }
+
+    @Test
+    public void corpoDeColchetesNoLimiteDeTamanhoNaoEstouraAPilha() {
+        char[] colchetes = new char[64 * 1024];
+        Arrays.fill(colchetes, '[');
+        assertInvalido(new String(colchetes), "aninhamento excessivo");
+    }
+
+    @Test
+    public void escreveTextoComEscapes() {
+        assertEquals("null", Json.texto(new StringBuilder(), null).toString());
+        assertEquals("\"a\\\"b\\\\c\\n\\r\\t\\u0001\"", Json.texto(new StringBuilder(), "a\"b\\c\n\r\t\u0001").toString());
+        String original = "x\"y\\z\n\u0002";
+        assertEquals(original, Json.ler(Json.texto(new StringBuilder(), original).toString()));
+    }
+}
@@ -0,0 +1,66 @@
+package api;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Respostas de erro da API HTTP para corpos inválidos, sobre o motor em memória.
+ */
+public class ServidorApiTest {
+
+    private static ServidorApi servidor;
+    private static HttpClient cliente;
+
+    @BeforeClass
+    public static void iniciar() throws Exception {
+        System.setProperty("feifood.armazenamento", "memoria");
+        servidor = new ServidorApi(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 30);
+        servidor.iniciar();
+        cliente = HttpClient.newHttpClient();
+    }
+
+    @AfterClass
+    public static void parar() {
+        servidor.parar(0);
+    }
+
+    private static HttpResponse<String> post(String caminho, String corpo) throws Exception {
+        HttpRequest requisicao = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + servidor.getPorta() + caminho))
+                .POST(HttpRequest.BodyPublishers.ofString(corpo))
+                .header("Content-Type", "application/json")
+                .build();
+        return cliente.send(requisicao, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    public void loginComAninhamentoExcessivoResponde400() throws Exception {
+        HttpResponse<String> resposta = post("/api/login", "[".repeat(64 * 1024));
+        assertEquals(400, resposta.statusCode());
+        assertTrue(resposta.body(), resposta.body().contains("aninhamento excessivo"));
+    }
+
+    @Test
+    public void corpoInvalidoResponde400() throws Exception {
+        assertEquals(400, post("/api/login", "{\"email\":").statusCode());
+        assertEquals(400, post("/api/login", "[1]").statusCode());
+    }
+
+    @Test
+    public void corpoAcimaDoLimiteResponde413() throws Exception {
+        assertEquals(413, post("/api/login", " ".repeat(64 * 1024 + 1)).statusCode());
+    }
+
+    @Test
+    public void loginComSenhaErradaResponde401() throws Exception {
+        assertEquals(401, post("/api/login", "{\"email\":\"ninguem@fei.edu.br\",\"senha\":\"x\"}").statusCode());
+    }
+}
@@ -0,0 +1,104 @@
+package controller;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.swing.JButton;
+import javax.swing.SwingUtilities;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Estado "em andamento" dos botões compartilhados por tarefas simultâneas.
+ */
+public class AgendadorTarefasTest {
+
+    private AgendadorTarefas agendador;
+    private JButton compartilhado;
+    private JButton outro;
+
+    @Before
+    public void criar() throws Exception {
+        agendador = new AgendadorTarefas("teste");
+        SwingUtilities.invokeAndWait(() -> {
+            compartilhado = new JButton("ADICIONAR");
+            outro = new JButton("FAZER PEDIDO");
+        });
+    }
+
+    @After
+    public void encerrar() throws Exception {
+        SwingUtilities.invokeAndWait(agendador::encerrar);
+    }
+
+    /** Agenda uma tarefa exclusiva que só termina quando a trava for liberada. */
+    private CountDownLatch agendar(String tipo, CountDownLatch entregue, JButton... botoes) throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        SwingUtilities.invokeAndWait(() -> agendador.executarExclusiva(tipo,
+                contexto -> liberar.await(5, TimeUnit.SECONDS),
+                resultado -> entregue.countDown(),
+                erro -> entregue.countDown(),
+                botoes));
+        return liberar;
+    }
+
+    private static void naEdt(Runnable verificacao) throws Exception {
+        SwingUtilities.invokeAndWait(verificacao);
+    }
+
+    @Test
+    public void botaoEmDuasTarefasSoVoltaQuandoAUltimaTermina() throws Exception {
+        CountDownLatch adicionarEntregue = new CountDownLatch(1);
+        CountDownLatch pedidoEntregue = new CountDownLatch(1);
+        CountDownLatch adicionar = agendar("adicionarItem", adicionarEntregue, compartilhado);
+        CountDownLatch pedido = agendar("fazerPedido", pedidoEntregue, outro, compartilhado);
+
+        naEdt(() -> {
+            assertEquals("ADICIONAR...", compartilhado.getText()); // Sem "......"
+            assertFalse(compartilhado.isEnabled());
+            assertTrue(agendador.isEmAndamento("adicionarItem"));
+        });
+
+        adicionar.countDown();
+        assertTrue(adicionarEntregue.await(5, TimeUnit.SECONDS));
+        naEdt(() -> {
+            assertFalse("continua bloqueado pelo pedido", compartilhado.isEnabled());
+            assertEquals("ADICIONAR...", compartilhado.getText());
+            assertFalse(agendador.isEmAndamento("adicionarItem"));
+        });
+
+        pedido.countDown();
+        assertTrue(pedidoEntregue.await(5, TimeUnit.SECONDS));
+        naEdt(() -> {
+            assertTrue(compartilhado.isEnabled());
+            assertEquals("ADICIONAR", compartilhado.getText());
+            assertTrue(outro.isEnabled());
+            assertEquals("FAZER PEDIDO", outro.getText());
+        });
+    }
+
+    @Test
+    public void tarefaSubstituidaRestauraSoUmaVez() throws Exception {
+        CountDownLatch primeiraEntregue = new CountDownLatch(1);
+        CountDownLatch segundaEntregue = new CountDownLatch(1);
+        CountDownLatch primeira = agendar("adicionarItem", primeiraEntregue, compartilhado);
+        CountDownLatch segunda = agendar("adicionarItem", segundaEntregue, compartilhado); // Cancela a primeira
+        primeira.countDown();
+
+        naEdt(() -> {
+            assertEquals("ADICIONAR...", compartilhado.getText());
+            assertFalse(compartilhado.isEnabled());
+        });
+
+        segunda.countDown();
+        assertTrue(segundaEntregue.await(5, TimeUnit.SECONDS));
+        naEdt(() -> {
+            assertTrue(compartilhado.isEnabled());
+            assertEquals("ADICIONAR", compartilhado.getText());
+        });
+        assertEquals("a substituída não é entregue", 1, primeiraEntregue.getCount());
+    }
+}
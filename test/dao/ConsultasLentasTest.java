@@ -0,0 +1,103 @@
+package dao;
+
+import java.util.Set;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Redação dos parâmetros ligados à coluna senha no log de consultas lentas.
+ */
+public class ConsultasLentasTest {
+
+    private static final Set<String> SENHA = Set.of("senha");
+
+    private static Set<Integer> redigidos(String sql, int parametros) {
+        return ConsultasLentas.parametrosRedigidos(sql, parametros, SENHA);
+    }
+
+    // --- Comandos emitidos pelos DAOs ---
+
+    @Test
+    public void autenticacaoRedigeSoASenha() {
+        assertEquals(Set.of(2), redigidos("SELECT id_usuario, nome, email, senha FROM Usuario WHERE email = ? AND senha = ?", 2));
+    }
+
+    @Test
+    public void insertRedigeAPosicaoDaSenha() {
+        assertEquals(Set.of(3), redigidos("INSERT INTO Usuario (nome, email, senha) VALUES (?, ?, ?)", 3));
+    }
+
+    @Test
+    public void insertComRetornoEVariasTuplas() {
+        assertEquals(Set.of(2, 4), redigidos(
+                "INSERT INTO Usuario (email, senha) VALUES (?, ?), (?, ?) RETURNING id_usuario", 4));
+    }
+
+    @Test
+    public void updateRedigeOValorDoSet() {
+        assertEquals(Set.of(1), redigidos("UPDATE Usuario SET senha = ? WHERE email = ?", 2));
+    }
+
+    @Test
+    public void comandoSemSenhaNaoRedigeNada() {
+        assertEquals(Set.of(), redigidos("SELECT id_pedido FROM Pedido WHERE id_usuario = ? AND data_hora < ?", 2));
+    }
+
+    // --- Identificadores ---
+
+    @Test
+    public void identificadorQualificado() {
+        assertEquals(Set.of(2), redigidos("SELECT u.nome FROM Usuario u WHERE u.email = ? AND u.senha = ?", 2));
+    }
+
+    @Test
+    public void identificadorEntreAspasEMaiusculas() {
+        assertEquals(Set.of(2), redigidos("SELECT 1 FROM \"Usuario\" WHERE \"email\" = ? AND \"Usuario\".\"SENHA\" = ?", 2));
+        assertEquals(Set.of(1), redigidos("INSERT INTO \"Usuario\" (\"Senha\", \"email\") VALUES (?, ?)", 2));
+    }
+
+    @Test
+    public void operadoresDeComparacao() {
+        assertEquals(Set.of(1), redigidos("SELECT 1 FROM Usuario WHERE senha <> ? AND email LIKE ?", 2));
+        assertEquals(Set.of(2), redigidos("SELECT 1 FROM Usuario WHERE email ILIKE ? AND senha != ?", 2));
+    }
+
+    // --- Literais e comentários ---
+
+    @Test
+    public void senhaEmLiteralOuComentarioNaoConta() {
+        assertEquals(Set.of(), redigidos("SELECT 'senha = ?' FROM Usuario WHERE email = ? -- senha = ?\n", 1));
+        assertEquals(Set.of(), redigidos("SELECT nome /* senha = ? */ FROM Usuario WHERE email = ?", 1));
+    }
+
+    @Test
+    public void comentarioNaoDeslocaOsParametros() {
+        assertEquals(Set.of(2), redigidos("SELECT 1 FROM Usuario /* filtro: ? */ WHERE email = ? -- ?\n AND senha = ?", 2));
+    }
+
+    @Test
+    public void literalComAspasEscapadas() {
+        assertEquals(Set.of(2), redigidos("SELECT 'it''s ?' FROM Usuario WHERE email = ? AND senha = ?", 2));
+    }
+
+    // --- Recurso: menção sem ligação a um parâmetro ---
+
+    @Test
+    public void mencaoSemLigacaoRedigeTodos() {
+        // Comparação invertida: a senha aparece, mas não diretamente antes do "?"
+        assertEquals(Set.of(1, 2), redigidos("SELECT 1 FROM Usuario WHERE email = ? AND ? = senha", 2));
+        // Função sobre o parâmetro
+        assertEquals(Set.of(1, 2, 3), redigidos("UPDATE Usuario SET senha = crypt(?, gen_salt(?)) WHERE email = ?", 3));
+    }
+
+    @Test
+    public void mencaoSemLigacaoUsaOMaiorNumeroDeParametros() {
+        // Mais parâmetros definidos do que "?" reconhecidos: redige também os excedentes
+        assertEquals(Set.of(1, 2, 3), redigidos("SELECT verificar(senha, ?)", 3));
+    }
+
+    @Test
+    public void semColunasRedigidasNaoRedigeNada() {
+        assertEquals(Set.of(), ConsultasLentas.parametrosRedigidos("UPDATE Usuario SET senha = ?", 1, Set.of()));
+    }
+}
@@ -0,0 +1,94 @@
+package dao;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import model.PedidoHistorico;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Paginação por chave do histórico no motor em memória, que reproduz a ordem do banco:
+ * data_hora DESC, id_pedido DESC, pedidos sem data por último.
+ */
+public class PedidoDAOMemoriaTest {
+
+    private static final int USUARIO = 1;
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 3, 10, 12, 0);
+
+    private MotorMemoria motor;
+    private PedidoDAO dao;
+
+    @Before
+    public void criarMotor() throws Exception {
+        motor = new MotorMemoria();
+        dao = motor.pedidos(motor.obterConexao());
+    }
+
+    private void registrar(int id, LocalDateTime dataHora) {
+        MotorMemoria.RegistroPedido registro = new MotorMemoria.RegistroPedido(id, USUARIO, dataHora, null);
+        motor.pedidosPorId.put(id, registro);
+        motor.pedidosDoUsuario(USUARIO).add(registro);
+    }
+
+    private List<Integer> idsPaginando(int limite) throws Exception {
+        List<Integer> ids = new ArrayList<>();
+        PedidoHistorico[] ultimo = {null};
+        int entregues;
+        do {
+            entregues = dao.percorrerHistoricoPaginaPorUsuario(USUARIO, ultimo[0], limite, pedido -> {
+                ids.add(pedido.getId());
+                ultimo[0] = pedido;
+            });
+        } while (entregues == limite);
+        return ids;
+    }
+
+    private List<Integer> idsCompletos() throws Exception {
+        List<Integer> ids = new ArrayList<>();
+        for (PedidoHistorico pedido : dao.listarHistoricoPorUsuario(USUARIO)) {
+            ids.add(pedido.getId());
+        }
+        return ids;
+    }
+
+    @Test
+    public void pedidosSemDataVemPorUltimoEmOrdemDeIdDecrescente() throws Exception {
+        registrar(1, null);
+        registrar(2, BASE);
+        registrar(3, null);
+        registrar(4, BASE.plusHours(1));
+        registrar(5, null);
+
+        assertEquals(List.of(4, 2, 5, 3, 1), idsCompletos());
+    }
+
+    @Test
+    public void paginasAtravessamPedidosSemData() throws Exception {
+        // Um bloco de pedidos sem data que começa no meio de uma página e termina em outra
+        registrar(1, BASE.minusDays(1));
+        registrar(2, null);
+        registrar(3, BASE);
+        registrar(4, null);
+        registrar(5, BASE); // Empata com o 3 na data
+        registrar(6, null);
+        registrar(7, null);
+        registrar(8, BASE.plusDays(1));
+
+        List<Integer> esperado = List.of(8, 5, 3, 1, 7, 6, 4, 2);
+        assertEquals(esperado, idsCompletos());
+        for (int limite = 1; limite <= 9; limite++) {
+            assertEquals("limite " + limite, esperado, idsPaginando(limite));
+        }
+    }
+
+    @Test
+    public void paginaDepoisDoUltimoPedidoSemDataFicaVazia() throws Exception {
+        registrar(1, null);
+        registrar(2, BASE);
+
+        PedidoHistorico ultimo = new PedidoHistorico(1, null, PedidoHistorico.SEM_AVALIACAO, List.of());
+        assertEquals(0, dao.percorrerHistoricoPaginaPorUsuario(USUARIO, ultimo, 10, pedido -> { }));
+    }
+}
@@ -0,0 +1,94 @@
+package dao;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Contagem de vagas do pool quando a abertura de conexões falha.
+ */
+public class PoolConexoesTest {
+
+    private PoolConexoes pool;
+
+    @After
+    public void encerrar() {
+        if (pool != null) {
+            pool.encerrar();
+        }
+    }
+
+    /** Conexão falsa: sempre válida, em autoCommit; close() não faz nada. */
+    private static Connection conexaoFalsa() {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, metodo, args) -> switch (metodo.getName()) {
+                    case "isValid", "getAutoCommit" -> true;
+                    case "isClosed" -> false;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> null;
+                });
+    }
+
+    @Test
+    public void falhaAoCompletarOMinimoDevolveTodasAsVagasReservadas() throws Exception {
+        AtomicBoolean bancoFora = new AtomicBoolean(true);
+        AtomicInteger tentativas = new AtomicInteger();
+        PoolConexoes.FabricaConexao fabrica = () -> {
+            tentativas.incrementAndGet();
+            if (bancoFora.get()) {
+                throw new SQLException("banco fora do ar");
+            }
+            return conexaoFalsa();
+        };
+        // Ocioso longo: a próxima rodada de manutenção fica fora da duração do teste
+        pool = new PoolConexoes(fabrica, 3, 3, 600_000, 300, 1);
+
+        long prazo = System.nanoTime() + 5_000_000_000L;
+        while (tentativas.get() == 0 && System.nanoTime() < prazo) {
+            Thread.sleep(5); // Espera a primeira rodada de manutenção (que falha)
+        }
+        assertTrue("a manutenção não rodou", tentativas.get() > 0);
+        Thread.sleep(50);
+
+        bancoFora.set(false);
+        List<Connection> emprestadas = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            emprestadas.add(pool.obterConexao()); // Sem as vagas perdidas, as 3 cabem no máximo
+        }
+        assertEquals(3, emprestadas.size());
+        for (Connection conn : emprestadas) {
+            conn.close();
+        }
+    }
+
+    @Test
+    public void falhaAoAbrirNoEmprestimoDevolveAVaga() throws Exception {
+        AtomicBoolean bancoFora = new AtomicBoolean(false);
+        pool = new PoolConexoes(() -> {
+            if (bancoFora.get()) {
+                throw new SQLException("banco fora do ar");
+            }
+            return conexaoFalsa();
+        }, 0, 1, 600_000, 300, 1);
+
+        bancoFora.set(true);
+        try {
+            pool.obterConexao();
+        } catch (SQLException esperado) {
+            // A vaga reservada para abrir precisa voltar ao pool
+        }
+        bancoFora.set(false);
+        try (Connection conn = pool.obterConexao()) {
+            assertTrue(conn.isValid(1));
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Conversão de NUMERIC para centavos, formatação e percentuais, conferidos com BigDecimal.
+ */
+public class DinheiroTest {
+
+    /** Referência: arredonda para 2 casas com metades para longe do zero. */
+    private static long centavosPorBigDecimal(String texto) {
+        return new BigDecimal(texto).setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+    }
+
+    private static String formatoPadrao(long centavos) {
+        return String.format("%.2f", BigDecimal.valueOf(centavos, 2));
+    }
+
+    private static void assertInvalido(String texto) {
+        try {
+            Dinheiro.paraCentavos(texto);
+            fail("deveria recusar: \"" + texto + "\"");
+        } catch (NumberFormatException esperado) {
+            // ok
+        }
+    }
+
+    // --- paraCentavos ---
+
+    @Test
+    public void zeroUmaEDuasCasas() {
+        assertEquals(0, Dinheiro.paraCentavos("0"));
+        assertEquals(0, Dinheiro.paraCentavos("0.00"));
+        assertEquals(1200, Dinheiro.paraCentavos("12"));
+        assertEquals(1250, Dinheiro.paraCentavos("12.5"));
+        assertEquals(1205, Dinheiro.paraCentavos("12.05"));
+        assertEquals(1200, Dinheiro.paraCentavos("12."));
+        assertEquals(50, Dinheiro.paraCentavos(".5"));
+        assertEquals(7, Dinheiro.paraCentavos("0.07"));
+        assertEquals(1999, Dinheiro.paraCentavos("+19.99"));
+    }
+
+    @Test
+    public void negativos() {
+        assertEquals(-1250, Dinheiro.paraCentavos("-12.5"));
+        assertEquals(-7, Dinheiro.paraCentavos("-0.07"));
+        assertEquals(-300, Dinheiro.paraCentavos("-3"));
+        assertEquals(0, Dinheiro.paraCentavos("-0.00"));
+    }
+
+    @Test
+    public void maisDeDuasCasasArredondaMetadesParaLongeDoZero() {
+        assertEquals(346, Dinheiro.paraCentavos("3.456"));
+        assertEquals(345, Dinheiro.paraCentavos("3.454"));
+        assertEquals(346, Dinheiro.paraCentavos("3.455"));
+        assertEquals(345, Dinheiro.paraCentavos("3.4549999"));
+        assertEquals(-346, Dinheiro.paraCentavos("-3.455"));
+        assertEquals(-345, Dinheiro.paraCentavos("-3.4549"));
+        assertEquals(1000, Dinheiro.paraCentavos("9.995"));
+        assertEquals(1, Dinheiro.paraCentavos("0.005"));
+        assertEquals(-1, Dinheiro.paraCentavos("-0.005"));
+        assertEquals(0, Dinheiro.paraCentavos("0.0049"));
+    }
+
+    @Test
+    public void textosInvalidos() {
+        assertInvalido("");
+        assertInvalido("-");
+        assertInvalido(".");
+        assertInvalido("1,50");
+        assertInvalido("1.2.3");
+        assertInvalido("12a");
+        assertInvalido(" 1");
+        assertInvalido("1e3");
+    }
+
+    @Test
+    public void valorQueNaoCabeEmLong() {
+        try {
+            Dinheiro.paraCentavos("92233720368547758.08");
+            fail("deveria estourar");
+        } catch (ArithmeticException esperado) {
+            // ok
+        }
+    }
+
+    @Test
+    public void conferidoComBigDecimal() {
+        Random aleatorio = new Random(7);
+        for (int n = 0; n < 20_000; n++) {
+            StringBuilder texto = new StringBuilder();
+            if (aleatorio.nextBoolean()) {
+                texto.append('-');
+            }
+            texto.append(aleatorio.nextInt(100_000));
+            int casas = aleatorio.nextInt(6);
+            if (casas > 0) {
+                texto.append('.');
+                for (int i = 0; i < casas; i++) {
+                    texto.append((char) ('0' + aleatorio.nextInt(10)));
+                }
+            }
+            String valor = texto.toString();
+            assertEquals(valor, centavosPorBigDecimal(valor), Dinheiro.paraCentavos(valor));
+        }
+    }
+
+    // --- formatar ---
+
+    @Test
+    public void formatarAbaixoDeUmReal() {
+        assertEquals(formatoPadrao(0), Dinheiro.formatar(0));
+        assertEquals(formatoPadrao(5), Dinheiro.formatar(5));
+        assertEquals(formatoPadrao(50), Dinheiro.formatar(50));
+        assertEquals(formatoPadrao(99), Dinheiro.formatar(99));
+        assertEquals(formatoPadrao(100), Dinheiro.formatar(100));
+        assertEquals("0" + sep() + "05", Dinheiro.formatar(5));
+    }
+
+    @Test
+    public void formatarNegativos() {
+        assertEquals("-0" + sep() + "05", Dinheiro.formatar(-5));
+        assertEquals(formatoPadrao(-5), Dinheiro.formatar(-5));
+        assertEquals(formatoPadrao(-99), Dinheiro.formatar(-99));
+        assertEquals(formatoPadrao(-1234), Dinheiro.formatar(-1234));
+        assertEquals(formatoPadrao(Long.MIN_VALUE), Dinheiro.formatar(Long.MIN_VALUE));
+        assertEquals(formatoPadrao(Long.MAX_VALUE), Dinheiro.formatar(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void formatarNoBufferAcrescenta() {
+        StringBuilder destino = new StringBuilder("Total: ");
+        Dinheiro.formatar(1234, destino).append(';');
+        assertEquals("Total: 12" + sep() + "34;", destino.toString());
+    }
+
+    private static String sep() {
+        return formatoPadrao(0).substring(1, 2);
+    }
+
+    // --- aplicarPercentual ---
+
+    private static long percentualPorBigDecimal(long centavos, int pontosBase) {
+        return BigDecimal.valueOf(centavos).multiply(BigDecimal.valueOf(pontosBase))
+                .divide(BigDecimal.valueOf(10_000), 0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    @Test
+    public void percentualArredondaMetadesParaLongeDoZero() {
+        assertEquals(150, Dinheiro.aplicarPercentual(1000, 1500)); // 15% de 10,00
+        assertEquals(1, Dinheiro.aplicarPercentual(10, 500));      // 5% de 0,10 = 0,005
+        assertEquals(0, Dinheiro.aplicarPercentual(9, 500));       // 0,0045
+        assertEquals(-1, Dinheiro.aplicarPercentual(-10, 500));
+        assertEquals(-1, Dinheiro.aplicarPercentual(10, -500));
+        assertEquals(0, Dinheiro.aplicarPercentual(0, 1234));
+        assertEquals(1234, Dinheiro.aplicarPercentual(1234, 10_000));
+    }
+
+    @Test
+    public void percentualConferidoComBigDecimal() {
+        Random aleatorio = new Random(11);
+        for (int n = 0; n < 50_000; n++) {
+            long centavos = aleatorio.nextInt(2_000_000) - 1_000_000;
+            int pontosBase = aleatorio.nextInt(20_001) - 5_000;
+            assertEquals(centavos + " x " + pontosBase,
+                    percentualPorBigDecimal(centavos, pontosBase), Dinheiro.aplicarPercentual(centavos, pontosBase));
+        }
+    }
+
+    @Test
+    public void multiplicarEstouroLanca() {
+        assertEquals(3 * 1999L, Dinheiro.multiplicar(1999, 3));
+        try {
+            Dinheiro.multiplicar(Long.MAX_VALUE / 2, 3);
+            fail("deveria estourar");
+        } catch (ArithmeticException esperado) {
+            // ok
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tabela de endereçamento aberto das linhas do pedido: colisões, volta ao início da tabela,
+ * remoção com deslocamento para trás, troca com a última linha e crescimento.
+ */
+public class ItensPedidoTest {
+
+    // Tabela inicial: 16 entradas (capacidade 8, no máximo metade ocupada)
+    private static final int MASCARA_INICIAL = 15;
+
+    private ItensPedido itens;
+
+    // Modelo de referência: as linhas na ordem em que ItensPedido deve guardá-las
+    private List<Integer> ordemEsperada;
+    private List<Integer> quantidadesEsperadas;
+
+    @Before
+    public void criar() {
+        itens = new ItensPedido();
+        ordemEsperada = new ArrayList<>();
+        quantidadesEsperadas = new ArrayList<>();
+    }
+
+    /** Mesmo espalhamento de ItensPedido.hash. */
+    private static int hash(int id) {
+        int h = id * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /** IDs positivos cuja posição ideal na tabela inicial é a informada, em ordem crescente. */
+    private static int[] idsNaPosicao(int posicao, int quantidade) {
+        int[] ids = new int[quantidade];
+        int achados = 0;
+        for (int id = 1; achados < quantidade; id++) {
+            if ((hash(id) & MASCARA_INICIAL) == posicao) {
+                ids[achados++] = id;
+            }
+        }
+        return ids;
+    }
+
+    private static Alimento alimento(int id) {
+        return new Comida(id, "Alimento " + id, "", 0, null);
+    }
+
+    private void adicionar(int id, int quantidade) {
+        itens.adicionar(alimento(id), quantidade);
+        int posicao = ordemEsperada.indexOf(id);
+        if (posicao >= 0) {
+            quantidadesEsperadas.set(posicao, quantidadesEsperadas.get(posicao) + quantidade);
+        } else {
+            ordemEsperada.add(id);
+            quantidadesEsperadas.add(quantidade);
+        }
+    }
+
+    private void remover(int id) {
+        int posicao = ordemEsperada.indexOf(id);
+        assertEquals("remover " + id, posicao >= 0, itens.remover(id));
+        if (posicao >= 0) {
+            int ultima = ordemEsperada.size() - 1;
+            ordemEsperada.set(posicao, ordemEsperada.get(ultima));
+            quantidadesEsperadas.set(posicao, quantidadesEsperadas.get(ultima));
+            ordemEsperada.remove(ultima);
+            quantidadesEsperadas.remove(ultima);
+        }
+    }
+
+    /** Confere tamanho, ordem das linhas, quantidades e a busca de cada ID. */
+    private void conferir() {
+        assertEquals(ordemEsperada.size(), itens.tamanho());
+        for (int posicao = 0; posicao < itens.tamanho(); posicao++) {
+            int id = itens.idEm(posicao);
+            assertEquals("id na posição " + posicao, (int) ordemEsperada.get(posicao), id);
+            assertEquals("quantidade do id " + id, (int) quantidadesEsperadas.get(posicao), itens.quantidadeEm(posicao));
+            assertEquals("alimento do id " + id, id, itens.alimentoEm(posicao).getId());
+            assertEquals("posição do id " + id, posicao, itens.posicaoDe(id));
+        }
+    }
+
+    @Test
+    public void adicionarSomaQuantidadeEAtualizaOAlimento() {
+        Alimento primeiro = alimento(7);
+        Alimento segundo = alimento(7);
+        assertEquals(0, itens.adicionar(primeiro, 2));
+        assertEquals(0, itens.adicionar(segundo, 3));
+        assertEquals(1, itens.tamanho());
+        assertEquals(5, itens.quantidadeEm(0));
+        assertSame(segundo, itens.alimentoEm(0));
+
+        itens.definirQuantidade(0, 1);
+        assertEquals(1, itens.quantidadeEm(0));
+        assertEquals(-1, itens.posicaoDe(8));
+        assertFalse(itens.remover(8));
+    }
+
+    @Test
+    public void colisoesNaMesmaPosicao() {
+        int[] ids = idsNaPosicao(3, 4);
+        for (int id : ids) {
+            adicionar(id, 1);
+        }
+        adicionar(ids[2], 4); // Atualiza uma linha que está no meio da sequência de colisões
+        conferir();
+
+        remover(ids[1]); // Do meio da sequência: as seguintes voltam uma casa
+        conferir();
+        assertEquals(-1, itens.posicaoDe(ids[1]));
+
+        remover(ids[0]); // Da posição ideal
+        conferir();
+        adicionar(ids[1], 2); // Reaproveita a entrada liberada
+        conferir();
+    }
+
+    @Test
+    public void colisoesQueDaoAVoltaNaTabela() {
+        // A posição 15 é a última: as colisões continuam em 0, 1, ...
+        int[] noFim = idsNaPosicao(MASCARA_INICIAL, 3);
+        int[] noInicio = idsNaPosicao(0, 2);
+        adicionar(noFim[0], 1);
+        adicionar(noFim[1], 1); // Vai para 0
+        adicionar(noInicio[0], 1); // Ideal 0, ocupada: vai para 1
+        adicionar(noFim[2], 1); // Vai para 2
+        adicionar(noInicio[1], 1); // Vai para 3
+        conferir();
+
+        // Remover a entrada da posição 15 precisa puxar quem deu a volta, mas não quem é ideal em 0
+        remover(noFim[0]);
+        conferir();
+        remover(noInicio[0]);
+        conferir();
+        remover(noFim[1]);
+        conferir();
+    }
+
+    @Test
+    public void removerAUltimaLinhaNaoMoveNada() {
+        adicionar(1, 1);
+        adicionar(2, 2);
+        adicionar(3, 3);
+        remover(3);
+        conferir();
+        assertEquals(List.of(1, 2), ordemEsperada);
+    }
+
+    @Test
+    public void removerDoMeioTrazAUltimaLinha() {
+        adicionar(1, 1);
+        adicionar(2, 2);
+        adicionar(3, 3);
+        adicionar(4, 4);
+        remover(2);
+        conferir();
+        assertEquals(List.of(1, 4, 3), ordemEsperada);
+
+        remover(1);
+        conferir();
+        assertEquals(List.of(3, 4), ordemEsperada);
+    }
+
+    @Test
+    public void removerAUnicaLinha() {
+        adicionar(5, 1);
+        remover(5);
+        conferir();
+        assertEquals(-1, itens.posicaoDe(5));
+        adicionar(5, 2);
+        conferir();
+    }
+
+    @Test
+    public void cresceAlemDaMetadeDaTabela() {
+        // Passa de 8 linhas (16 entradas) duas vezes, com colisões na tabela inicial
+        int[] colidem = idsNaPosicao(9, 6);
+        for (int id : colidem) {
+            adicionar(id, id);
+        }
+        for (int id = 1; id <= 30; id++) {
+            adicionar(id, 1);
+            conferir();
+        }
+        for (int id : colidem) {
+            remover(id);
+        }
+        conferir();
+        for (int id = 30; id >= 1; id -= 3) {
+            remover(id);
+            conferir();
+        }
+    }
+
+    @Test
+    public void ordemDepoisDeRemocoes() {
+        for (int id = 1; id <= 6; id++) {
+            adicionar(id, id);
+        }
+        remover(2); // 1 6 3 4 5
+        remover(6); // 1 5 3 4
+        adicionar(7, 7); // 1 5 3 4 7
+        remover(1); // 7 5 3 4
+        conferir();
+        assertEquals(List.of(7, 5, 3, 4), ordemEsperada);
+    }
+
+    @Test
+    public void sequenciasAleatoriasConferemComOModelo() {
+        Random aleatorio = new Random(42);
+        // IDs de poucas posições da tabela para provocar colisões e voltas
+        int[] ids = new int[24];
+        System.arraycopy(idsNaPosicao(14, 8), 0, ids, 0, 8);
+        System.arraycopy(idsNaPosicao(15, 8), 0, ids, 8, 8);
+        System.arraycopy(idsNaPosicao(0, 8), 0, ids, 16, 8);
+        for (int passo = 0; passo < 5000; passo++) {
+            int id = ids[aleatorio.nextInt(ids.length)];
+            if (aleatorio.nextInt(3) == 0) {
+                remover(id);
+            } else {
+                adicionar(id, 1 + aleatorio.nextInt(3));
+            }
+            conferir();
+        }
+        assertTrue(itens.tamanho() <= ids.length);
+    }
+}